@@ -1,5 +1,8 @@
 package org.folio.config;
 
+import org.folio.dao.CachingPrefixDAO;
+import org.folio.dao.CachingReasonForClosureDAO;
+import org.folio.dao.CachingSuffixDAO;
 import org.folio.dao.PrefixDAO;
 import org.folio.dao.PrefixHttpDAO;
 import org.folio.dao.PurchaseOrderDAO;
@@ -23,17 +26,17 @@ public class ApplicationConfig {
 
   @Bean
   public SuffixDAO suffixDAO() {
-    return new SuffixHttpDAO();
+    return new CachingSuffixDAO(new SuffixHttpDAO());
   }
 
   @Bean
   public PrefixDAO prefixDAO() {
-    return new PrefixHttpDAO();
+    return new CachingPrefixDAO(new PrefixHttpDAO());
   }
 
   @Bean
   public ReasonForClosureDAO reasonForClosureDAO() {
-    return new ReasonForClosureHttpDAO();
+    return new CachingReasonForClosureDAO(new ReasonForClosureHttpDAO());
   }
 
   @Bean
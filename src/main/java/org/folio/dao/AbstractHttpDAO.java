@@ -1,23 +1,23 @@
 package org.folio.dao;
 
-import static java.util.Objects.nonNull;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.folio.orders.utils.HelperUtils.buildQuery;
-import static org.folio.orders.utils.HelperUtils.verifyAndExtractBody;
-import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.orders.utils.HelperUtils.callDownstream;
+import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.HttpClientRegistry;
+import org.folio.orders.utils.PayloadLogger;
 import org.folio.rest.jaxrs.model.Entity;
-import org.folio.rest.tools.client.HttpClientFactory;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
-import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
@@ -53,31 +53,20 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
     }
 
     try {
-      client
-        .request(HttpMethod.GET, endpoint, okapiHeaders)
-        .thenApply(response -> {
-          if (logger.isDebugEnabled()) {
-            logger.debug("Validating response for GET {}", endpoint);
-          }
-          return verifyAndExtractBody(response);
-        })
-        .handle((body, t) -> {
-          client.closeClient();
+      handleGetRequest(endpoint, sClass, client, context, okapiHeaders, logger)
+        .handle((responseEntity, t) -> {
+          HttpClientRegistry.release(client);
           if (t != null) {
             logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, t, HttpMethod.GET, endpoint);
             future.completeExceptionally(t.getCause());
           } else {
-            if (logger.isDebugEnabled()) {
-              logger.debug("The response body for GET {}: {}", endpoint, nonNull(body) ? body.encodePrettily() : null);
-            }
-            S responseEntity = body.mapTo(sClass);
             future.complete(responseEntity);
           }
           return null;
         });
     } catch (Exception e) {
       logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, e, HttpMethod.GET, getEndpoint());
-      client.closeClient();
+      HttpClientRegistry.release(client);
       future.completeExceptionally(e);
     }
     return future;
@@ -89,19 +78,19 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
     String endpoint = getEndpoint();
     JsonObject recordData = JsonObject.mapFrom(entity);
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("Sending 'POST {}' with body: {}", endpoint, recordData.encodePrettily());
+    if (PayloadLogger.isEnabled(logger, endpoint)) {
+      logger.debug("Sending 'POST {}' with body: {}", endpoint, PayloadLogger.payload(recordData));
     }
 
     HttpClientInterface client = getHttpClient(okapiHeaders);
     try {
-      client
-        .request(HttpMethod.POST, recordData.toBuffer(), endpoint, okapiHeaders)
-        .thenApply(HelperUtils::verifyAndExtractBody)
+      Buffer requestBody = recordData.toBuffer();
+      callDownstream(HttpMethod.POST, endpoint, requestBody, okapiHeaders, context, () -> client
+        .request(HttpMethod.POST, requestBody, endpoint, okapiHeaders), HelperUtils::verifyAndExtractBody)
         .handle((body, t) -> {
-          client.closeClient();
+          HttpClientRegistry.release(client);
           if (t != null) {
-            logger.error("'POST {}' request failed. Request body: {}", t.getCause(), endpoint, recordData.encodePrettily());
+            logger.error("'POST {}' request failed. Request body: {}", t.getCause(), endpoint, PayloadLogger.payload(recordData));
             future.completeExceptionally(t.getCause());
           } else {
             T responseEntity = body.mapTo(getClazz());
@@ -113,8 +102,8 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
           return null;
         });
     } catch (Exception e) {
-      logger.error("'POST {}' request failed. Request body: {}", e, endpoint, recordData.encodePrettily());
-      client.closeClient();
+      logger.error("'POST {}' request failed. Request body: {}", e, endpoint, PayloadLogger.payload(recordData));
+      HttpClientRegistry.release(client);
       future.completeExceptionally(e);
     }
 
@@ -127,28 +116,28 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
     String endpoint = getByIdEndpoint(id);
     JsonObject recordData = JsonObject.mapFrom(entity);
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData.encodePrettily());
+    if (PayloadLogger.isEnabled(logger, endpoint)) {
+      logger.debug("Sending 'PUT {}' with body: {}", endpoint, PayloadLogger.payload(recordData));
     }
 
     HttpClientInterface client = getHttpClient(okapiHeaders);
     try {
-      client
-        .request(HttpMethod.PUT, recordData.toBuffer(), endpoint, okapiHeaders)
-        .thenAccept(HelperUtils::verifyResponse)
+      Buffer requestBody = recordData.toBuffer();
+      callDownstream(HttpMethod.PUT, endpoint, requestBody, okapiHeaders, context,
+          () -> client.request(HttpMethod.PUT, requestBody, endpoint, okapiHeaders), HelperUtils::verifyEmptyResponse)
         .handle((aVoid, t) -> {
-          client.closeClient();
+          HttpClientRegistry.release(client);
           if (t != null) {
             future.completeExceptionally(t.getCause());
-            logger.error("'PUT {}' request failed. Request body: {}", t.getCause(), endpoint, recordData.encodePrettily());
+            logger.error("'PUT {}' request failed. Request body: {}", t.getCause(), endpoint, PayloadLogger.payload(recordData));
           } else {
             future.complete(null);
           }
           return null;
         });
     } catch (Exception e) {
-      logger.error("'PUT {}' request failed. Request body: {}", e, endpoint, recordData.encodePrettily());
-      client.closeClient();
+      logger.error("'PUT {}' request failed. Request body: {}", e, endpoint, PayloadLogger.payload(recordData));
+      HttpClientRegistry.release(client);
       future.completeExceptionally(e);
     }
 
@@ -166,10 +155,10 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
     setDefaultHeaders(client);
 
     try {
-      client.request(HttpMethod.DELETE, getByIdEndpoint(id), okapiHeaders)
-        .thenAccept(HelperUtils::verifyResponse)
+      callDownstream(HttpMethod.DELETE, endpoint, null, okapiHeaders, context, () -> client
+        .request(HttpMethod.DELETE, endpoint, okapiHeaders), HelperUtils::verifyEmptyResponse)
         .handle((aVoid, t) -> {
-          client.closeClient();
+          HttpClientRegistry.release(client);
           if (t != null) {
             logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, t, HttpMethod.DELETE, endpoint);
             future.completeExceptionally(t.getCause());
@@ -179,7 +168,7 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
           return null;
         });
     } catch (Exception e) {
-      client.closeClient();
+      HttpClientRegistry.release(client);
       logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, e, HttpMethod.DELETE, endpoint);
       future.completeExceptionally(e);
     }
@@ -196,11 +185,7 @@ public abstract class AbstractHttpDAO<T extends Entity, E> implements GenericDAO
   protected abstract Class<E> getCollectionClazz();
 
   public static HttpClientInterface getHttpClient(Map<String, String> okapiHeaders) {
-    final String okapiURL = okapiHeaders.getOrDefault(OKAPI_URL, "");
-    final String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
-
-    return HttpClientFactory.getHttpClient(okapiURL, tenantId);
-
+    return HttpClientRegistry.getHttpClient(okapiHeaders);
   }
 
   private static void setDefaultHeaders(HttpClientInterface httpClient) {
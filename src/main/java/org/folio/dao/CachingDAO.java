@@ -0,0 +1,90 @@
+package org.folio.dao;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.folio.orders.utils.ExpiringCache;
+import org.folio.rest.jaxrs.model.Entity;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+
+/**
+ * Decorator of the DAO of the records which are read much more often than changed. Records found by id and the collections
+ * found by query, offset and limit are cached per tenant for {@code orders.cache.settings.ttlMs}, the entries of the tenant
+ * are dropped once a record is saved, updated or deleted through this DAO. Changes made through another module instance are
+ * picked up after the TTL.
+ *
+ * @param <T> type of the entity
+ * @param <E> type of the collection of T entities
+ */
+public abstract class CachingDAO<T extends Entity, E> implements GenericDAO<T, E> {
+
+  static final String CACHE_TTL_PROPERTY = "orders.cache.settings.ttlMs";
+  static final String CACHE_SIZE_PROPERTY = "orders.cache.settings.maxSize";
+
+  private final GenericDAO<T, E> delegate;
+  private final ExpiringCache<T> entities;
+  private final ExpiringCache<E> collections;
+
+  /**
+   * @param delegate DAO actually calling the storage
+   * @param name     name of the records used in the cache metrics
+   */
+  protected CachingDAO(GenericDAO<T, E> delegate, String name) {
+    this.delegate = delegate;
+    this.entities = createCache(name);
+    this.collections = createCache(name + "-collections");
+  }
+
+  @Override
+  public CompletableFuture<E> get(String query, int offset, int limit, Context context, Map<String, String> okapiHeaders) {
+    String key = ExpiringCache.key(okapiHeaders, String.valueOf(query), String.valueOf(offset), String.valueOf(limit));
+    return collections.get(key, context, () -> delegate.get(query, offset, limit, context, okapiHeaders));
+  }
+
+  @Override
+  public CompletableFuture<T> getById(String id, Context context, Map<String, String> okapiHeaders) {
+    return entities.get(ExpiringCache.key(okapiHeaders, id), context, () -> delegate.getById(id, context, okapiHeaders));
+  }
+
+  @Override
+  public CompletableFuture<T> save(T entity, Context context, Map<String, String> okapiHeaders) {
+    return invalidateOnCompletion(okapiHeaders, () -> delegate.save(entity, context, okapiHeaders));
+  }
+
+  @Override
+  public CompletableFuture<Void> update(String id, T entity, Context context, Map<String, String> okapiHeaders) {
+    return invalidateOnCompletion(okapiHeaders, () -> delegate.update(id, entity, context, okapiHeaders));
+  }
+
+  @Override
+  public CompletableFuture<Void> delete(String id, Context context, Map<String, String> okapiHeaders) {
+    return invalidateOnCompletion(okapiHeaders, () -> delegate.delete(id, context, okapiHeaders));
+  }
+
+  /**
+   * The entries are dropped even if the change failed because the storage might have applied it anyway.
+   */
+  private <S> CompletableFuture<S> invalidateOnCompletion(Map<String, String> okapiHeaders, Supplier<CompletableFuture<S>> change) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return change.get()
+      .whenComplete((result, t) -> {
+        entities.invalidate(tenantId);
+        collections.invalidate(tenantId);
+      });
+  }
+
+  /**
+   * Every verticle instance has its own Spring context, the caches are shared by the DAOs of all the instances.
+   */
+  @SuppressWarnings("unchecked")
+  private static synchronized <V> ExpiringCache<V> createCache(String name) {
+    ExpiringCache<V> cache = (ExpiringCache<V>) ExpiringCache.getCaches().get(name);
+    if (cache == null) {
+      cache = new ExpiringCache<>(name, Integer.getInteger(CACHE_SIZE_PROPERTY, 1000), Long.getLong(CACHE_TTL_PROPERTY, 60000));
+    }
+    return cache;
+  }
+}
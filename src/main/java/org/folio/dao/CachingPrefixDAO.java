@@ -0,0 +1,11 @@
+package org.folio.dao;
+
+import org.folio.rest.jaxrs.model.Prefix;
+import org.folio.rest.jaxrs.model.PrefixCollection;
+
+public class CachingPrefixDAO extends CachingDAO<Prefix, PrefixCollection> implements PrefixDAO {
+
+  public CachingPrefixDAO(PrefixDAO delegate) {
+    super(delegate, "prefixes");
+  }
+}
@@ -0,0 +1,11 @@
+package org.folio.dao;
+
+import org.folio.rest.jaxrs.model.ReasonForClosure;
+import org.folio.rest.jaxrs.model.ReasonForClosureCollection;
+
+public class CachingReasonForClosureDAO extends CachingDAO<ReasonForClosure, ReasonForClosureCollection> implements ReasonForClosureDAO {
+
+  public CachingReasonForClosureDAO(ReasonForClosureDAO delegate) {
+    super(delegate, "reasons-for-closure");
+  }
+}
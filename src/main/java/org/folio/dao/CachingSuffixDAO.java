@@ -0,0 +1,11 @@
+package org.folio.dao;
+
+import org.folio.rest.jaxrs.model.Suffix;
+import org.folio.rest.jaxrs.model.SuffixCollection;
+
+public class CachingSuffixDAO extends CachingDAO<Suffix, SuffixCollection> implements SuffixDAO {
+
+  public CachingSuffixDAO(SuffixDAO delegate) {
+    super(delegate, "suffixes");
+  }
+}
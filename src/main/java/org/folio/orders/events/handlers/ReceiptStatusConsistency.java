@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import org.folio.orders.utils.PayloadLogger;
 import org.folio.rest.acq.model.Piece;
 import org.folio.rest.acq.model.Piece.ReceivingStatus;
 import org.folio.rest.acq.model.PieceCollection;
@@ -155,10 +156,12 @@ public class ReceiptStatusConsistency extends AbstractHelper implements Handler<
     CompletableFuture<PieceCollection> future = new VertxCompletableFuture<>(ctx);
     try {
       handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger).thenAccept(jsonPieces -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved all pieces: {}", jsonPieces.encodePrettily());
+        PieceCollection pieces = jsonPieces.mapTo(PieceCollection.class);
+        logger.info("Successfully retrieved {} pieces", pieces.getTotalRecords());
+        if (PayloadLogger.isEnabled(logger, endpoint)) {
+          logger.debug("The retrieved pieces: {}", PayloadLogger.payload(jsonPieces));
         }
-        future.complete(jsonPieces.mapTo(PieceCollection.class));
+        future.complete(pieces);
       })
         .exceptionally(t -> {
           future.completeExceptionally(t);
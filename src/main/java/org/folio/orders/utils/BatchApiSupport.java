@@ -0,0 +1,52 @@
+package org.folio.orders.utils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import org.folio.orders.rest.exceptions.HttpException;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Keeps track of the batch APIs of other modules which are not available for a tenant, i.e. the module providing the API is
+ * older or the permission is not granted. The records are then sent one by one without trying the batch API again until
+ * {@code orders.batch.recheckMs} passes, {@code orders.inventory.itemsBatchRecheckMs} is used if it is not set.
+ */
+public final class BatchApiSupport {
+
+  /** Status codes of Okapi and the storage modules meaning the batch API is not provided or not permitted */
+  private static final Set<Integer> UNAVAILABLE_CODES = ImmutableSet.of(403, 404, 405, 501);
+
+  private static final ExpiringCache<Boolean> unavailableApis = new ExpiringCache<>("batch-api-unavailable", 1000,
+      Long.getLong("orders.batch.recheckMs", Long.getLong("orders.inventory.itemsBatchRecheckMs", 600000)));
+
+  private BatchApiSupport() {
+  }
+
+  /**
+   * @param okapiHeaders request headers
+   * @param api          path of the batch API
+   * @return {@code false} if the batch API has been recently found not available for the tenant
+   */
+  public static boolean isAvailable(Map<String, String> okapiHeaders, String api) {
+    return !unavailableApis.containsKey(ExpiringCache.key(okapiHeaders, api));
+  }
+
+  /**
+   * Checks if the batch request failed because the batch API is not available and remembers it for the tenant.
+   *
+   * @param okapiHeaders request headers
+   * @param api          path of the batch API
+   * @param t            failure of the batch request
+   * @return {@code true} if the batch API is not available
+   */
+  public static boolean markIfUnavailable(Map<String, String> okapiHeaders, String api, Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    if (cause instanceof HttpException && UNAVAILABLE_CODES.contains(((HttpException) cause).getCode())) {
+      unavailableApis.put(ExpiringCache.key(okapiHeaders, api), Boolean.TRUE);
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,104 @@
+package org.folio.orders.utils;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Counts requests to other modules and their body sizes triggered by one call of this module's API. The budget is bound to the
+ * instance of okapi headers map passed by RMB to the API method, which is the same instance all the helpers send the requests
+ * with. The totals are logged when the API call completes and, if {@code orders.debug.downstreamCallsHeader} is enabled,
+ * returned in {@value #HEADER} response header.
+ */
+public final class CallBudget {
+
+  public static final String HEADER = "X-Downstream-Calls";
+  static final String HEADER_PROPERTY = "orders.debug.downstreamCallsHeader";
+
+  private static final Logger logger = LoggerFactory.getLogger(CallBudget.class);
+
+  static boolean headerEnabled = Boolean.getBoolean(HEADER_PROPERTY);
+
+  private static final Map<Map<String, String>, CallBudget> budgets = Collections.synchronizedMap(new IdentityHashMap<>());
+
+  private final String operation;
+  private final Map<String, AtomicInteger> calls = Collections.synchronizedMap(new TreeMap<>());
+  private final AtomicInteger total = new AtomicInteger();
+  private final AtomicLong bytes = new AtomicLong();
+
+  CallBudget(String operation) {
+    this.operation = operation;
+  }
+
+  /**
+   * Starts counting requests sent with the given okapi headers.
+   *
+   * @param operation    name of the API operation, e.g. {@code POST /orders/composite-orders}
+   * @param okapiHeaders headers passed by RMB to the API method
+   * @return new budget
+   */
+  public static CallBudget start(String operation, Map<String, String> okapiHeaders) {
+    CallBudget budget = new CallBudget(operation);
+    if (okapiHeaders != null) {
+      budgets.put(okapiHeaders, budget);
+    }
+    return budget;
+  }
+
+  /**
+   * Counts the request in the budget of the API call the okapi headers belong to, if any.
+   *
+   * @param okapiHeaders headers the request is sent with
+   * @param endpoint     endpoint of the request
+   * @param size         size of the request and response bodies
+   */
+  public static void record(Map<String, String> okapiHeaders, String endpoint, long size) {
+    CallBudget budget = okapiHeaders == null ? null : budgets.get(okapiHeaders);
+    if (budget != null) {
+      budget.calls.computeIfAbsent(CircuitBreaker.pathPrefixOf(endpoint), prefix -> new AtomicInteger()).incrementAndGet();
+      budget.total.incrementAndGet();
+      budget.bytes.addAndGet(size);
+    }
+  }
+
+  /**
+   * Stops counting and logs the totals. Requests completed later, e.g. by the event bus handlers, are not counted.
+   *
+   * @param okapiHeaders headers passed by RMB to the API method
+   */
+  public void finish(Map<String, String> okapiHeaders) {
+    if (okapiHeaders != null) {
+      budgets.remove(okapiHeaders);
+    }
+    if (logger.isInfoEnabled()) {
+      logger.info("{} made {} request(s) to other modules with {} bytes of bodies: {}", operation, total.get(), bytes.get(),
+          getCallsByPathPrefix());
+    }
+  }
+
+  public int getTotal() {
+    return total.get();
+  }
+
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  public Map<String, Integer> getCallsByPathPrefix() {
+    Map<String, Integer> result = new TreeMap<>();
+    synchronized (calls) {
+      calls.forEach((prefix, count) -> result.put(prefix, count.get()));
+    }
+    return result;
+  }
+
+  public static boolean isHeaderEnabled() {
+    return headerEnabled;
+  }
+}
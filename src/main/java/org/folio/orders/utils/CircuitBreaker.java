@@ -0,0 +1,217 @@
+package org.folio.orders.utils;
+
+import static org.folio.orders.utils.ErrorCodes.DOWNSTREAM_UNAVAILABLE;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.jaxrs.model.Parameter;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Circuit breaker for requests to other modules keyed by the first segment of the request path, e.g. {@code /finance} or
+ * {@code /inventory}. Failed (5xx status or connection error) and slow calls are counted in a sliding window of the latest
+ * calls. If their share exceeds the threshold the breaker opens and all requests to the path prefix fail right away with
+ * {@link ErrorCodes#DOWNSTREAM_UNAVAILABLE} and 503 status. After the open period a few probe requests are let through and
+ * the breaker closes if all of them succeed or opens again otherwise, also if the probes get no response in time. Every call is
+ * tagged with the generation of the breaker state it was started in, results of the calls started before the latest state
+ * change are ignored.
+ */
+public final class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  static final String ENABLED_PROPERTY = "orders.breaker.enabled";
+  static final String WINDOW_SIZE_PROPERTY = "orders.breaker.windowSize";
+  static final String MIN_CALLS_PROPERTY = "orders.breaker.minCalls";
+  static final String FAILURE_RATE_PROPERTY = "orders.breaker.failureRatePercent";
+  static final String SLOW_CALL_PROPERTY = "orders.breaker.slowCallMs";
+  static final String OPEN_PROPERTY = "orders.breaker.openMs";
+  static final String PROBES_PROPERTY = "orders.breaker.halfOpenProbes";
+  static final String PROBE_TIMEOUT_PROPERTY = "orders.breaker.probeTimeoutMs";
+
+  static final long REJECTED = -1;
+
+  private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  static boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+  static int windowSize = Integer.getInteger(WINDOW_SIZE_PROPERTY, 20);
+  static int minCalls = Integer.getInteger(MIN_CALLS_PROPERTY, 10);
+  static int failureRate = Integer.getInteger(FAILURE_RATE_PROPERTY, 50);
+  static long slowCall = Long.getLong(SLOW_CALL_PROPERTY, 10000);
+  static long openPeriod = Long.getLong(OPEN_PROPERTY, 30000);
+  static int probes = Integer.getInteger(PROBES_PROPERTY, 3);
+  static long probeTimeout = Long.getLong(PROBE_TIMEOUT_PROPERTY, slowCall);
+
+  private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  private final String pathPrefix;
+  private final boolean[] window;
+  private State state = State.CLOSED;
+  private int next;
+  private int calls;
+  private int failures;
+  private long generation;
+  private long openedAt;
+  private long halfOpenedAt;
+  private int probesStarted;
+  private int probesSucceeded;
+
+  CircuitBreaker(String pathPrefix) {
+    this.pathPrefix = pathPrefix;
+    this.window = new boolean[Math.max(1, windowSize)];
+  }
+
+  /**
+   * Sends the request if the breaker for the endpoint's path prefix lets it through.
+   *
+   * @param endpoint endpoint of the request
+   * @param request  supplier actually sending the request
+   * @return future with the result of the request or failed with 503 {@link HttpException} if the breaker is open
+   */
+  public static <T> CompletableFuture<T> execute(String endpoint, Supplier<CompletableFuture<T>> request) {
+    if (!enabled) {
+      return request.get();
+    }
+    return breakers.computeIfAbsent(pathPrefixOf(endpoint), CircuitBreaker::new).call(request);
+  }
+
+  /**
+   * @return all the breakers created so far by path prefix
+   */
+  public static Map<String, CircuitBreaker> getBreakers() {
+    return Collections.unmodifiableMap(breakers);
+  }
+
+  static String pathPrefixOf(String endpoint) {
+    String path = StringUtils.substringBefore(StringUtils.defaultString(endpoint), "?");
+    int end = path.indexOf('/', 1);
+    return end > 0 ? path.substring(0, end) : path;
+  }
+
+  static boolean isFastFailure(Throwable t) {
+    Throwable cause = t.getCause() != null ? t.getCause() : t;
+    return cause instanceof HttpException && ((HttpException) cause).getError() != null
+      && DOWNSTREAM_UNAVAILABLE.getCode().equals(((HttpException) cause).getError().getCode());
+  }
+
+  <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> request) {
+    long permit = tryAcquire(System.currentTimeMillis());
+    if (permit == REJECTED) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      future.completeExceptionally(new CompletionException(new HttpException(503, DOWNSTREAM_UNAVAILABLE.toError()
+        .withParameters(Collections.singletonList(new Parameter().withKey("path").withValue(pathPrefix))))));
+      return future;
+    }
+
+    long start = System.nanoTime();
+    CompletableFuture<T> response;
+    try {
+      response = request.get();
+    } catch (Exception e) {
+      response = new CompletableFuture<>();
+      response.completeExceptionally(e);
+    }
+    response.whenComplete((result, t) -> {
+      boolean slow = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) > slowCall;
+      onResult(permit, slow || (t != null && RetryPolicy.isRetryable(t)), System.currentTimeMillis());
+    });
+    return response;
+  }
+
+  /**
+   * @return generation of the breaker state the call is started in or {@link #REJECTED} if the call is not let through
+   */
+  synchronized long tryAcquire(long now) {
+    if (state == State.OPEN) {
+      if (now - openedAt < openPeriod) {
+        return REJECTED;
+      }
+      logger.info("Circuit breaker for '{}' is half-open, sending up to {} probe request(s)", pathPrefix, probes);
+      state = State.HALF_OPEN;
+      generation++;
+      halfOpenedAt = now;
+      probesStarted = 0;
+      probesSucceeded = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesStarted >= probes) {
+        if (now - halfOpenedAt >= probeTimeout) {
+          logger.warn("Probe request(s) to '{}' got no response within {} ms", pathPrefix, probeTimeout);
+          open(now);
+        }
+        return REJECTED;
+      }
+      probesStarted++;
+    }
+    return generation;
+  }
+
+  /**
+   * @param permit  generation returned by {@link #tryAcquire(long)} when the call was started
+   * @param failure whether the call failed or was slow
+   * @param now     current time
+   */
+  synchronized void onResult(long permit, boolean failure, long now) {
+    if (permit != generation) {
+      // The call was started before the breaker changed its state, e.g. while closed and completed after it opened
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      if (failure) {
+        open(now);
+      } else if (++probesSucceeded >= probes) {
+        close();
+      }
+    } else if (state == State.CLOSED) {
+      if (calls == window.length && window[next]) {
+        failures--;
+      }
+      window[next] = failure;
+      if (failure) {
+        failures++;
+      }
+      next = (next + 1) % window.length;
+      calls = Math.min(calls + 1, window.length);
+
+      if (calls >= minCalls && failures * 100 >= failureRate * calls) {
+        open(now);
+      }
+    }
+  }
+
+  private void open(long now) {
+    logger.warn("Circuit breaker for '{}' is open for {} ms", pathPrefix, openPeriod);
+    state = State.OPEN;
+    generation++;
+    openedAt = now;
+  }
+
+  private void close() {
+    logger.info("Circuit breaker for '{}' is closed", pathPrefix);
+    state = State.CLOSED;
+    generation++;
+    next = 0;
+    calls = 0;
+    failures = 0;
+  }
+
+  public String getPathPrefix() {
+    return pathPrefix;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+}
@@ -0,0 +1,202 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Limits the number of simultaneous requests sent to other module on behalf of a tenant. Requests above the limit are queued
+ * and sent one by one as soon as the previous ones complete, so fan-outs like creation of items or pieces for a PO line with
+ * a big quantity do not send hundreds of requests at once. A queued request is started and its future is completed on the
+ * Vert.x context of the caller, not on the one of the request releasing the permit.
+ * <p>
+ * The limit is resolved from the following system properties, the first one defined wins:
+ * <ul>
+ * <li>{@code orders.concurrency.<tenant>.<downstream>}</li>
+ * <li>{@code orders.concurrency.<downstream>}</li>
+ * <li>{@code orders.concurrency.default} (10 if not defined)</li>
+ * </ul>
+ */
+public final class ConcurrencyLimiter {
+
+  public static final String INVENTORY = "inventory";
+  public static final String ORDERS_STORAGE = "orders-storage";
+  public static final String FINANCE = "finance";
+
+  static final String PROPERTY_PREFIX = "orders.concurrency.";
+  static final String DEFAULT_LIMIT_PROPERTY = PROPERTY_PREFIX + "default";
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+  private static final int DEFAULT_LIMIT = 10;
+
+  private static final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final int limit;
+  private final Queue<Runnable> queue = new ArrayDeque<>();
+  private int active;
+  private boolean draining;
+  private int maxQueueDepth;
+  private long queuedTotal;
+
+  ConcurrencyLimiter(String name, int limit) {
+    this.name = name;
+    this.limit = Math.max(1, limit);
+  }
+
+  /**
+   * Returns limiter shared by all requests of the tenant from {@code x-okapi-tenant} header to the downstream module.
+   *
+   * @param downstream   name of the downstream module, e.g. {@link #INVENTORY}
+   * @param okapiHeaders request headers
+   * @return concurrency limiter
+   */
+  public static ConcurrencyLimiter forDownstream(String downstream, Map<String, String> okapiHeaders) {
+    String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
+    return limiters.computeIfAbsent(tenantId + "." + downstream,
+        name -> new ConcurrencyLimiter(name, resolveLimit(tenantId, downstream)));
+  }
+
+  /**
+   * @return all the limiters created so far by tenant and downstream name, e.g. {@code diku.inventory}
+   */
+  public static Map<String, ConcurrencyLimiter> getLimiters() {
+    return Collections.unmodifiableMap(limiters);
+  }
+
+  static int resolveLimit(String tenantId, String downstream) {
+    Integer limit = Integer.getInteger(PROPERTY_PREFIX + tenantId + "." + downstream);
+    if (limit == null) {
+      limit = Integer.getInteger(PROPERTY_PREFIX + downstream, Integer.getInteger(DEFAULT_LIMIT_PROPERTY, DEFAULT_LIMIT));
+    }
+    return limit;
+  }
+
+  /**
+   * Sends the request right away if the limit is not reached yet, otherwise queues it.
+   *
+   * @param request supplier actually sending the request
+   * @return future completed with the result of the request
+   */
+  public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Context context = Vertx.currentContext();
+    Runnable task = () -> runOnContext(context, () -> run(request, future, context));
+
+    boolean runNow;
+    synchronized (this) {
+      runNow = active < limit && queue.isEmpty();
+      if (runNow) {
+        active++;
+      } else {
+        queue.add(task);
+        queuedTotal++;
+        maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        if (logger.isDebugEnabled()) {
+          logger.debug("Limit of {} simultaneous requests reached for {}, {} request(s) queued", limit, name, queue.size());
+        }
+      }
+    }
+
+    if (runNow) {
+      task.run();
+    } else {
+      drain();
+    }
+    return future;
+  }
+
+  private <T> void run(Supplier<CompletableFuture<T>> request, CompletableFuture<T> future, Context context) {
+    CompletableFuture<T> response;
+    try {
+      response = request.get();
+    } catch (Exception e) {
+      response = new CompletableFuture<>();
+      response.completeExceptionally(e);
+    }
+
+    response.whenComplete((result, t) -> {
+      releaseAndRunNext();
+      runOnContext(context, () -> {
+        if (t != null) {
+          future.completeExceptionally(t);
+        } else {
+          future.complete(result);
+        }
+      });
+    });
+  }
+
+  private static void runOnContext(Context context, Runnable action) {
+    if (context == null || context == Vertx.currentContext()) {
+      action.run();
+    } else {
+      context.runOnContext(v -> action.run());
+    }
+  }
+
+  private void releaseAndRunNext() {
+    synchronized (this) {
+      active--;
+    }
+    drain();
+  }
+
+  /**
+   * Sends queued requests while there are free permits. Requests completed synchronously release their permits while the queue
+   * is being drained, so the loop is used instead of recursion to keep the stack flat for long queues.
+   */
+  private void drain() {
+    synchronized (this) {
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    while (true) {
+      Runnable next;
+      synchronized (this) {
+        if (active >= limit || queue.isEmpty()) {
+          draining = false;
+          return;
+        }
+        next = queue.poll();
+        active++;
+      }
+      next.run();
+    }
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public synchronized int getActive() {
+    return active;
+  }
+
+  public synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  public synchronized int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  public synchronized long getQueuedTotal() {
+    return queuedTotal;
+  }
+}
@@ -71,7 +71,8 @@ public enum ErrorCodes {
   SUFFIX_IS_USED("suffixIsUsed", "The suffix cannot be deleted as it is used by one or more orders"),
   PIECES_TO_BE_DELETED("piecesNeedToBeDeleted", "Pieces need to be deleted"),
   PIECES_TO_BE_CREATED("piecesNeedToBeCreated", "Pieces need to be created"),
-  REQUEST_FOUND("thereAreRequestsOnItem", "There are requests on item");
+  REQUEST_FOUND("thereAreRequestsOnItem", "There are requests on item"),
+  DOWNSTREAM_UNAVAILABLE("downstreamUnavailable", "The module serving the requested path is temporarily unavailable, please try again later");
 
   private final String code;
   private final String description;
@@ -0,0 +1,319 @@
+package org.folio.orders.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+
+/**
+ * Size-bounded cache of data loaded from other modules shared by all the verticle instances. Entries expire after the TTL and
+ * the least recently used ones are evicted once the cache is full. Concurrent lookups of the same key wait for a single load,
+ * failed loads are not cached. Keys start with the tenant id (see {@link #key(Map, String...)}) so the data of one tenant can be
+ * dropped with {@link #invalidateTenant(String)}. Values must not be modified by the callers.
+ *
+ * @param <V> type of the cached values
+ */
+public final class ExpiringCache<V> {
+
+  private static final String SEPARATOR = "|";
+  private static final Map<String, ExpiringCache<?>> caches = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final int maxSize;
+  private volatile long ttl;
+  private final Map<String, Entry<V>> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param name    name of the cache used in the metrics
+   * @param maxSize maximum number of entries
+   * @param ttl     time to live of an entry in milliseconds, {@code 0} disables the cache
+   */
+  public ExpiringCache(String name, int maxSize, long ttl) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+        if (size() > ExpiringCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+    caches.put(name, this);
+  }
+
+  /**
+   * Builds the key of an entry which belongs to the tenant from {@code x-okapi-tenant} header.
+   */
+  public static String key(Map<String, String> okapiHeaders, String... parts) {
+    return TenantTool.tenantId(okapiHeaders) + SEPARATOR + String.join(SEPARATOR, parts);
+  }
+
+  /**
+   * @return all the caches by name
+   */
+  public static Map<String, ExpiringCache<?>> getCaches() {
+    return Collections.unmodifiableMap(caches);
+  }
+
+  /**
+   * Drops the entries of the tenant from all the caches.
+   */
+  public static void invalidateTenant(String tenantId) {
+    caches.values().forEach(cache -> cache.invalidate(tenantId));
+  }
+
+  public static void invalidateAllCaches() {
+    caches.values().forEach(ExpiringCache::invalidateAll);
+  }
+
+  /**
+   * Returns the cached value or loads it.
+   *
+   * @param key    key of the entry, see {@link #key(Map, String...)}
+   * @param ctx    context the returned future is completed on
+   * @param loader supplier actually loading the value
+   * @return future with the value
+   */
+  public CompletableFuture<V> get(String key, Context ctx, Supplier<CompletableFuture<V>> loader) {
+    if (!isEnabled()) {
+      misses.increment();
+      return loader.get();
+    }
+
+    Entry<V> entry;
+    boolean load = false;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+        entry = new Entry<>(System.currentTimeMillis() + ttl);
+        entries.put(key, entry);
+        load = true;
+      }
+    }
+
+    if (load) {
+      misses.increment();
+      Entry<V> loading = entry;
+      send(loader).whenComplete((value, t) -> {
+        if (t != null) {
+          remove(key, loading);
+          loading.value.completeExceptionally(t);
+        } else {
+          loading.value.complete(value);
+        }
+      });
+    } else {
+      hits.increment();
+    }
+    return onContext(ctx, entry.value);
+  }
+
+  /**
+   * Returns the cached values of the keys and loads the missing ones at once. The keys the loader returns no value for are not
+   * cached and are missing in the result.
+   *
+   * @param keys   keys of the entries, see {@link #key(Map, String...)}
+   * @param ctx    context the returned future is completed on
+   * @param loader function loading the values of the given keys, which are not cached, by key
+   * @return future with the found values by key
+   */
+  public CompletableFuture<Map<String, V>> getAll(List<String> keys, Context ctx,
+      Function<List<String>, CompletableFuture<Map<String, V>>> loader) {
+    if (!isEnabled()) {
+      misses.add(keys.size());
+      return loader.apply(keys);
+    }
+
+    Map<String, Entry<V>> found = new LinkedHashMap<>();
+    Map<String, Entry<V>> loading = new LinkedHashMap<>();
+    synchronized (this) {
+      long now = System.currentTimeMillis();
+      for (String key : keys) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(now)) {
+          entry = new Entry<>(now + ttl);
+          entries.put(key, entry);
+          loading.put(key, entry);
+        }
+        found.put(key, entry);
+      }
+    }
+    hits.add((long) found.size() - loading.size());
+    misses.add(loading.size());
+
+    if (!loading.isEmpty()) {
+      CompletableFuture<Map<String, V>> loaded;
+      try {
+        loaded = loader.apply(new ArrayList<>(loading.keySet()));
+      } catch (Exception e) {
+        loaded = new CompletableFuture<>();
+        loaded.completeExceptionally(e);
+      }
+      loaded.whenComplete((values, t) -> loading.forEach((key, entry) -> {
+        V value = t == null ? values.get(key) : null;
+        if (value == null) {
+          remove(key, entry);
+        }
+        if (t != null) {
+          entry.value.completeExceptionally(t);
+        } else {
+          entry.value.complete(value);
+        }
+      }));
+    }
+
+    CompletableFuture<Map<String, V>> result = new VertxCompletableFuture<>(ctx);
+    CompletableFuture.allOf(found.values().stream().map(entry -> entry.value).toArray(CompletableFuture[]::new))
+      .whenComplete((v, t) -> {
+        if (t != null) {
+          result.completeExceptionally(t);
+          return;
+        }
+        Map<String, V> values = new HashMap<>();
+        found.forEach((key, entry) -> {
+          V value = entry.value.join();
+          if (value != null) {
+            values.put(key, value);
+          }
+        });
+        result.complete(values);
+      });
+    return result;
+  }
+
+  /**
+   * Puts the value loaded by the caller to the cache.
+   */
+  public void put(String key, V value) {
+    if (isEnabled()) {
+      Entry<V> entry = new Entry<>(System.currentTimeMillis() + ttl);
+      entry.value.complete(value);
+      synchronized (this) {
+        entries.put(key, entry);
+      }
+    }
+  }
+
+  /**
+   * Checks the key without loading its value, the check is counted as a hit or a miss.
+   *
+   * @return {@code true} if the value of the key is cached or being loaded and is not expired yet
+   */
+  public synchronized boolean containsKey(String key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+      hits.increment();
+      return true;
+    }
+    misses.increment();
+    return false;
+  }
+
+  /**
+   * Drops the entries of the tenant.
+   */
+  public synchronized void invalidate(String tenantId) {
+    entries.keySet().removeIf(key -> key.startsWith(tenantId + SEPARATOR));
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  /**
+   * Changes the time to live of the entries, {@code 0} disables the cache. The cached entries are dropped.
+   *
+   * @param ttl time to live of an entry in milliseconds
+   */
+  public synchronized void setTtl(long ttl) {
+    this.ttl = ttl;
+    entries.clear();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return {@code false} if the cache is disabled and every lookup loads the value
+   */
+  public boolean isEnabled() {
+    return ttl > 0 && maxSize > 0;
+  }
+
+  private synchronized void remove(String key, Entry<V> entry) {
+    if (entries.get(key) == entry) {
+      entries.remove(key);
+    }
+  }
+
+  private static <T> CompletableFuture<T> send(Supplier<CompletableFuture<T>> loader) {
+    try {
+      return loader.get();
+    } catch (Exception e) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  private static <T> CompletableFuture<T> onContext(Context ctx, CompletableFuture<T> value) {
+    CompletableFuture<T> future = new VertxCompletableFuture<>(ctx);
+    value.whenComplete((result, t) -> {
+      if (t != null) {
+        future.completeExceptionally(t);
+      } else {
+        future.complete(result);
+      }
+    });
+    return future;
+  }
+
+  private static class Entry<T> {
+    private final CompletableFuture<T> value = new CompletableFuture<>();
+    private final long expiresAt;
+
+    Entry(long expiresAt) {
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+}
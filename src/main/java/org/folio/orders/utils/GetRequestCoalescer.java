@@ -0,0 +1,225 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.collect.ImmutableSet;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Single-flight execution of GET requests to other modules. While a GET for some endpoint is in flight, identical requests
+ * (same Okapi URL, tenant, token and endpoint) do not go to the network but wait for the response of the first one. Each
+ * caller receives its own copy of the parsed response body because the callers are free to modify it. Raw bodies are
+ * shared as is because every caller deserializes them on its own.
+ * <p>
+ * Only GETs of the reference and configuration APIs in {@link #COALESCED_APIS} are coalesced. This module never writes to
+ * them, so a GET sent after a write of the same request cannot get the response of a GET sent before the write. Other GETs,
+ * e.g. of orders, PO lines and pieces or of the next PO number which takes a new number from a storage sequence on each
+ * call, always go to the network.
+ */
+public final class GetRequestCoalescer {
+
+  static final String ENABLED_PROPERTY = "orders.http.coalesceGets";
+
+  private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+  private static final String OKAPI_URL = "x-okapi-url";
+
+  /** Paths of the reference and configuration APIs which this module only reads, sub-paths included */
+  private static final Set<String> COALESCED_APIS = ImmutableSet.of(
+    "/configurations/entries",
+    "/contributor-name-types",
+    "/finance/budgets",
+    "/finance/funds",
+    "/finance/ledgers",
+    "/identifier-types",
+    "/instance-statuses",
+    "/instance-types",
+    "/loan-types",
+    "/organizations-storage");
+
+  private static final String JSON_KEY_PREFIX = "json|";
+  private static final String RAW_KEY_PREFIX = "raw|";
+
+  private static final Map<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+  private GetRequestCoalescer() {
+  }
+
+  /**
+   * Executes the GET request or joins identical one which is currently in flight.
+   *
+   * @param endpoint     endpoint of the GET request
+   * @param okapiHeaders request headers
+   * @param ctx          context of the caller, the returned future is completed on it
+   * @param request      supplier actually sending the request and returning extracted response body
+   * @return future with the response body which is not shared with other callers
+   */
+  public static CompletableFuture<JsonObject> execute(String endpoint, Map<String, String> okapiHeaders, Context ctx,
+      Supplier<CompletableFuture<JsonObject>> request) {
+    if (!isCoalesced(endpoint)) {
+      return request.get();
+    }
+    return join(JSON_KEY_PREFIX + buildKey(endpoint, okapiHeaders), ctx, request, JsonObject::copy);
+  }
+
+  /**
+   * Same as {@link #execute(String, Map, Context, Supplier)} but for requests returning not parsed response body.
+   *
+   * @param endpoint     endpoint of the GET request
+   * @param okapiHeaders request headers
+   * @param ctx          context of the caller, the returned future is completed on it
+   * @param request      supplier actually sending the request and returning raw response body
+   * @return future with the raw response body which must not be modified by the caller
+   */
+  public static CompletableFuture<Buffer> executeRaw(String endpoint, Map<String, String> okapiHeaders, Context ctx,
+      Supplier<CompletableFuture<Buffer>> request) {
+    if (!isCoalesced(endpoint)) {
+      return request.get();
+    }
+    return join(RAW_KEY_PREFIX + buildKey(endpoint, okapiHeaders), ctx, request, UnaryOperator.identity());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> CompletableFuture<T> join(String key, Context ctx, Supplier<CompletableFuture<T>> request,
+      UnaryOperator<T> copier) {
+    if (!ENABLED) {
+      return request.get();
+    }
+
+    Waiter<T> waiter = new Waiter<>(ctx);
+    while (true) {
+      // The key prefix guarantees that all flights for the key are of the same type
+      Flight<T> flight = (Flight<T>) inFlight.get(key);
+      if (flight != null) {
+        if (flight.join(waiter)) {
+          return waiter.future;
+        }
+        // The flight has just landed, a new one is required
+        inFlight.remove(key, flight);
+        continue;
+      }
+
+      Flight<T> newFlight = new Flight<>(waiter, copier);
+      if (inFlight.putIfAbsent(key, newFlight) == null) {
+        newFlight.start(key, request);
+        return waiter.future;
+      }
+    }
+  }
+
+  /**
+   * @param endpoint endpoint of the GET request, with or without query
+   * @return {@code true} if the path of the endpoint or any of its parents is in {@link #COALESCED_APIS}
+   */
+  static boolean isCoalesced(String endpoint) {
+    String path = StringUtils.substringBefore(endpoint, "?");
+    while (!path.isEmpty()) {
+      if (COALESCED_APIS.contains(path)) {
+        return true;
+      }
+      path = StringUtils.substringBeforeLast(path, "/");
+    }
+    return false;
+  }
+
+  static int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private static String buildKey(String endpoint, Map<String, String> okapiHeaders) {
+    return okapiHeaders.get(OKAPI_URL) + '|' + okapiHeaders.get(OKAPI_HEADER_TENANT) + '|'
+      + okapiHeaders.get(OKAPI_HEADER_TOKEN) + '|' + endpoint;
+  }
+
+  private static class Flight<T> {
+    private final List<Waiter<T>> waiters = new ArrayList<>();
+    private final UnaryOperator<T> copier;
+    private boolean landed;
+
+    Flight(Waiter<T> leader, UnaryOperator<T> copier) {
+      this.copier = copier;
+      waiters.add(leader);
+    }
+
+    synchronized boolean join(Waiter<T> waiter) {
+      if (landed) {
+        return false;
+      }
+      waiters.add(waiter);
+      return true;
+    }
+
+    private synchronized List<Waiter<T>> land() {
+      landed = true;
+      return waiters;
+    }
+
+    void start(String key, Supplier<CompletableFuture<T>> request) {
+      CompletableFuture<T> response;
+      try {
+        response = request.get();
+      } catch (Exception e) {
+        response = new CompletableFuture<>();
+        response.completeExceptionally(e);
+      }
+
+      response.whenComplete((body, t) -> {
+        inFlight.remove(key, this);
+        List<Waiter<T>> landedWaiters = land();
+        if (t != null) {
+          landedWaiters.forEach(waiter -> waiter.fail(t));
+        } else {
+          // Copies are prepared before any of the callers gets the body and has a chance to modify it
+          List<T> bodies = new ArrayList<>(landedWaiters.size());
+          bodies.add(body);
+          for (int i = 1; i < landedWaiters.size(); i++) {
+            bodies.add(body == null ? null : copier.apply(body));
+          }
+          for (int i = 0; i < landedWaiters.size(); i++) {
+            landedWaiters.get(i).complete(bodies.get(i));
+          }
+        }
+      });
+    }
+  }
+
+  private static class Waiter<T> {
+    private final Context ctx;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    Waiter(Context ctx) {
+      this.ctx = ctx;
+    }
+
+    void complete(T body) {
+      runOnCallerContext(() -> future.complete(body));
+    }
+
+    void fail(Throwable t) {
+      runOnCallerContext(() -> future.completeExceptionally(t));
+    }
+
+    private void runOnCallerContext(Runnable action) {
+      if (ctx == null || ctx == Vertx.currentContext()) {
+        action.run();
+      } else {
+        ctx.runOnContext(v -> action.run());
+      }
+    }
+  }
+}
@@ -1,12 +1,13 @@
 package org.folio.orders.utils;
 
 import static io.vertx.core.Future.succeededFuture;
-import static java.util.Objects.nonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.summingInt;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -22,6 +23,9 @@ import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.RestVerticle.OKAPI_REQUESTID_HEADER;
+import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
+import static org.folio.rest.impl.AbstractHelper.MAX_IDS_FOR_GET_RQ;
 import static org.folio.rest.jaxrs.model.CompositePoLine.OrderFormat.ELECTRONIC_RESOURCE;
 import static org.folio.rest.jaxrs.model.CompositePoLine.OrderFormat.OTHER;
 import static org.folio.rest.jaxrs.model.CompositePoLine.OrderFormat.PHYSICAL_RESOURCE;
@@ -30,6 +34,7 @@ import static org.folio.rest.jaxrs.model.PoLine.PaymentStatus.PAYMENT_NOT_REQUIR
 import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.FULLY_RECEIVED;
 import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.RECEIPT_NOT_REQUIRED;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
@@ -46,8 +51,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -91,10 +100,14 @@ import org.javamoney.moneta.function.MonetaryOperators;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.core.logging.Logger;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
 import one.util.streamex.IntStreamEx;
@@ -109,6 +122,7 @@ public class HelperUtils {
   public static final String CONFIG_NAME = "configName";
   public static final String CONFIG_VALUE = "value";
   private static final String CONFIG_QUERY = "module=ORDERS";
+  private static final String CONFIG_ENDPOINT = "/configurations/entries";
   private static final String ERROR_MESSAGE = "errorMessage";
 
   public static final String DEFAULT_POLINE_LIMIT = "1";
@@ -120,6 +134,7 @@ public class HelperUtils {
   public static final String URL_WITH_LANG_PARAM = "%s?" + LANG + "=%s";
   private static final String GET_ALL_POLINES_QUERY_WITH_LIMIT = resourcesPath(PO_LINES) + "?limit=%s&query=purchaseOrderId==%s&" + LANG + "=%s";
   private static final String GET_PURCHASE_ORDER_BYID = resourceByIdPath(PURCHASE_ORDER) + URL_WITH_LANG_PARAM;
+  private static final String GET_SUB_OBJS_BY_QUERY = "%s?limit=%d&query=%s&" + LANG + "=%s";
   private static final String GET_PURCHASE_ORDER_BYPONUMBER_QUERY = resourcesPath(PURCHASE_ORDER) + "?query=poNumber==%s&" + LANG + "=%s";
 
   private static final String EXCEPTION_CALLING_ENDPOINT_MSG = "Exception calling {} {}";
@@ -127,6 +142,12 @@ public class HelperUtils {
   private static final String PROTECTED_AND_MODIFIED_FIELDS = "protectedAndModifiedFields";
   public static final String WORKFLOW_STATUS = "workflowStatus";
 
+  // Only these headers of the incoming request are passed with the GET requests sent by the Vert.x client
+  private static final Set<String> FORWARDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+  static {
+    Collections.addAll(FORWARDED_HEADERS, OKAPI_HEADER_TENANT, OKAPI_HEADER_TOKEN, OKAPI_USERID_HEADER, OKAPI_REQUESTID_HEADER);
+  }
+
   private static final Pattern CQL_SORT_BY_PATTERN = Pattern.compile("(.*)(\\ssortBy\\s.*)", Pattern.CASE_INSENSITIVE);
 
   private HelperUtils() {
@@ -211,7 +232,7 @@ public class HelperUtils {
 
     getPoLines(orderId, lang, httpClient,ctx, okapiHeaders, logger)
       .thenAccept(jsonLines ->
-        collectResultsOnSuccess(jsonLines.stream().map(line -> operateOnPoLine(HttpMethod.GET, line, httpClient, ctx, okapiHeaders, logger)).collect(toList()))
+        getCompositePoLines(jsonLines, lang, httpClient, ctx, okapiHeaders, logger)
           .thenAccept(future::complete)
           .exceptionally(t -> {
             future.completeExceptionally(t.getCause());
@@ -226,12 +247,94 @@ public class HelperUtils {
     return future;
   }
 
+  /**
+   * Converts PO lines from storage to composite ones. Alerts and reporting codes of all the lines are retrieved at once by
+   * chunks of ids and are then put to the lines they belong to. The ids which are not found are skipped.
+   *
+   * @param lines PO lines as JsonObjects (/acq-models/mod-orders-storage/schemas/po_line.json objects)
+   * @param lang  language of the requests
+   * @return future with composite PO lines in the same order
+   */
+  public static CompletableFuture<List<CompositePoLine>> getCompositePoLines(List<JsonObject> lines, String lang,
+      HttpClientInterface httpClient, Context ctx, Map<String, String> okapiHeaders, Logger logger) {
+    CompletableFuture<List<CompositePoLine>> future = new VertxCompletableFuture<>(ctx);
+
+    CompletableFuture<Map<String, JsonObject>> alerts = getSubObjsByIds(ALERTS, lines, lang, httpClient, ctx, okapiHeaders, logger);
+    CompletableFuture<Map<String, JsonObject>> reportingCodes = getSubObjsByIds(REPORTING_CODES, lines, lang, httpClient, ctx,
+        okapiHeaders, logger);
+    alerts.thenCombine(reportingCodes, (alertsById, reportingCodesById) -> StreamEx.of(lines)
+        .map(line -> {
+          replaceSubObjIds(line, ALERTS, alertsById, logger);
+          replaceSubObjIds(line, REPORTING_CODES, reportingCodesById, logger);
+          return line.mapTo(CompositePoLine.class);
+        })
+        .toList())
+      .thenAccept(future::complete)
+      .exceptionally(t -> {
+        logger.error("Exception resolving one or more poLine sub-object(s):", t);
+        future.completeExceptionally(t);
+        return null;
+      });
+    return future;
+  }
+
+  private static CompletableFuture<Map<String, JsonObject>> getSubObjsByIds(String field, List<JsonObject> lines, String lang,
+      HttpClientInterface httpClient, Context ctx, Map<String, String> okapiHeaders, Logger logger) {
+    List<String> ids = StreamEx.of(lines)
+      .flatCollection(line -> getSubObjIds(line, field).getList())
+      .map(Object::toString)
+      .distinct()
+      .toList();
+
+    return collectResultsOnSuccess(StreamEx.ofSubLists(ids, MAX_IDS_FOR_GET_RQ)
+      .map(chunk -> {
+        String query = encodeQuery(convertIdsToCqlQuery(chunk), logger);
+        String endpoint = String.format(GET_SUB_OBJS_BY_QUERY, resourcesPath(field), chunk.size(), query, lang);
+        return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
+          .thenApply(collection -> collection.getJsonArray(field));
+      })
+      .toList())
+      .thenApply(results -> StreamEx.of(results)
+        .flatMap(JsonArray::stream)
+        .map(JsonObject.class::cast)
+        .toMap(subObj -> subObj.getString(ID), Function.identity(), (first, second) -> first));
+  }
+
+  private static void replaceSubObjIds(JsonObject line, String field, Map<String, JsonObject> subObjsById, Logger logger) {
+    JsonArray array = new JsonArray();
+    JsonArray ids = getSubObjIds(line, field);
+    line.remove(field);
+    ids.forEach(id -> {
+      JsonObject subObj = subObjsById.get(id.toString());
+      if (subObj != null) {
+        array.add(subObj.copy());
+      } else {
+        logger.error("The {} record with id={} is not found", field, id);
+      }
+    });
+    line.put(field, array);
+  }
+
+  private static JsonArray getSubObjIds(JsonObject line, String field) {
+    return Optional.ofNullable(line.getJsonArray(field)).orElseGet(JsonArray::new);
+  }
+
+  /**
+   * Converts PO line from storage to composite one as {@link #getCompositePoLines(List, String, HttpClientInterface, Context, Map, Logger)}
+   * does.
+   */
+  public static CompletableFuture<CompositePoLine> getCompositePoLine(JsonObject line, String lang, HttpClientInterface httpClient,
+      Context ctx, Map<String, String> okapiHeaders, Logger logger) {
+    return getCompositePoLines(Collections.singletonList(line), lang, httpClient, ctx, okapiHeaders, logger)
+      .thenApply(lines -> lines.get(0));
+  }
+
   public static CompletableFuture<CompositePoLine> operateOnPoLine(HttpMethod operation, JsonObject line, HttpClientInterface httpClient,
                                                                    Context ctx, Map<String, String> okapiHeaders, Logger logger) {
     CompletableFuture<CompositePoLine> future = new VertxCompletableFuture<>(ctx);
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("The PO line prior to {} operation: {}", operation, line.encodePrettily());
+    if (PayloadLogger.isEnabled(logger, resourcesPath(PO_LINES))) {
+      logger.debug("The PO line prior to {} operation: {}", operation, PayloadLogger.payload(line));
     }
 
     List<CompletableFuture<Void>> futures = new ArrayList<>();
@@ -240,8 +343,8 @@ public class HelperUtils {
 
     CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
       .thenAccept(v -> {
-        if (logger.isDebugEnabled()) {
-          logger.debug("The PO line after {} operation on sub-objects: {}", operation, line.encodePrettily());
+        if (PayloadLogger.isEnabled(logger, resourcesPath(PO_LINES))) {
+          logger.debug("The PO line after {} operation on sub-objects: {}", operation, PayloadLogger.payload(line));
         }
         future.complete(line.mapTo(CompositePoLine.class));
       })
@@ -281,8 +384,10 @@ public class HelperUtils {
     logger.info("Calling {} {}", operation, url);
 
     try {
-      httpClient.request(operation, (body != null ? body.toBuffer() : null), url, okapiHeaders)
-        .thenApply(response -> {
+      Buffer requestBody = body != null ? body.toBuffer() : null;
+      callDownstream(operation, url, requestBody, okapiHeaders, ctx, () -> httpClient
+        .request(operation, requestBody, url, okapiHeaders),
+        response -> {
           /*
            * In case there was failed attempt to delete order or particular PO line, the sub-objects might be already partially deleted.
            * This check allows user to retrieve order/line again and retry DELETE operation if required
@@ -299,8 +404,8 @@ public class HelperUtils {
         })
         .thenAccept(json -> {
           if (json != null) {
-            if (!json.isEmpty() && logger.isInfoEnabled()) {
-              logger.info("The {} {} operation completed with following response body: {}", operation, url, json.encodePrettily());
+            if (!json.isEmpty() && PayloadLogger.isEnabled(logger, url)) {
+              logger.debug("The {} {} operation completed with following response body: {}", operation, url, PayloadLogger.payload(json));
             }
             future.complete(json);
           } else {
@@ -726,6 +831,42 @@ public class HelperUtils {
     return StreamEx.of(values).joining(" or ", prefix, ")");
   }
 
+  /**
+   * Sends a request to another module. All the calls to other modules go through this method, so each of them is retried
+   * (GET and PUT only, see {@link RetryPolicy}), rejected while the {@link CircuitBreaker} of the endpoint is open and measured
+   * by {@link RequestMetrics}, in this order.
+   *
+   * @param method       HTTP method of the request
+   * @param endpoint     endpoint of the request
+   * @param requestBody  body of the request, {@code null} if there is none
+   * @param okapiHeaders the headers provided by okapi
+   * @param ctx          the context
+   * @param request      sends the request
+   * @param reader       verifies the response and extracts the result, throws {@link CompletionException} with
+   *                     {@link HttpException} if the response is not successful
+   * @return future with the result extracted from the response
+   */
+  public static <R, T> CompletableFuture<T> callDownstream(HttpMethod method, String endpoint, Buffer requestBody,
+      Map<String, String> okapiHeaders, Context ctx, Callable<CompletableFuture<R>> request, Function<R, T> reader) {
+    Supplier<CompletableFuture<T>> call = () -> CircuitBreaker.execute(endpoint,
+        () -> RequestMetrics.record(method, endpoint, requestBody, okapiHeaders, () -> {
+          try {
+            return request.call();
+          } catch (Exception e) {
+            CompletableFuture<R> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+          }
+        }, reader));
+    if (method == HttpMethod.GET) {
+      return RetryPolicy.get(ctx, endpoint, call);
+    }
+    if (method == HttpMethod.PUT) {
+      return RetryPolicy.put(ctx, endpoint, call);
+    }
+    return call.get();
+  }
+
   public static CompletableFuture<JsonObject> handleGetRequest(String endpoint, HttpClientInterface
     httpClient, Context ctx, Map<String, String> okapiHeaders,
                                        Logger logger) {
@@ -733,15 +874,15 @@ public class HelperUtils {
     try {
       logger.info("Calling GET {}", endpoint);
 
-      httpClient
-        .request(HttpMethod.GET, endpoint, okapiHeaders)
-        .thenApply(response -> {
-          logger.debug("Validating response for GET {}", endpoint);
-          return verifyAndExtractBody(response);
-        })
+      GetRequestCoalescer.execute(endpoint, okapiHeaders, ctx, () -> callDownstream(HttpMethod.GET, endpoint, null, okapiHeaders,
+          ctx, () -> httpClient.request(HttpMethod.GET, endpoint, okapiHeaders),
+          response -> {
+            logger.debug("Validating response for GET {}", endpoint);
+            return verifyAndExtractBody(response);
+          }))
         .thenAccept(body -> {
-          if (logger.isInfoEnabled()) {
-            logger.info("The response body for GET {}: {}", endpoint, nonNull(body) ? body.encodePrettily() : null);
+          if (PayloadLogger.isEnabled(logger, endpoint)) {
+            logger.debug("The response body for GET {}: {}", endpoint, PayloadLogger.payload(body));
           }
           future.complete(body);
         })
@@ -757,6 +898,83 @@ public class HelperUtils {
     return future;
   }
 
+  /**
+   * Retrieves an entry from another module and deserializes the response body directly into the given type without building
+   * intermediate {@link JsonObject}. Falls back to {@link #handleGetRequest(String, HttpClientInterface, Context, Map, Logger)}
+   * if the caller's context is not bound to Vert.x instance.
+   *
+   * @param endpoint endpoint
+   * @param type     class of the response entity
+   * @return future with the response entity
+   */
+  public static <T> CompletableFuture<T> handleGetRequest(String endpoint, Class<T> type, HttpClientInterface httpClient,
+      Context ctx, Map<String, String> okapiHeaders, Logger logger) {
+    if (ctx == null || ctx.owner() == null) {
+      return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger).thenApply(json -> json.mapTo(type));
+    }
+
+    CompletableFuture<T> future = new VertxCompletableFuture<>(ctx);
+    try {
+      logger.info("Calling GET {}", endpoint);
+
+      GetRequestCoalescer.executeRaw(endpoint, okapiHeaders, ctx, () -> callDownstream(HttpMethod.GET, endpoint, null,
+          okapiHeaders, ctx, () -> sendGetRequest(endpoint, ctx, okapiHeaders), Function.identity()))
+        .thenAccept(body -> {
+          if (logger.isDebugEnabled()) {
+            logger.debug("The response body for GET {} has {} bytes", endpoint, body.length());
+          }
+          future.complete(decodeBody(body, type));
+        })
+        .exceptionally(t -> {
+          logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, t, HttpMethod.GET, endpoint);
+          future.completeExceptionally(t);
+          return null;
+        });
+    } catch (Exception e) {
+      logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, e, HttpMethod.GET, endpoint);
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private static CompletableFuture<Buffer> sendGetRequest(String endpoint, Context ctx, Map<String, String> okapiHeaders) {
+    CompletableFuture<Buffer> future = new CompletableFuture<>();
+    String url = StringUtils.trimToEmpty(okapiHeaders.get(AbstractHelper.OKAPI_URL)) + endpoint;
+    HttpClientRequest request = HttpClientRegistry.getVertxHttpClient(ctx.owner()).requestAbs(HttpMethod.GET, url)
+      .setTimeout(HttpClientRegistry.REQUEST_TIMEOUT);
+    okapiHeaders.forEach((name, value) -> {
+      if (value != null && FORWARDED_HEADERS.contains(name)) {
+        request.putHeader(name, value);
+      }
+    });
+    request.putHeader(HttpHeaders.ACCEPT, APPLICATION_JSON + ", " + TEXT_PLAIN);
+    request.handler(response -> {
+      response.exceptionHandler(future::completeExceptionally);
+      response.bodyHandler(body -> {
+        if (Response.isSuccess(response.statusCode())) {
+          future.complete(body);
+        } else {
+          future.completeExceptionally(new HttpException(response.statusCode(), body.toString()));
+        }
+      });
+    });
+    request.exceptionHandler(future::completeExceptionally);
+    request.end();
+    return future;
+  }
+
+  private static <T> T decodeBody(Buffer body, Class<T> type) {
+    if (body.length() == 0) {
+      return null;
+    }
+    try {
+      // Streaming parse straight into the model class, the same mapper is used by JsonObject#mapTo
+      return DatabindCodec.mapper().readValue(body.getBytes(), type);
+    } catch (IOException e) {
+      throw new CompletionException(new HttpException(500, e.getMessage()));
+    }
+  }
+
   /**
    * A common method to update an entry in the storage
    *
@@ -767,19 +985,19 @@ public class HelperUtils {
                                                          Context ctx, Map<String, String> okapiHeaders, Logger logger) {
     CompletableFuture<Void> future = new VertxCompletableFuture<>(ctx);
     try {
-      if (logger.isDebugEnabled()) {
-        logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData.encodePrettily());
+      if (PayloadLogger.isEnabled(logger, endpoint)) {
+        logger.debug("Sending 'PUT {}' with body: {}", endpoint, PayloadLogger.payload(recordData));
       }
-      httpClient
-        .request(HttpMethod.PUT, recordData.toBuffer(), endpoint, okapiHeaders)
-        .thenApply(HelperUtils::verifyAndExtractBody)
+      Buffer requestBody = recordData.toBuffer();
+      callDownstream(HttpMethod.PUT, endpoint, requestBody, okapiHeaders, ctx,
+          () -> httpClient.request(HttpMethod.PUT, requestBody, endpoint, okapiHeaders), HelperUtils::verifyAndExtractBody)
         .thenAccept(response -> {
           logger.debug("'PUT {}' request successfully processed", endpoint);
           future.complete(null);
         })
         .exceptionally(e -> {
           future.completeExceptionally(e);
-          logger.error("'PUT {}' request failed. Request body: {}", e, endpoint, recordData.encodePrettily());
+          logger.error("'PUT {}' request failed. Request body: {}", e, endpoint, PayloadLogger.payload(recordData));
           return null;
         });
     } catch (Exception e) {
@@ -796,6 +1014,14 @@ public class HelperUtils {
     }
   }
 
+  /**
+   * Same as {@link #verifyResponse(Response)} for the requests whose response body is not used
+   */
+  public static Void verifyEmptyResponse(Response response) {
+    verifyResponse(response);
+    return null;
+  }
+
   /**
    * A common method to delete an entry in the storage
    * @param endpoint endpoint
@@ -807,8 +1033,8 @@ public class HelperUtils {
     logger.debug(CALLING_ENDPOINT_MSG, HttpMethod.DELETE, endpoint);
 
     try {
-      httpClient.request(HttpMethod.DELETE, endpoint, okapiHeaders)
-        .thenAccept(HelperUtils::verifyResponse)
+      callDownstream(HttpMethod.DELETE, endpoint, null, okapiHeaders, ctx, () -> httpClient
+        .request(HttpMethod.DELETE, endpoint, okapiHeaders), HelperUtils::verifyEmptyResponse)
         .thenApply(future::complete)
         .exceptionally(t -> {
           logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, t, HttpMethod.DELETE, endpoint);
@@ -835,8 +1061,8 @@ public class HelperUtils {
     logger.debug(CALLING_ENDPOINT_MSG, HttpMethod.POST, endpoint);
 
     try {
-      httpClient.request(HttpMethod.POST, endpoint, okapiHeaders)
-        .thenAccept(HelperUtils::verifyResponse)
+      callDownstream(HttpMethod.POST, endpoint, null, okapiHeaders, ctx, () -> httpClient
+        .request(HttpMethod.POST, endpoint, okapiHeaders), HelperUtils::verifyEmptyResponse)
         .thenApply(future::complete)
         .exceptionally(t -> {
           logger.error(EXCEPTION_CALLING_ENDPOINT_MSG, t, HttpMethod.POST, endpoint);
@@ -852,15 +1078,23 @@ public class HelperUtils {
   }
 
   /**
-   * Retrieve configuration for mod-orders from mod-configuration.
+   * Retrieve configuration for mod-orders from mod-configuration. The configuration is shared by all the requests of the tenant
+   * for a while, see {@link TenantConfigurationCache}.
    * @param okapiHeaders the headers provided by okapi
    * @param ctx the context
    * @param logger logger instance
    * @param lang
-   * @return CompletableFuture with JsonObject
+   * @return CompletableFuture with JsonObject, empty if the configuration cannot be retrieved
    */
   public static CompletableFuture<JsonObject> loadConfiguration(Map<String, String> okapiHeaders, Context ctx, Logger logger, String lang) {
+    CompletableFuture<JsonObject> future = new VertxCompletableFuture<>(ctx);
+    TenantConfigurationCache.get(okapiHeaders, ctx, () -> requestConfiguration(okapiHeaders, ctx, logger, lang))
+      .whenComplete((config, t) -> future.complete(t == null ? config : new JsonObject()));
+    return future;
+  }
 
+  private static CompletableFuture<JsonObject> requestConfiguration(Map<String, String> okapiHeaders, Context ctx, Logger logger,
+      String lang) {
     String okapiURL = StringUtils.trimToEmpty(okapiHeaders.get(OKAPI_URL));
     String tenant = okapiHeaders.get(OKAPI_HEADER_TENANT);
     String token = okapiHeaders.get(OKAPI_HEADER_TOKEN);
@@ -873,14 +1107,14 @@ public class HelperUtils {
       configurationsClient.getConfigurationsEntries(CONFIG_QUERY, 0, 100, null, lang, response -> response.bodyHandler(body -> {
         if (response.statusCode() != 200) {
           logger.error(String.format("Expected status code 200, got '%s' :%s", response.statusCode(), body.toString()));
-          future.complete(config);
+          future.completeExceptionally(new HttpException(response.statusCode(), body.toString()));
           return;
         }
 
         JsonObject entries = body.toJsonObject();
 
-        if (logger.isDebugEnabled()) {
-          logger.debug("The response from mod-configuration: {}", entries.encodePrettily());
+        if (PayloadLogger.isEnabled(logger, CONFIG_ENDPOINT)) {
+          logger.debug("The response from mod-configuration: {}", PayloadLogger.payload(entries));
         }
 
         entries.getJsonArray(CONFIGS)
@@ -892,7 +1126,7 @@ public class HelperUtils {
       }));
     } catch (Exception e) {
       logger.error("Error happened while getting configs", e);
-      future.complete(config);
+      future.completeExceptionally(e);
     }
     return future;
   }
@@ -0,0 +1,161 @@
+package org.folio.orders.utils;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.tools.client.HttpClientFactory;
+import org.folio.rest.tools.client.interfaces.HttpClientInterface;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Module-wide registry of keep-alive http clients. One client is shared by all helpers, DAOs and event handlers calling the
+ * same Okapi instance on behalf of the same tenant, so that connections are reused across API calls instead of being
+ * opened and closed for every request. Per-request headers (token, user id, request id) are still passed with each call.
+ */
+public final class HttpClientRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+  static final String POOLED_PROPERTY = "orders.http.pooled";
+  static final String KEEP_ALIVE_PROPERTY = "orders.http.keepAlive";
+  static final String CONNECT_TIMEOUT_PROPERTY = "orders.http.connectTimeoutMs";
+  static final String IDLE_TIMEOUT_PROPERTY = "orders.http.idleTimeoutMs";
+  static final String EVICT_AFTER_PROPERTY = "orders.http.evictAfterMinutes";
+  static final String MAX_POOL_SIZE_PROPERTY = "orders.http.maxPoolSize";
+  static final String PIPELINING_PROPERTY = "orders.http.pipelining";
+  static final String REQUEST_TIMEOUT_PROPERTY = "orders.http.requestTimeoutMs";
+
+  private static final String OKAPI_URL = "x-okapi-url";
+  private static final long RESPONSE_CACHE_TIMEOUT = 30;
+
+  private static final boolean POOLED = Boolean.parseBoolean(System.getProperty(POOLED_PROPERTY, "true"));
+  private static final boolean KEEP_ALIVE = Boolean.parseBoolean(System.getProperty(KEEP_ALIVE_PROPERTY, "true"));
+  private static final int CONNECT_TIMEOUT = Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, 2000);
+  private static final int IDLE_TIMEOUT = Integer.getInteger(IDLE_TIMEOUT_PROPERTY, 60000);
+  private static final long EVICT_AFTER = TimeUnit.MINUTES.toMillis(Long.getLong(EVICT_AFTER_PROPERTY, 30));
+  private static final int MAX_POOL_SIZE = Integer.getInteger(MAX_POOL_SIZE_PROPERTY, HttpClientOptions.DEFAULT_MAX_POOL_SIZE);
+  private static final boolean PIPELINING = Boolean.parseBoolean(System.getProperty(PIPELINING_PROPERTY, "false"));
+  // Same as the default request timeout of the RMB's HttpModuleClient2
+  static final long REQUEST_TIMEOUT = Long.getLong(REQUEST_TIMEOUT_PROPERTY, 5000);
+
+  private static final Map<String, SharedClient> clients = new ConcurrentHashMap<>();
+  // Every client created by the registry, including evicted ones still held by callers. These are closed on eviction only.
+  // The clients do not override equals and hashCode, so the set compares them by identity
+  private static final Set<HttpClientInterface> sharedClients = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  private static final Map<Vertx, HttpClient> vertxClients = new ConcurrentHashMap<>();
+
+  private HttpClientRegistry() {
+  }
+
+  /**
+   * Returns http client to call Okapi from {@code x-okapi-url} header on behalf of the tenant from {@code x-okapi-tenant} header.
+   * The client must be released with {@link #release(HttpClientInterface)} and not closed directly.
+   *
+   * @param okapiHeaders request headers
+   * @return shared keep-alive client or a new one if pooling is switched off
+   */
+  public static HttpClientInterface getHttpClient(Map<String, String> okapiHeaders) {
+    final String okapiURL = okapiHeaders.getOrDefault(OKAPI_URL, "");
+    final String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
+
+    if (!POOLED) {
+      return HttpClientFactory.getHttpClient(okapiURL, tenantId);
+    }
+
+    long now = System.currentTimeMillis();
+    // The usage time is updated atomically with the lookup, so the client cannot be evicted while it is being handed out
+    SharedClient sharedClient = clients.compute(okapiURL + "|" + tenantId, (key, existing) -> {
+      SharedClient result = existing != null ? existing : new SharedClient(createClient(okapiURL, tenantId));
+      result.lastUsed = now;
+      return result;
+    });
+    evictIdleClients(now);
+    return sharedClient.client;
+  }
+
+  /**
+   * Finishes usage of the client by the caller. Shared clients stay open to keep connections alive, any other client is closed.
+   *
+   * @param client http client to release
+   */
+  public static void release(HttpClientInterface client) {
+    if (client != null && !isShared(client)) {
+      client.closeClient();
+    }
+  }
+
+  /**
+   * Returns Vert.x http client which hands over not parsed response bodies. The client is shared by all requests executed by the
+   * Vert.x instance and is used with absolute URIs, so it is not bound to Okapi URL or tenant. It must not be closed by the caller.
+   * Requests sent with the client should time out after {@link #REQUEST_TIMEOUT} milliseconds.
+   *
+   * @param vertx Vert.x instance of the caller
+   * @return shared keep-alive Vert.x http client
+   */
+  public static HttpClient getVertxHttpClient(Vertx vertx) {
+    return vertxClients.computeIfAbsent(vertx, key -> {
+      logger.info("Creating shared Vert.x http client with max pool size {} and pipelining {}", MAX_POOL_SIZE, PIPELINING);
+      HttpClientOptions options = new HttpClientOptions()
+        .setKeepAlive(KEEP_ALIVE)
+        .setConnectTimeout(CONNECT_TIMEOUT)
+        .setIdleTimeout(IDLE_TIMEOUT)
+        .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+        .setMaxPoolSize(MAX_POOL_SIZE)
+        .setPipelining(PIPELINING);
+      return key.createHttpClient(options);
+    });
+  }
+
+  static boolean isShared(HttpClientInterface client) {
+    return sharedClients.contains(client);
+  }
+
+  private static HttpClientInterface createClient(String okapiURL, String tenantId) {
+    logger.info("Creating shared http client for tenant '{}' and Okapi URL '{}'", tenantId, okapiURL);
+    // Connections must not be closed after each response, otherwise the client is not different from a per-request one
+    HttpClientInterface client = HttpClientFactory.getHttpClient(okapiURL, tenantId, KEEP_ALIVE, CONNECT_TIMEOUT, IDLE_TIMEOUT,
+        false, RESPONSE_CACHE_TIMEOUT);
+    // The RMB's HttpModuleClient2.ACCEPT is in sentence case. Using the same format to avoid duplicates
+    client.setDefaultHeaders(Collections.singletonMap("Accept", APPLICATION_JSON + ", " + TEXT_PLAIN));
+    sharedClients.add(client);
+    return client;
+  }
+
+  private static void evictIdleClients(long now) {
+    List<SharedClient> evicted = new ArrayList<>();
+    // The check and the removal are atomic, a client handed out concurrently has its usage time updated and stays
+    clients.keySet().forEach(key -> clients.computeIfPresent(key, (k, sharedClient) -> {
+      if (now - sharedClient.lastUsed > EVICT_AFTER) {
+        evicted.add(sharedClient);
+        return null;
+      }
+      return sharedClient;
+    }));
+    evicted.forEach(sharedClient -> sharedClient.client.closeClient());
+  }
+
+  private static class SharedClient {
+    private final HttpClientInterface client;
+    private volatile long lastUsed;
+
+    SharedClient(HttpClientInterface client) {
+      this.client = client;
+    }
+  }
+}
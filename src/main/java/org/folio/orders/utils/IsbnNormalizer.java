@@ -0,0 +1,50 @@
+package org.folio.orders.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.folio.isbn.IsbnUtil;
+
+/**
+ * Validates ISBN-10 and ISBN-13 values and converts them to ISBN-13 in process. Already converted values are remembered, so
+ * the same ISBN repeated in many PO lines (e.g. orders imported from vendor files) is converted once.
+ */
+public final class IsbnNormalizer {
+
+  static final int MEMO_SIZE = Integer.getInteger("orders.isbn.memoSize", 10000);
+
+  private static final Map<String, String> isbn13Values = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+      return size() > MEMO_SIZE;
+    }
+  });
+
+  private IsbnNormalizer() {
+  }
+
+  /**
+   * Converts ISBN to ISBN-13.
+   *
+   * @param isbn ISBN-10 or ISBN-13 value
+   * @return ISBN-13 value or {@code null} if the value is not a valid ISBN
+   */
+  public static String convertTo13(String isbn) {
+    if (isbn == null) {
+      return null;
+    }
+    String isbn13 = isbn13Values.get(isbn);
+    if (isbn13 == null) {
+      if (IsbnUtil.isValid13DigitNumber(isbn)) {
+        isbn13 = isbn;
+      } else if (IsbnUtil.isValid10DigitNumber(isbn)) {
+        isbn13 = IsbnUtil.convertTo13DigitNumber(isbn);
+      } else {
+        return null;
+      }
+      isbn13Values.put(isbn, isbn13);
+    }
+    return isbn13;
+  }
+}
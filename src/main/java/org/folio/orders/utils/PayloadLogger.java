@@ -0,0 +1,118 @@
+package org.folio.orders.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.logging.Logger;
+
+/**
+ * Logging of request and response bodies exchanged with other modules. Bodies are logged at DEBUG level only, for the
+ * endpoints enabled by {@code orders.log.payloadEndpoints} (comma separated path prefixes, all endpoints by default) and
+ * for the share of calls defined by {@code orders.log.payloadSampleRate}. A body is serialized only when the log message is
+ * actually rendered and is truncated to {@code orders.log.payloadMaxLength} characters.
+ *
+ * <pre>
+ * if (PayloadLogger.isEnabled(logger, endpoint)) {
+ *   logger.debug("The response body for GET {}: {}", endpoint, PayloadLogger.payload(body));
+ * }
+ * </pre>
+ */
+public final class PayloadLogger {
+
+  static final String ENDPOINTS_PROPERTY = "orders.log.payloadEndpoints";
+  static final String MAX_LENGTH_PROPERTY = "orders.log.payloadMaxLength";
+  static final String SAMPLE_RATE_PROPERTY = "orders.log.payloadSampleRate";
+
+  static List<String> endpointPrefixes = parsePrefixes(System.getProperty(ENDPOINTS_PROPERTY));
+  static int maxLength = Integer.getInteger(MAX_LENGTH_PROPERTY, 2048);
+  static double sampleRate = Double.parseDouble(System.getProperty(SAMPLE_RATE_PROPERTY, "1.0"));
+
+  private PayloadLogger() {
+  }
+
+  /**
+   * Checks if the body of the call to the endpoint has to be logged.
+   *
+   * @param logger   logger of the caller
+   * @param endpoint endpoint of the call, {@code null} matches only if no endpoint filter is configured
+   * @return {@code true} if the body has to be logged at DEBUG level
+   */
+  public static boolean isEnabled(Logger logger, String endpoint) {
+    return logger.isDebugEnabled() && isEndpointEnabled(endpoint) && isSampled();
+  }
+
+  /**
+   * Wraps the body to be passed as a log message parameter. The body is serialized to compact JSON only if the message is
+   * rendered.
+   *
+   * @param body {@link io.vertx.core.json.JsonObject}, {@link io.vertx.core.json.JsonArray} or any model object
+   * @return log message parameter
+   */
+  public static Object payload(Object body) {
+    return new Payload(body);
+  }
+
+  /**
+   * Logs the body of a response of this module at DEBUG level. The body is logged only if no endpoint filter is configured.
+   *
+   * @param logger  logger of the caller
+   * @param message log message with one parameter for the body
+   * @param body    response body
+   */
+  public static void logBody(Logger logger, String message, Object body) {
+    if (isEnabled(logger, null)) {
+      logger.debug(message, payload(body));
+    }
+  }
+
+  static boolean isEndpointEnabled(String endpoint) {
+    if (endpointPrefixes.isEmpty()) {
+      return true;
+    }
+    return endpoint != null && endpointPrefixes.stream().anyMatch(endpoint::startsWith);
+  }
+
+  private static boolean isSampled() {
+    return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+
+  static List<String> parsePrefixes(String value) {
+    if (StringUtils.isBlank(value)) {
+      return Collections.emptyList();
+    }
+    return Arrays.stream(value.split(","))
+      .map(String::trim)
+      .filter(StringUtils::isNotEmpty)
+      .collect(Collectors.toList());
+  }
+
+  static String render(Object body) {
+    if (body == null) {
+      return "null";
+    }
+    String json = body instanceof CharSequence ? body.toString() : Json.encode(body);
+    if (json.length() <= maxLength) {
+      return json;
+    }
+    return json.substring(0, maxLength) + "... (truncated, " + json.length() + " characters in total)";
+  }
+
+  private static class Payload {
+    private final Object body;
+
+    Payload(Object body) {
+      this.body = body;
+    }
+
+    @Override
+    public String toString() {
+      return render(body);
+    }
+  }
+}
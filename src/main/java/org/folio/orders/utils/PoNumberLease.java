@@ -0,0 +1,198 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+
+/**
+ * Block of PO numbers leased from the storage sequence per tenant and user, so that creating an order does not wait for the
+ * sequence. {@code orders.poNumber.leaseSize} numbers are taken at once and handed out in ascending order; the next block is
+ * leased in the background once half of the block is used. {@code 0} (default) switches leasing off and every number is taken
+ * when needed. A block is always leased with the headers of a request of the user taking the numbers, so the token of one user
+ * is never used to take numbers for another one.
+ * <p>
+ * The sequence hands out one number per request, so leasing does not reduce the number of requests to the storage, it only
+ * takes them off the path of the order creation. Leased numbers are checked to be unused like any other number.
+ * <p>
+ * The numbers are kept in memory only: the ones not used before the module is stopped are lost and leave gaps in PO numbers.
+ * Each module instance leases its own block, so orders created at the same time through different instances do not get
+ * consecutive numbers.
+ */
+public final class PoNumberLease {
+
+  static final String LEASE_SIZE_PROPERTY = "orders.poNumber.leaseSize";
+
+  private static final Logger logger = LoggerFactory.getLogger(PoNumberLease.class);
+
+  /** Sequence numbers have no leading zeros, the shorter one is less */
+  public static final Comparator<String> SEQUENCE_ORDER = Comparator.comparingInt(String::length)
+    .thenComparing(Comparator.naturalOrder());
+
+  private static final int LEASE_SIZE = Integer.getInteger(LEASE_SIZE_PROPERTY, 0);
+
+  private static final PoNumberLease lease = new PoNumberLease(LEASE_SIZE);
+
+  private final int leaseSize;
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+  PoNumberLease(int leaseSize) {
+    this.leaseSize = leaseSize;
+  }
+
+  /**
+   * @return {@code true} if numbers are leased in blocks
+   */
+  public static boolean isEnabled() {
+    return lease.isLeasing();
+  }
+
+  /**
+   * Returns the next leased PO number of the tenant from {@code x-okapi-tenant} header.
+   *
+   * @param okapiHeaders request headers
+   * @param ctx          context the returned future is completed on
+   * @param loader       supplier taking one number from the storage sequence with the caller's headers, it may be called after
+   *                     the caller's request is completed
+   * @return future with the PO number
+   */
+  public static CompletableFuture<String> next(Map<String, String> okapiHeaders, Context ctx,
+      Supplier<CompletableFuture<String>> loader) {
+    return lease.take(okapiHeaders, ctx, loader);
+  }
+
+  boolean isLeasing() {
+    return leaseSize > 0;
+  }
+
+  CompletableFuture<String> take(Map<String, String> okapiHeaders, Context ctx, Supplier<CompletableFuture<String>> loader) {
+    if (!isLeasing()) {
+      return loader.get();
+    }
+
+    CompletableFuture<String> future = new VertxCompletableFuture<>(ctx);
+    String key = TenantTool.tenantId(okapiHeaders) + "|" + StringUtils.defaultString(okapiHeaders.get(OKAPI_USERID_HEADER));
+    blocks.computeIfAbsent(key, Block::new).next(future, loader);
+    return future;
+  }
+
+  private class Block {
+    private final String key;
+    private final Deque<String> numbers = new ArrayDeque<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private boolean leasing;
+
+    Block(String key) {
+      this.key = key;
+    }
+
+    void next(CompletableFuture<String> future, Supplier<CompletableFuture<String>> loader) {
+      String number;
+      synchronized (this) {
+        number = numbers.poll();
+        if (number == null) {
+          waiters.add(new Waiter(future, loader));
+        }
+      }
+      if (number != null) {
+        future.complete(number);
+      }
+      leaseIfRunningOut(loader);
+    }
+
+    private void leaseIfRunningOut(Supplier<CompletableFuture<String>> loader) {
+      synchronized (this) {
+        if (leasing || numbers.size() - waiters.size() >= (leaseSize + 1) / 2) {
+          return;
+        }
+        leasing = true;
+      }
+
+      logger.debug("Leasing {} PO numbers for {}", leaseSize, key);
+      List<CompletableFuture<String>> leased = new ArrayList<>(leaseSize);
+      for (int i = 0; i < leaseSize; i++) {
+        leased.add(load(loader));
+      }
+      CompletableFuture.allOf(leased.toArray(new CompletableFuture[0]))
+        .whenComplete((v, t) -> onLeased(leased, t));
+    }
+
+    private void onLeased(List<CompletableFuture<String>> leased, Throwable t) {
+      List<String> loaded = new ArrayList<>(leased.size());
+      leased.stream()
+        .filter(future -> !future.isCompletedExceptionally())
+        .map(CompletableFuture::join)
+        .sorted(SEQUENCE_ORDER)
+        .forEach(loaded::add);
+      if (t != null) {
+        logger.warn("Only {} of {} PO numbers are leased for {}: {}", loaded.size(), leaseSize, key, t.getMessage());
+      }
+
+      List<CompletableFuture<String>> served = new ArrayList<>();
+      List<String> servedNumbers = new ArrayList<>();
+      List<CompletableFuture<String>> failed = new ArrayList<>();
+      Supplier<CompletableFuture<String>> waitingLoader = null;
+      synchronized (this) {
+        numbers.addAll(loaded);
+        while (!waiters.isEmpty() && !numbers.isEmpty()) {
+          served.add(waiters.poll().future);
+          servedNumbers.add(numbers.poll());
+        }
+        if (loaded.isEmpty()) {
+          // Nothing could be leased, the waiters get the error instead of waiting for the next attempt
+          waiters.forEach(waiter -> failed.add(waiter.future));
+          waiters.clear();
+        } else if (!waiters.isEmpty()) {
+          // The next block is leased on behalf of a request still waiting for a number
+          waitingLoader = waiters.peek().loader;
+        }
+        leasing = false;
+      }
+
+      for (int i = 0; i < served.size(); i++) {
+        served.get(i).complete(servedNumbers.get(i));
+      }
+      Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+      failed.forEach(future -> future.completeExceptionally(cause));
+      if (waitingLoader != null) {
+        leaseIfRunningOut(waitingLoader);
+      }
+    }
+  }
+
+  private static CompletableFuture<String> load(Supplier<CompletableFuture<String>> loader) {
+    try {
+      return loader.get();
+    } catch (Exception e) {
+      CompletableFuture<String> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  private static class Waiter {
+    private final CompletableFuture<String> future;
+    private final Supplier<CompletableFuture<String>> loader;
+
+    Waiter(CompletableFuture<String> future, Supplier<CompletableFuture<String>> loader) {
+      this.future = future;
+      this.loader = loader;
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package org.folio.orders.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.orders.rest.exceptions.HttpException;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Collects latency histograms, status counts and payload sizes of the requests sent to other modules grouped by endpoint
+ * template (the path with ids replaced by {@code {id}} and without the query), and the same totals for the operations of
+ * this module's API. The metrics are rendered in Prometheus text format by {@link #render()}.
+ */
+public final class RequestMetrics {
+
+  static final String PREFIX = "mod_orders_";
+  static final String OTHER = "other";
+  static final int MAX_SERIES = Integer.getInteger("orders.metrics.maxSeries", 500);
+
+  /** Upper bounds of the histogram buckets in milliseconds */
+  static final long[] BUCKETS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+  private static final Pattern ID_SEGMENT = Pattern
+    .compile("/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+  private static final Map<String, Histogram> downstreamLatencies = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> downstreamStatuses = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> requestBytes = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> responseBytes = new ConcurrentHashMap<>();
+  private static final Map<String, Histogram> operationLatencies = new ConcurrentHashMap<>();
+  private static final Map<String, LongAdder> operationStatuses = new ConcurrentHashMap<>();
+
+  private RequestMetrics() {
+  }
+
+  /**
+   * Sends the request to other module recording its latency, status and payload sizes. The size of the response body is
+   * measured on the raw response before it is read.
+   *
+   * @param method       HTTP method
+   * @param endpoint     endpoint of the request
+   * @param requestBody  request body or {@code null}
+   * @param okapiHeaders headers the request is sent with, used to count the request in {@link CallBudget}
+   * @param request      supplier actually sending the request and returning the RMB {@link org.folio.rest.tools.client.Response}
+   *                     or the raw body {@link Buffer}
+   * @param reader       reads the result from the response, fails with {@link HttpException} if the status is not successful
+   * @return future with the result of the request
+   */
+  public static <R, T> CompletableFuture<T> record(HttpMethod method, String endpoint, Buffer requestBody,
+      Map<String, String> okapiHeaders, Supplier<CompletableFuture<R>> request, Function<R, T> reader) {
+    String key = method + " " + getTemplate(endpoint);
+    long requestSize = requestBody == null ? 0 : requestBody.length();
+    if (requestBody != null) {
+      counter(requestBytes, key).add(requestSize);
+    }
+
+    long start = System.nanoTime();
+    CompletableFuture<R> response;
+    try {
+      response = request.get();
+    } catch (Exception e) {
+      response = new CompletableFuture<>();
+      response.completeExceptionally(e);
+    }
+    AtomicLong responseSize = new AtomicLong();
+    return response
+      .thenApply(result -> {
+        responseSize.set(getResponseSize(result));
+        counter(responseBytes, key).add(responseSize.get());
+        return reader.apply(result);
+      })
+      .whenComplete((result, t) -> {
+        histogram(downstreamLatencies, key).record(System.nanoTime() - start);
+        counter(downstreamStatuses, key + "|" + getStatus(t)).increment();
+        CallBudget.record(okapiHeaders, endpoint, requestSize + responseSize.get());
+      });
+  }
+
+  static long getResponseSize(Object response) {
+    if (response instanceof Buffer) {
+      return ((Buffer) response).length();
+    }
+    if (response instanceof org.folio.rest.tools.client.Response) {
+      org.folio.rest.tools.client.Response rmbResponse = (org.folio.rest.tools.client.Response) response;
+      JsonObject body = rmbResponse.getBody() != null ? rmbResponse.getBody() : rmbResponse.getError();
+      return body == null ? 0 : body.toBuffer().length();
+    }
+    return 0;
+  }
+
+  /**
+   * Wraps the result handler of this module's API operation to record its latency, response status and the requests to other
+   * modules it made, see {@link CallBudget}.
+   *
+   * @param operation    name of the operation, e.g. {@code POST /orders/composite-orders}
+   * @param okapiHeaders headers passed by RMB to the API method
+   * @param handler      result handler passed by RMB
+   * @return handler recording the metrics and passing the result to the original one
+   */
+  public static Handler<AsyncResult<Response>> operation(String operation, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler) {
+    long start = System.nanoTime();
+    CallBudget budget = CallBudget.start(operation, okapiHeaders);
+    return result -> {
+      histogram(operationLatencies, operation).record(System.nanoTime() - start);
+      String status = result.succeeded() && result.result() != null ? String.valueOf(result.result().getStatus()) : "500";
+      counter(operationStatuses, operation + "|" + status).increment();
+      budget.finish(okapiHeaders);
+
+      if (CallBudget.isHeaderEnabled() && result.succeeded() && result.result() != null) {
+        handler.handle(Future.succeededFuture(Response.fromResponse(result.result())
+          .header(CallBudget.HEADER, budget.getTotal())
+          .build()));
+      } else {
+        handler.handle(result);
+      }
+    };
+  }
+
+  /**
+   * Replaces ids in the path with {@code {id}} and drops the query so the number of series stays bounded.
+   */
+  static String getTemplate(String endpoint) {
+    String path = StringUtils.substringBefore(StringUtils.defaultString(endpoint), "?");
+    return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+  }
+
+  static String getStatus(Throwable t) {
+    if (t == null) {
+      return "2xx";
+    }
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    return cause instanceof HttpException ? String.valueOf(((HttpException) cause).getCode()) : "error";
+  }
+
+  static void reset() {
+    downstreamLatencies.clear();
+    downstreamStatuses.clear();
+    requestBytes.clear();
+    responseBytes.clear();
+    operationLatencies.clear();
+    operationStatuses.clear();
+  }
+
+  private static Histogram histogram(Map<String, Histogram> histograms, String key) {
+    Histogram histogram = histograms.get(key);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(histograms.size() < MAX_SERIES ? key : OTHER, k -> new Histogram());
+    }
+    return histogram;
+  }
+
+  private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+    LongAdder counter = counters.get(key);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(counters.size() < MAX_SERIES ? key : OTHER, k -> new LongAdder());
+    }
+    return counter;
+  }
+
+  /**
+   * @return all the collected metrics, state of concurrency limiters, circuit breakers and caches in Prometheus text format
+   */
+  public static String render() {
+    StringBuilder out = new StringBuilder(4096);
+
+    header(out, "downstream_request_duration_seconds", "histogram", "Latency of requests to other modules");
+    new TreeMap<>(downstreamLatencies).forEach((key, histogram) -> histogram.render(out, "downstream_request_duration_seconds",
+        requestLabels(key)));
+    header(out, "downstream_requests_total", "counter", "Requests to other modules by response status");
+    new TreeMap<>(downstreamStatuses).forEach((key, counter) -> sample(out, "downstream_requests_total",
+        requestLabels(StringUtils.substringBeforeLast(key, "|")) + ",status=\"" + StringUtils.substringAfterLast(key, "|") + "\"",
+        counter.sum()));
+    header(out, "downstream_request_bytes_total", "counter", "Size of request bodies sent to other modules");
+    new TreeMap<>(requestBytes).forEach((key, counter) -> sample(out, "downstream_request_bytes_total", requestLabels(key),
+        counter.sum()));
+    header(out, "downstream_response_bytes_total", "counter", "Size of response bodies received from other modules");
+    new TreeMap<>(responseBytes).forEach((key, counter) -> sample(out, "downstream_response_bytes_total", requestLabels(key),
+        counter.sum()));
+
+    header(out, "api_request_duration_seconds", "histogram", "Latency of the module's API operations");
+    new TreeMap<>(operationLatencies).forEach((key, histogram) -> histogram.render(out, "api_request_duration_seconds",
+        label("operation", key)));
+    header(out, "api_requests_total", "counter", "The module's API operations by response status");
+    new TreeMap<>(operationStatuses).forEach((key, counter) -> sample(out, "api_requests_total",
+        label("operation", StringUtils.substringBeforeLast(key, "|")) + ",status=\"" + StringUtils.substringAfterLast(key, "|") + "\"",
+        counter.sum()));
+
+    header(out, "concurrency_active_requests", "gauge", "Requests in progress per tenant and downstream module");
+    new TreeMap<>(ConcurrencyLimiter.getLimiters()).forEach((name, limiter) -> sample(out, "concurrency_active_requests",
+        label("limiter", name), limiter.getActive()));
+    header(out, "concurrency_queued_requests", "gauge", "Requests waiting for a permit per tenant and downstream module");
+    new TreeMap<>(ConcurrencyLimiter.getLimiters()).forEach((name, limiter) -> sample(out, "concurrency_queued_requests",
+        label("limiter", name), limiter.getQueueDepth()));
+
+    header(out, "circuit_breaker_open", "gauge", "1 if the circuit breaker for the path prefix is open or half-open");
+    new TreeMap<>(CircuitBreaker.getBreakers()).forEach((prefix, breaker) -> sample(out, "circuit_breaker_open",
+        label("path", prefix), breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1));
+
+    header(out, "cache_requests_total", "counter", "Lookups in the caches of data loaded from other modules by result");
+    new TreeMap<>(ExpiringCache.getCaches()).forEach((name, cache) -> {
+      sample(out, "cache_requests_total", label("cache", name) + ",result=\"hit\"", cache.getHits());
+      sample(out, "cache_requests_total", label("cache", name) + ",result=\"miss\"", cache.getMisses());
+    });
+    header(out, "cache_evictions_total", "counter", "Entries evicted from the caches because of the size limit");
+    new TreeMap<>(ExpiringCache.getCaches()).forEach((name, cache) -> sample(out, "cache_evictions_total", label("cache", name),
+        cache.getEvictions()));
+    header(out, "cache_entries", "gauge", "Number of entries in the caches");
+    new TreeMap<>(ExpiringCache.getCaches()).forEach((name, cache) -> sample(out, "cache_entries", label("cache", name),
+        cache.size()));
+
+    return out.toString();
+  }
+
+  private static String requestLabels(String key) {
+    return label("method", StringUtils.substringBefore(key, " ")) + "," + label("endpoint", StringUtils.substringAfter(key, " "));
+  }
+
+  private static String label(String name, String value) {
+    return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+  }
+
+  private static void header(StringBuilder out, String name, String type, String help) {
+    out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder out, String name, String labels, Object value) {
+    out.append(PREFIX).append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  /**
+   * Latency histogram with fixed buckets, see {@link #BUCKETS}.
+   */
+  static class Histogram {
+    private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    void record(long nanos) {
+      long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      for (int i = 0; i < BUCKETS.length; i++) {
+        if (millis <= BUCKETS[i]) {
+          buckets[i].increment();
+          break;
+        }
+      }
+      count.increment();
+      sumNanos.add(nanos);
+    }
+
+    long getCount() {
+      return count.sum();
+    }
+
+    void render(StringBuilder out, String name, String labels) {
+      long cumulative = 0;
+      for (int i = 0; i < BUCKETS.length; i++) {
+        cumulative += buckets[i].sum();
+        sample(out, name + "_bucket", labels + ",le=\"" + BUCKETS[i] / 1000.0 + "\"", cumulative);
+      }
+      long total = count.sum();
+      sample(out, name + "_bucket", labels + ",le=\"+Inf\"", total);
+      sample(out, name + "_sum", labels, sumNanos.sum() / 1e9);
+      sample(out, name + "_count", labels, total);
+    }
+  }
+}
@@ -38,6 +38,7 @@ public class ResourcePathResolver {
   public static final String SUFFIXES = "configuration.suffixes";
   public static final String TRANSACTIONS_ENDPOINT = "finance.transactions";
   public static final String TRANSACTIONS_STORAGE_ENDPOINT = "finance-storage.transactions";
+  public static final String TRANSACTIONS_STORAGE_BATCH = "finance-storage.transactions-batch";
   public static final String FINANCE_RELEASE_ENCUMBRANCE = "finance.release-encumbrance";
   private static final Map<String, String> SUB_OBJECT_ITEM_APIS;
   private static final Map<String, String> SUB_OBJECT_COLLECTION_APIS;
@@ -67,6 +68,7 @@ public class ResourcePathResolver {
     apis.put(PREFIXES, "/orders-storage/configuration/prefixes");
     apis.put(SUFFIXES, "/orders-storage/configuration/suffixes");
     apis.put(TRANSACTIONS_STORAGE_ENDPOINT, "/finance-storage/transactions");
+    apis.put(TRANSACTIONS_STORAGE_BATCH, "/finance-storage/transactions/batch-all-or-nothing");
     apis.put(TRANSACTIONS_ENDPOINT, "/finance/transactions");
     apis.put(FINANCE_RELEASE_ENCUMBRANCE, "/finance/release-encumbrance");
 
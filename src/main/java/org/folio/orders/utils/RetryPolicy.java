@@ -0,0 +1,200 @@
+package org.folio.orders.utils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.folio.orders.rest.exceptions.HttpException;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Retry policy for idempotent requests to other modules (GET and PUT by id). A request failed with 5xx status or a connection
+ * problem is repeated up to {@code orders.retry.maxRetries} times with exponential backoff and jitter. GET requests may
+ * additionally be hedged: if there is no response after the 95th percentile of recent GET latencies, the same request is sent
+ * once more and the first successful response wins.
+ */
+public final class RetryPolicy {
+
+  static final String MAX_RETRIES_PROPERTY = "orders.retry.maxRetries";
+  static final String BACKOFF_PROPERTY = "orders.retry.backoffMs";
+  static final String MAX_BACKOFF_PROPERTY = "orders.retry.maxBackoffMs";
+  static final String HEDGING_PROPERTY = "orders.retry.hedging";
+  static final String HEDGE_MIN_DELAY_PROPERTY = "orders.retry.hedgeMinDelayMs";
+
+  private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+  static int maxRetries = Integer.getInteger(MAX_RETRIES_PROPERTY, 2);
+  static long backoff = Long.getLong(BACKOFF_PROPERTY, 100);
+  static long maxBackoff = Long.getLong(MAX_BACKOFF_PROPERTY, 2000);
+  static boolean hedging = Boolean.parseBoolean(System.getProperty(HEDGING_PROPERTY, "false"));
+  static long hedgeMinDelay = Long.getLong(HEDGE_MIN_DELAY_PROPERTY, 50);
+
+  static final LatencyTracker getLatencies = new LatencyTracker(512);
+
+  private RetryPolicy() {
+  }
+
+  /**
+   * Sends GET request applying retries and hedging.
+   *
+   * @param ctx      context of the caller, requests are not retried if it is not bound to Vert.x instance
+   * @param endpoint endpoint of the request
+   * @param request  supplier actually sending the request
+   * @return future with the result of the first successful attempt or the failure of the last one
+   */
+  public static <T> CompletableFuture<T> get(Context ctx, String endpoint, Supplier<CompletableFuture<T>> request) {
+    return execute(ctx, endpoint, request, hedging);
+  }
+
+  /**
+   * Sends PUT request applying retries. PUT by id replaces the whole record so it is safe to repeat it.
+   *
+   * @param ctx      context of the caller, requests are not retried if it is not bound to Vert.x instance
+   * @param endpoint endpoint of the request
+   * @param request  supplier actually sending the request
+   * @return future with the result of the first successful attempt or the failure of the last one
+   */
+  public static <T> CompletableFuture<T> put(Context ctx, String endpoint, Supplier<CompletableFuture<T>> request) {
+    return execute(ctx, endpoint, request, false);
+  }
+
+  private static <T> CompletableFuture<T> execute(Context ctx, String endpoint, Supplier<CompletableFuture<T>> request,
+      boolean hedge) {
+    Vertx vertx = ctx == null ? null : ctx.owner();
+    if (vertx == null || (maxRetries <= 0 && !hedge)) {
+      return send(request);
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    new Attempt<>(vertx, endpoint, request, hedge, result).start(0);
+    return result;
+  }
+
+  static boolean isRetryable(Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    if (cause instanceof HttpException) {
+      int code = ((HttpException) cause).getCode();
+      return code >= 500 && code != 501 && !CircuitBreaker.isFastFailure(cause);
+    }
+    return cause instanceof IOException || cause instanceof TimeoutException || cause instanceof VertxException;
+  }
+
+  static long calculateBackoff(int retry) {
+    long ceiling = Math.min(maxBackoff, backoff << Math.min(retry, 20));
+    // "Equal jitter": at least a half of the exponential delay, the rest is random
+    return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+  }
+
+  private static <T> CompletableFuture<T> send(Supplier<CompletableFuture<T>> request) {
+    try {
+      return request.get();
+    } catch (Exception e) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  private static class Attempt<T> {
+    private final Vertx vertx;
+    private final String endpoint;
+    private final Supplier<CompletableFuture<T>> request;
+    private final boolean hedge;
+    private final CompletableFuture<T> result;
+
+    Attempt(Vertx vertx, String endpoint, Supplier<CompletableFuture<T>> request, boolean hedge, CompletableFuture<T> result) {
+      this.vertx = vertx;
+      this.endpoint = endpoint;
+      this.request = request;
+      this.hedge = hedge;
+      this.result = result;
+    }
+
+    void start(int retry) {
+      long startTime = System.nanoTime();
+      AtomicBoolean settled = new AtomicBoolean();
+      AtomicInteger pending = new AtomicInteger(1);
+
+      BiConsumer<T, Throwable> onComplete = (body, t) -> {
+        if (t == null) {
+          if (settled.compareAndSet(false, true)) {
+            if (hedge) {
+              getLatencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+            result.complete(body);
+          }
+        } else if (pending.decrementAndGet() == 0 && settled.compareAndSet(false, true)) {
+          retryOrFail(retry, t);
+        }
+      };
+
+      send(request).whenComplete(onComplete);
+
+      long hedgeDelay = hedge ? getLatencies.getP95() : -1;
+      if (hedgeDelay >= 0) {
+        vertx.setTimer(Math.max(hedgeDelay, hedgeMinDelay), id -> {
+          if (!settled.get()) {
+            logger.debug("No response for {} after {} ms, sending hedged request", endpoint, hedgeDelay);
+            pending.incrementAndGet();
+            send(request).whenComplete(onComplete);
+          }
+        });
+      }
+    }
+
+    private void retryOrFail(int retry, Throwable t) {
+      if (retry < maxRetries && isRetryable(t)) {
+        long delay = calculateBackoff(retry);
+        logger.warn("Request to {} failed, retrying in {} ms (retry {} of {}): {}", endpoint, delay, retry + 1, maxRetries,
+            t.getMessage());
+        vertx.setTimer(Math.max(1, delay), id -> start(retry + 1));
+      } else {
+        result.completeExceptionally(t);
+      }
+    }
+  }
+
+  /**
+   * Keeps the latest latencies and their 95th percentile, which is recalculated after every 64 new samples.
+   */
+  static class LatencyTracker {
+    private static final int MIN_SAMPLES = 64;
+
+    private final long[] samples;
+    private long count;
+    private volatile long p95 = -1;
+
+    LatencyTracker(int size) {
+      samples = new long[size];
+    }
+
+    synchronized void record(long latency) {
+      samples[(int) (count % samples.length)] = latency;
+      count++;
+      if (count >= MIN_SAMPLES && count % MIN_SAMPLES == 0) {
+        long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        Arrays.sort(sorted);
+        p95 = sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+      }
+    }
+
+    /**
+     * @return 95th percentile of the latest latencies or -1 if there are not enough samples yet
+     */
+    long getP95() {
+      return p95;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package org.folio.orders.utils;
+
+import static org.folio.orders.utils.HelperUtils.OKAPI_URL;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+
+/**
+ * Keeps mod-orders configuration loaded from mod-configuration per tenant, so helpers created for one API call (and for the
+ * following calls) do not load it again and again. An entry is fresh for {@code orders.cache.configuration.ttlMs}. After that
+ * it is still returned for {@code orders.cache.configuration.staleMs} while it is being reloaded in the background. Failed
+ * loads are not cached.
+ */
+public final class TenantConfigurationCache {
+
+  static final String TTL_PROPERTY = "orders.cache.configuration.ttlMs";
+  static final String STALE_PROPERTY = "orders.cache.configuration.staleMs";
+
+  private static final Logger logger = LoggerFactory.getLogger(TenantConfigurationCache.class);
+
+  static long ttl = Long.getLong(TTL_PROPERTY, 60000);
+  static long staleTtl = Long.getLong(STALE_PROPERTY, 300000);
+
+  private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private TenantConfigurationCache() {
+  }
+
+  /**
+   * Returns configuration of the tenant from {@code x-okapi-tenant} header from the cache or loads it.
+   *
+   * @param okapiHeaders request headers
+   * @param ctx          context the returned future is completed on
+   * @param loader       supplier actually loading the configuration, the future should fail if it cannot be loaded
+   * @return future with a copy of the configuration
+   */
+  public static CompletableFuture<JsonObject> get(Map<String, String> okapiHeaders, Context ctx,
+      Supplier<CompletableFuture<JsonObject>> loader) {
+    if (ttl <= 0) {
+      return loader.get();
+    }
+
+    String key = getKey(okapiHeaders);
+    CompletableFuture<JsonObject> future = new VertxCompletableFuture<>(ctx);
+    entries.computeIfAbsent(key, Entry::new)
+      .get(loader, System.currentTimeMillis())
+      .whenComplete((config, t) -> {
+        if (t != null) {
+          future.completeExceptionally(t);
+        } else {
+          future.complete(config.copy());
+        }
+      });
+    return future;
+  }
+
+  /**
+   * Drops cached configuration of the tenant, so it is loaded again on the next request.
+   *
+   * @param tenantId tenant id
+   */
+  public static void invalidate(String tenantId) {
+    entries.keySet().removeIf(key -> key.startsWith(tenantId + "|"));
+  }
+
+  public static void invalidateAll() {
+    entries.clear();
+  }
+
+  private static String getKey(Map<String, String> okapiHeaders) {
+    return TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT)) + "|"
+        + StringUtils.trimToEmpty(okapiHeaders.get(OKAPI_URL));
+  }
+
+  /**
+   * Cached configuration of one tenant. Only one load runs at a time: the caller winning the compare-and-set of the pending
+   * future calls the loader, outside of any lock, and the others wait for the same future.
+   */
+  static class Entry {
+    private final String key;
+    private volatile Loaded loaded;
+    private final AtomicReference<CompletableFuture<JsonObject>> loading = new AtomicReference<>();
+
+    Entry(String key) {
+      this.key = key;
+    }
+
+    CompletableFuture<JsonObject> get(Supplier<CompletableFuture<JsonObject>> loader, long now) {
+      Loaded current = loaded;
+      long age = current == null ? 0 : now - current.loadedAt;
+      if (current != null && age < ttl) {
+        return CompletableFuture.completedFuture(current.value);
+      }
+      if (current != null && age < ttl + staleTtl) {
+        logger.debug("Configuration for {} is stale, reloading it in the background", key);
+        load(loader);
+        return CompletableFuture.completedFuture(current.value);
+      }
+      return load(loader);
+    }
+
+    private CompletableFuture<JsonObject> load(Supplier<CompletableFuture<JsonObject>> loader) {
+      CompletableFuture<JsonObject> pending = new CompletableFuture<>();
+      while (!loading.compareAndSet(null, pending)) {
+        CompletableFuture<JsonObject> inFlight = loading.get();
+        if (inFlight != null) {
+          return inFlight;
+        }
+      }
+
+      CompletableFuture<JsonObject> result;
+      try {
+        result = loader.get();
+      } catch (Exception e) {
+        result = new CompletableFuture<>();
+        result.completeExceptionally(e);
+      }
+      result.whenComplete((config, t) -> {
+        if (t == null) {
+          loaded = new Loaded(config, System.currentTimeMillis());
+          loading.set(null);
+          pending.complete(config);
+        } else {
+          logger.warn("Configuration for {} could not be loaded: {}", key, t.getMessage());
+          loading.set(null);
+          pending.completeExceptionally(t);
+        }
+      });
+      return pending;
+    }
+  }
+
+  private static class Loaded {
+    private final JsonObject value;
+    private final long loadedAt;
+
+    Loaded(JsonObject value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
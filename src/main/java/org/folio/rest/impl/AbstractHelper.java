@@ -13,10 +13,10 @@ import static org.folio.orders.utils.ErrorCodes.FUND_CANNOT_BE_PAID;
 import static org.folio.orders.utils.ErrorCodes.GENERIC_ERROR_CODE;
 import static org.folio.orders.utils.ErrorCodes.LEDGER_NOT_FOUND_FOR_TRANSACTION;
 import static org.folio.orders.utils.HelperUtils.LANG;
+import static org.folio.orders.utils.HelperUtils.callDownstream;
 import static org.folio.orders.utils.HelperUtils.convertToJson;
 import static org.folio.orders.utils.HelperUtils.loadConfiguration;
 import static org.folio.orders.utils.HelperUtils.verifyAndExtractBody;
-import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
 
 import java.net.URI;
@@ -34,13 +34,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.HttpClientRegistry;
+import org.folio.orders.utils.PayloadLogger;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
-import org.folio.rest.tools.client.HttpClientFactory;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
-import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.http.HttpMethod;
@@ -96,10 +97,7 @@ public abstract class AbstractHelper {
   }
 
   public static HttpClientInterface getHttpClient(Map<String, String> okapiHeaders, boolean setDefaultHeaders) {
-    final String okapiURL = okapiHeaders.getOrDefault(OKAPI_URL, "");
-    final String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
-
-    HttpClientInterface httpClient = HttpClientFactory.getHttpClient(okapiURL, tenantId);
+    HttpClientInterface httpClient = HttpClientRegistry.getHttpClient(okapiHeaders);
 
     // Some requests do not have body and in happy flow do not produce response body. The Accept header is required for calls to storage
     if (setDefaultHeaders) {
@@ -113,7 +111,7 @@ public abstract class AbstractHelper {
   }
 
   public void closeHttpClient() {
-    httpClient.closeClient();
+    HttpClientRegistry.release(httpClient);
   }
 
   public List<Error> getErrors() {
@@ -125,12 +123,12 @@ public abstract class AbstractHelper {
     allOf(ctx, futures.toArray(new CompletableFuture[0])).thenAccept(v -> {
       // Sending reply message just in case some logic requires it
       message.reply(Response.Status.OK.getReasonPhrase());
-      httpClient.closeClient();
+      HttpClientRegistry.release(httpClient);
     })
       .exceptionally(e -> {
         message.fail(handleProcessingError(e), getErrors().get(0)
           .getMessage());
-        httpClient.closeClient();
+        HttpClientRegistry.release(httpClient);
         return null;
       });
   }
@@ -165,19 +163,19 @@ public abstract class AbstractHelper {
   protected CompletableFuture<String> createRecordInStorage(JsonObject recordData, String endpoint) {
     CompletableFuture<String> future = new VertxCompletableFuture<>(ctx);
     try {
-      if (logger.isDebugEnabled()) {
-        logger.debug("Sending 'POST {}' with body: {}", endpoint, recordData.encodePrettily());
+      if (PayloadLogger.isEnabled(logger, endpoint)) {
+        logger.debug("Sending 'POST {}' with body: {}", endpoint, PayloadLogger.payload(recordData));
       }
-      httpClient
-        .request(HttpMethod.POST, recordData.toBuffer(), endpoint, okapiHeaders)
-        .thenApply(this::verifyAndExtractRecordId)
+      Buffer requestBody = recordData.toBuffer();
+      callDownstream(HttpMethod.POST, endpoint, requestBody, okapiHeaders, ctx, () -> httpClient
+        .request(HttpMethod.POST, requestBody, endpoint, okapiHeaders), this::verifyAndExtractRecordId)
         .thenAccept(id -> {
           future.complete(id);
           logger.debug("'POST {}' request successfully processed. Record with '{}' id has been created", endpoint, id);
         })
         .exceptionally(throwable -> {
           future.completeExceptionally(throwable);
-          logger.error("'POST {}' request failed. Request body: {}", throwable, endpoint, recordData.encodePrettily());
+          logger.error("'POST {}' request failed. Request body: {}", throwable, endpoint, PayloadLogger.payload(recordData));
           return null;
         });
     } catch (Exception e) {
@@ -198,23 +196,24 @@ public abstract class AbstractHelper {
     try {
       JsonObject json = convertToJson(recordData);
 
-      if (logger.isDebugEnabled()) {
-        logger.debug(CALLING_ENDPOINT_WITH_BODY_MSG, HttpMethod.PUT, endpoint, json.encodePrettily());
+      if (PayloadLogger.isEnabled(logger, endpoint)) {
+        logger.debug(CALLING_ENDPOINT_WITH_BODY_MSG, HttpMethod.PUT, endpoint, PayloadLogger.payload(json));
       }
 
-      httpClient.request(HttpMethod.PUT, json.toBuffer(), endpoint, okapiHeaders)
-        .thenApply(HelperUtils::verifyAndExtractBody)
+      Buffer requestBody = json.toBuffer();
+      callDownstream(HttpMethod.PUT, endpoint, requestBody, okapiHeaders, ctx,
+          () -> httpClient.request(HttpMethod.PUT, requestBody, endpoint, okapiHeaders), HelperUtils::verifyAndExtractBody)
         .thenAccept(response -> {
           logger.debug("'PUT {}' request successfully processed", endpoint);
           future.complete(null);
         })
         .exceptionally(e -> {
           future.completeExceptionally(e);
-          logger.error(EXCEPTION_CALLING_ENDPOINT_WITH_BODY_MSG, e, HttpMethod.PUT, endpoint, json.encodePrettily());
+          logger.error(EXCEPTION_CALLING_ENDPOINT_WITH_BODY_MSG, e, HttpMethod.PUT, endpoint, PayloadLogger.payload(json));
           return null;
         });
     } catch (Exception e) {
-      logger.error(EXCEPTION_CALLING_ENDPOINT_WITH_BODY_MSG, e, HttpMethod.PUT, endpoint, recordData);
+      logger.error(EXCEPTION_CALLING_ENDPOINT_WITH_BODY_MSG, e, HttpMethod.PUT, endpoint, PayloadLogger.payload(recordData));
       future.completeExceptionally(e);
     }
 
@@ -7,6 +7,8 @@ import java.util.Map;
 
 import javax.ws.rs.core.Response;
 
+import org.folio.orders.utils.PayloadLogger;
+import org.folio.orders.utils.RequestMetrics;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.AcquisitionsUnit;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitMembership;
@@ -15,7 +17,6 @@ import org.folio.rest.jaxrs.resource.AcquisitionsUnits;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -29,14 +30,13 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
   @Override
   @Validate
   public void postAcquisitionsUnitsUnits(String lang, AcquisitionsUnit entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /acquisitions-units/units", okapiHeaders, resultHandler);
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.createAcquisitionsUnit(entity)
       .thenAccept(unit -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created new acquisitions unit: " + JsonObject.mapFrom(unit).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created new acquisitions unit: {}", unit);
 
         asyncResultHandler.handle(succeededFuture(helper
           .buildResponseWithLocation(String.format(ACQUISITIONS_UNITS_LOCATION_PREFIX, unit.getId()), unit)));
@@ -47,15 +47,14 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
   @Override
   @Validate
   public void getAcquisitionsUnitsUnits(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /acquisitions-units/units", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.getAcquisitionsUnits(query, offset, limit)
       .thenAccept(units -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created new acquisitions units: " + JsonObject.mapFrom(units).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created new acquisitions units: {}", units);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(units)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -64,7 +63,8 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
   @Override
   @Validate
   public void putAcquisitionsUnitsUnitsById(String id, String lang, AcquisitionsUnit entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /acquisitions-units/units/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
@@ -84,15 +84,14 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
   @Override
   @Validate
   public void getAcquisitionsUnitsUnitsById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /acquisitions-units/units/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.getAcquisitionsUnit(id)
       .thenAccept(unit -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved acquisitions unit: " + JsonObject.mapFrom(unit).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved acquisitions unit: {}", unit);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(unit)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -101,7 +100,8 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
   @Override
   @Validate
   public void deleteAcquisitionsUnitsUnitsById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /acquisitions-units/units/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
@@ -117,15 +117,14 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
 
   @Override
   @Validate
-  public void postAcquisitionsUnitsMemberships(String lang, AcquisitionsUnitMembership entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postAcquisitionsUnitsMemberships(String lang, AcquisitionsUnitMembership entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /acquisitions-units/memberships", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.createAcquisitionsUnitsMembership(entity)
       .thenAccept(membership -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created new acquisitions units membership: " + JsonObject.mapFrom(membership).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created new acquisitions units membership: {}", membership);
         asyncResultHandler.handle(succeededFuture(helper
           .buildResponseWithLocation(String.format(ACQUISITIONS_MEMBERSHIPS_LOCATION_PREFIX, membership.getId()), membership)));
 
@@ -135,15 +134,14 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
 
   @Override
   @Validate
-  public void getAcquisitionsUnitsMemberships(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getAcquisitionsUnitsMemberships(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /acquisitions-units/memberships", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.getAcquisitionsUnitsMemberships(query, offset, limit)
       .thenAccept(memberships -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created new acquisitions units memberships: " + JsonObject.mapFrom(memberships).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created new acquisitions units memberships: {}", memberships);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(memberships)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -151,7 +149,8 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
 
   @Override
   @Validate
-  public void putAcquisitionsUnitsMembershipsById(String id, String lang, AcquisitionsUnitMembership entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void putAcquisitionsUnitsMembershipsById(String id, String lang, AcquisitionsUnitMembership entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /acquisitions-units/memberships/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
@@ -170,15 +169,14 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
 
   @Override
   @Validate
-  public void getAcquisitionsUnitsMembershipsById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getAcquisitionsUnitsMembershipsById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /acquisitions-units/memberships/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
     helper.getAcquisitionsUnitsMembership(id)
       .thenAccept(membership -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved acquisitions units membership: " + JsonObject.mapFrom(membership).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved acquisitions units membership: {}", membership);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(membership)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -186,7 +184,8 @@ public class AcquisitionsUnitsApi implements AcquisitionsUnits {
 
   @Override
   @Validate
-  public void deleteAcquisitionsUnitsMembershipsById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void deleteAcquisitionsUnitsMembershipsById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /acquisitions-units/memberships/{id}", okapiHeaders, resultHandler);
 
     AcquisitionsUnitsHelper helper = new AcquisitionsUnitsHelper(okapiHeaders, vertxContext, lang);
 
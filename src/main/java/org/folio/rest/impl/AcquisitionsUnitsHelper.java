@@ -10,18 +10,22 @@ import static org.folio.orders.utils.ResourcePathResolver.ACQUISITIONS_MEMBERSHI
 import static org.folio.orders.utils.ResourcePathResolver.ACQUISITIONS_UNITS;
 import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.impl.ProtectionHelper.ACQUISITIONS_UNIT_ID;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.folio.orders.utils.ExpiringCache;
 import org.folio.rest.jaxrs.model.AcquisitionsUnit;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitCollection;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitMembership;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitMembershipCollection;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
+import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.Context;
 import io.vertx.core.json.JsonObject;
@@ -36,6 +40,17 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
   static final String NO_ACQ_UNIT_ASSIGNED_CQL = "cql.allRecords=1 not " + ACQUISITIONS_UNIT_IDS + " <> []";
   private static final String GET_UNITS_BY_QUERY = resourcesPath(ACQUISITIONS_UNITS) + SEARCH_PARAMS;
   private static final String GET_UNITS_MEMBERSHIPS_BY_QUERY = resourcesPath(ACQUISITIONS_MEMBERSHIPS) + SEARCH_PARAMS;
+  static final String CACHE_TTL_PROPERTY = "orders.cache.acqUnits.ttlMs";
+  static final String CACHE_SIZE_PROPERTY = "orders.cache.acqUnits.maxSize";
+
+  /**
+   * All the units of the tenant (including "soft deleted" ones), unit ids of the users and search filters built of them. The
+   * units are checked by almost every orders and lines API call, so they are kept for a short time only and dropped on any unit
+   * or membership change made through this module instance.
+   */
+  private static final ExpiringCache<List<AcquisitionsUnit>> unitsCache = createCache("acquisitions-units");
+  private static final ExpiringCache<List<String>> membershipsCache = createCache("acquisitions-unit-memberships");
+  private static final ExpiringCache<String> filtersCache = createCache("acquisitions-unit-filters");
 
   public AcquisitionsUnitsHelper(HttpClientInterface httpClient, Map<String, String> okapiHeaders, Context ctx, String lang) {
     super(httpClient, okapiHeaders, ctx, lang);
@@ -71,13 +86,36 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
     return future;
   }
 
+  /**
+   * Returns units (including "soft deleted" ones) by ids. The units missing in the cache, e.g. created through another module
+   * instance, are searched in the storage.
+   *
+   * @param unitIds list of unit ids
+   * @return future with the found units
+   */
+  CompletableFuture<List<AcquisitionsUnit>> getAcquisitionsUnitsByIds(List<String> unitIds) {
+    if (unitsCache.isEnabled()) {
+      return getAllAcquisitionsUnits().thenCompose(units -> {
+        List<AcquisitionsUnit> found = units.stream()
+          .filter(unit -> unitIds.contains(unit.getId()))
+          .collect(Collectors.toList());
+        if (found.size() == StreamEx.of(unitIds).distinct().count()) {
+          return CompletableFuture.completedFuture(found);
+        }
+        return searchAcquisitionsUnitsByIds(unitIds);
+      });
+    }
+    return searchAcquisitionsUnitsByIds(unitIds);
+  }
+
   CompletableFuture<AcquisitionsUnit> createAcquisitionsUnit(AcquisitionsUnit unit) {
-    return createRecordInStorage(JsonObject.mapFrom(unit), resourcesPath(ACQUISITIONS_UNITS)).thenApply(unit::withId);
+    return invalidateCachesOnCompletion(createRecordInStorage(JsonObject.mapFrom(unit), resourcesPath(ACQUISITIONS_UNITS))
+      .thenApply(unit::withId));
   }
 
   CompletableFuture<Void> updateAcquisitionsUnit(AcquisitionsUnit unit) {
     String endpoint = resourceByIdPath(ACQUISITIONS_UNITS, unit.getId());
-    return handlePutRequest(endpoint, JsonObject.mapFrom(unit), httpClient, ctx, okapiHeaders, logger);
+    return invalidateCachesOnCompletion(handlePutRequest(endpoint, JsonObject.mapFrom(unit), httpClient, ctx, okapiHeaders, logger));
   }
 
   CompletableFuture<AcquisitionsUnit> getAcquisitionsUnit(String id) {
@@ -90,14 +128,21 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
       .thenCompose(this::updateAcquisitionsUnit);
   }
 
+  /**
+   * Returns CQL expression limiting the records to the ones the current user can read. The expression is built once per user
+   * and rebuilt after unit or membership changes, or when {@code orders.cache.acqUnits.ttlMs} elapses.
+   */
   CompletableFuture<String> buildAcqUnitsCqlExprToSearchRecords() {
-    return getAcqUnitIdsForSearch().thenApply(ids -> {
-      if (ids.isEmpty()) {
-        return NO_ACQ_UNIT_ASSIGNED_CQL;
-      }
+    return filtersCache.get(ExpiringCache.key(okapiHeaders, "filter", getCurrentUserId()), ctx,
+        () -> getAcqUnitIdsForSearch().thenApply(ids -> {
+          if (ids.isEmpty()) {
+            return NO_ACQ_UNIT_ASSIGNED_CQL;
+          }
 
-      return String.format("%s or (%s)", convertIdsToCqlQuery(ids, ACQUISITIONS_UNIT_IDS, false), NO_ACQ_UNIT_ASSIGNED_CQL);
-    });
+          // Sorted so the same units always give the same query
+          List<String> sortedIds = StreamEx.of(ids).sorted().toList();
+          return String.format("%s or (%s)", convertIdsToCqlQuery(sortedIds, ACQUISITIONS_UNIT_IDS, false), NO_ACQ_UNIT_ASSIGNED_CQL);
+        }));
   }
 
   CompletableFuture<List<String>> getAcqUnitIdsForSearch() {
@@ -126,28 +171,45 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
   }
 
   CompletableFuture<List<String>> getAcqUnitIdsForUser(String userId) {
-    return getAcquisitionsUnitsMemberships("userId==" + userId, 0, Integer.MAX_VALUE)
-      .thenApply(memberships -> {
-        List<String> ids = memberships.getAcquisitionsUnitMemberships()
-          .stream()
-          .map(AcquisitionsUnitMembership::getAcquisitionsUnitId)
-          .collect(Collectors.toList());
+    return membershipsCache.get(ExpiringCache.key(okapiHeaders, "memberships", userId), ctx,
+        () -> getAcquisitionsUnitsMemberships("userId==" + userId, 0, Integer.MAX_VALUE).thenApply(memberships -> {
+          List<String> ids = memberships.getAcquisitionsUnitMemberships()
+            .stream()
+            .map(AcquisitionsUnitMembership::getAcquisitionsUnitId)
+            .collect(Collectors.toList());
 
-        if (logger.isDebugEnabled()) {
-          logger.debug("User belongs to {} acq units: {}", ids.size(), StreamEx.of(ids).joining(", "));
-        }
+          if (logger.isDebugEnabled()) {
+            logger.debug("User belongs to {} acq units: {}", ids.size(), StreamEx.of(ids).joining(", "));
+          }
 
-        return ids;
-      });
+          return Collections.unmodifiableList(ids);
+        }));
+  }
+
+  /**
+   * Checks whether the user is a member of at least one of the units.
+   *
+   * @param userId  id of the user
+   * @param unitIds list of unit ids
+   * @return future with {@code true} if the user is a member of any unit
+   */
+  CompletableFuture<Boolean> isUserMemberOfAnyUnit(String userId, List<String> unitIds) {
+    if (membershipsCache.isEnabled()) {
+      return getAcqUnitIdsForUser(userId).thenApply(ids -> ids.stream().anyMatch(unitIds::contains));
+    }
+
+    String query = String.format("userId==%s AND %s", userId, convertIdsToCqlQuery(unitIds, ACQUISITIONS_UNIT_ID, true));
+    return getAcquisitionsUnitsMemberships(query, 0, 0).thenApply(memberships -> memberships.getTotalRecords() > 0);
   }
 
   CompletableFuture<AcquisitionsUnitMembership> createAcquisitionsUnitsMembership(AcquisitionsUnitMembership membership) {
-    return createRecordInStorage(JsonObject.mapFrom(membership), resourcesPath(ACQUISITIONS_MEMBERSHIPS)).thenApply(membership::withId);
+    return invalidateCachesOnCompletion(createRecordInStorage(JsonObject.mapFrom(membership), resourcesPath(ACQUISITIONS_MEMBERSHIPS))
+      .thenApply(membership::withId));
   }
 
   CompletableFuture<Void> updateAcquisitionsUnitsMembership(AcquisitionsUnitMembership membership) {
     String endpoint = resourceByIdPath(ACQUISITIONS_MEMBERSHIPS, membership.getId());
-    return handlePutRequest(endpoint, JsonObject.mapFrom(membership), httpClient, ctx, okapiHeaders, logger);
+    return invalidateCachesOnCompletion(handlePutRequest(endpoint, JsonObject.mapFrom(membership), httpClient, ctx, okapiHeaders, logger));
   }
 
   CompletableFuture<AcquisitionsUnitMembership> getAcquisitionsUnitsMembership(String id) {
@@ -156,13 +218,34 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
   }
 
   CompletableFuture<Void> deleteAcquisitionsUnitsMembership(String id) {
-    return handleDeleteRequest(resourceByIdPath(ACQUISITIONS_MEMBERSHIPS, id), httpClient, ctx, okapiHeaders, logger);
+    return invalidateCachesOnCompletion(handleDeleteRequest(resourceByIdPath(ACQUISITIONS_MEMBERSHIPS, id), httpClient, ctx,
+        okapiHeaders, logger));
+  }
+
+  private CompletableFuture<List<AcquisitionsUnit>> getAllAcquisitionsUnits() {
+    return unitsCache.get(ExpiringCache.key(okapiHeaders, "units"), ctx,
+        () -> getAcquisitionsUnits(ALL_UNITS_CQL, 0, Integer.MAX_VALUE)
+          .thenApply(units -> Collections.unmodifiableList(units.getAcquisitionsUnits())));
+  }
+
+  private CompletableFuture<List<AcquisitionsUnit>> searchAcquisitionsUnitsByIds(List<String> unitIds) {
+    String query = combineCqlExpressions("and", ALL_UNITS_CQL, convertIdsToCqlQuery(unitIds));
+    return getAcquisitionsUnits(query, 0, Integer.MAX_VALUE).thenApply(AcquisitionsUnitCollection::getAcquisitionsUnits);
   }
 
   private CompletableFuture<List<String>> getOpenForReadAcqUnitIds() {
-    return getAcquisitionsUnits("protectRead==false", 0, Integer.MAX_VALUE).thenApply(units -> {
-      List<String> ids = units.getAcquisitionsUnits()
-        .stream()
+    CompletableFuture<List<AcquisitionsUnit>> openForRead;
+    if (unitsCache.isEnabled()) {
+      openForRead = getAllAcquisitionsUnits().thenApply(units -> units.stream()
+        .filter(unit -> !Boolean.TRUE.equals(unit.getIsDeleted()) && Boolean.FALSE.equals(unit.getProtectRead()))
+        .collect(Collectors.toList()));
+    } else {
+      openForRead = getAcquisitionsUnits("protectRead==false", 0, Integer.MAX_VALUE)
+        .thenApply(AcquisitionsUnitCollection::getAcquisitionsUnits);
+    }
+
+    return openForRead.thenApply(units -> {
+      List<String> ids = units.stream()
         .map(AcquisitionsUnit::getId)
         .collect(Collectors.toList());
 
@@ -173,4 +256,42 @@ public class AcquisitionsUnitsHelper extends AbstractHelper {
       return ids;
     });
   }
+
+  /**
+   * Drops the cached units and memberships of the tenant once the change is done, whatever the result is.
+   */
+  private <T> CompletableFuture<T> invalidateCachesOnCompletion(CompletableFuture<T> change) {
+    return change.whenComplete((result, t) -> {
+      String tenantId = TenantTool.tenantId(okapiHeaders);
+      unitsCache.invalidate(tenantId);
+      membershipsCache.invalidate(tenantId);
+      filtersCache.invalidate(tenantId);
+    });
+  }
+
+  /**
+   * Changes the time to live of the units, memberships and filters caches and drops the cached entries.
+   *
+   * @param ttl time to live in milliseconds
+   */
+  static void setCacheTtl(long ttl) {
+    unitsCache.setTtl(ttl);
+    membershipsCache.setTtl(ttl);
+    filtersCache.setTtl(ttl);
+  }
+
+  /**
+   * Restores the time to live of the caches from {@code orders.cache.acqUnits.ttlMs} and drops the cached entries.
+   */
+  static void resetCaches() {
+    setCacheTtl(getConfiguredCacheTtl());
+  }
+
+  private static long getConfiguredCacheTtl() {
+    return Long.getLong(CACHE_TTL_PROPERTY, 30000);
+  }
+
+  private static <T> ExpiringCache<T> createCache(String name) {
+    return new ExpiringCache<>(name, Integer.getInteger(CACHE_SIZE_PROPERTY, 10000), getConfiguredCacheTtl());
+  }
 }
@@ -0,0 +1,34 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.orders.utils.ExpiringCache;
+import org.folio.orders.utils.TenantConfigurationCache;
+import org.folio.rest.jaxrs.resource.OrdersAdminCaches;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class CachesApi implements OrdersAdminCaches {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachesApi.class);
+
+  @Override
+  public void deleteOrdersAdminCaches(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext) {
+    String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
+    logger.info("Dropping cached data of tenant {}", tenantId);
+    TenantConfigurationCache.invalidate(tenantId);
+    ExpiringCache.invalidateTenant(tenantId);
+    asyncResultHandler.handle(succeededFuture(DeleteOrdersAdminCachesResponse.respond204()));
+  }
+}
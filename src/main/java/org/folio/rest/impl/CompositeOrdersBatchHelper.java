@@ -0,0 +1,195 @@
+package org.folio.rest.impl;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.orders.utils.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.orders.utils.ErrorCodes.PO_NUMBER_ALREADY_EXISTS;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.jaxrs.model.CompositePoLine;
+import org.folio.rest.jaxrs.model.CompositePurchaseOrder;
+import org.folio.rest.jaxrs.model.CompositePurchaseOrderBatchResults;
+import org.folio.rest.jaxrs.model.CompositePurchaseOrderResult;
+import org.folio.rest.jaxrs.model.Eresource;
+import org.folio.rest.jaxrs.model.FundDistribution;
+
+import io.vertx.core.Context;
+import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+import one.util.streamex.EntryStream;
+import one.util.streamex.StreamEx;
+
+/**
+ * Creates a number of purchase orders at once. Each order is validated and created as a single one is by
+ * {@link PurchaseOrderHelper}, while the data the orders have in common is retrieved once for all of them:
+ * <ul>
+ * <li>vendors and access providers of the orders to open are loaded into the organizations cache;</li>
+ * <li>funds, ledgers and current fiscal years of the orders to open are loaded into the finance caches;</li>
+ * <li>PO numbers missing in the valid orders are taken at once, all the numbers are checked to be unused with a few
+ * searches.</li>
+ * </ul>
+ * Tenant configuration and inventory reference data are cached per tenant, so the orders share them as well. A failure of
+ * one order does not stop the others, the errors are returned per order.
+ */
+public class CompositeOrdersBatchHelper extends AbstractHelper {
+
+  private final PoNumberHelper poNumberHelper;
+
+  public CompositeOrdersBatchHelper(Map<String, String> okapiHeaders, Context ctx, String lang) {
+    super(okapiHeaders, ctx, lang);
+    poNumberHelper = new PoNumberHelper(httpClient, okapiHeaders, ctx, lang);
+  }
+
+  /**
+   * @param orders purchase orders to create
+   * @return future with the result of each order in order of the request
+   */
+  public CompletableFuture<CompositePurchaseOrderBatchResults> createPurchaseOrders(List<CompositePurchaseOrder> orders) {
+    List<OrderCreation> creations = EntryStream.of(orders)
+      .mapKeyValue(OrderCreation::new)
+      .toList();
+
+    return preloadSharedData(orders)
+      .thenCompose(v -> VertxCompletableFuture.allOf(ctx, creations.stream()
+        .map(this::validate)
+        .toArray(CompletableFuture[]::new)))
+      .thenCompose(v -> assignPoNumbers(StreamEx.of(creations).remove(OrderCreation::isFailed).toList()))
+      .thenCompose(v -> VertxCompletableFuture.allOf(ctx, creations.stream()
+        .filter(creation -> !creation.isFailed())
+        .map(this::create)
+        .toArray(CompletableFuture[]::new)))
+      .thenApply(v -> {
+        List<CompositePurchaseOrderResult> results = StreamEx.of(creations).map(OrderCreation::toResult).toList();
+        return new CompositePurchaseOrderBatchResults()
+          .withCompositePurchaseOrderResults(results)
+          .withTotalRecords(results.size())
+          .withFailedRecords((int) creations.stream().filter(OrderCreation::isFailed).count());
+      });
+  }
+
+  private CompletableFuture<Void> preloadSharedData(List<CompositePurchaseOrder> orders) {
+    List<CompositePurchaseOrder> ordersToOpen = StreamEx.of(orders)
+      .filter(order -> order.getWorkflowStatus() == CompositePurchaseOrder.WorkflowStatus.OPEN)
+      .toList();
+    if (ordersToOpen.isEmpty()) {
+      return completedFuture(null);
+    }
+
+    List<CompositePoLine> poLines = StreamEx.of(ordersToOpen).flatCollection(CompositePurchaseOrder::getCompositePoLines).toList();
+    List<String> organizationIds = StreamEx.of(ordersToOpen)
+      .map(CompositePurchaseOrder::getVendor)
+      .append(StreamEx.of(poLines).map(CompositePoLine::getEresource).nonNull().map(Eresource::getAccessProvider))
+      .nonNull()
+      .distinct()
+      .toList();
+    List<String> fundIds = StreamEx.of(poLines)
+      .flatCollection(CompositePoLine::getFundDistribution)
+      .map(FundDistribution::getFundId)
+      .nonNull()
+      .distinct()
+      .toList();
+
+    return VertxCompletableFuture.allOf(ctx,
+        new VendorHelper(httpClient, okapiHeaders, ctx, lang).preloadOrganizations(organizationIds),
+        new FinanceHelper(httpClient, okapiHeaders, ctx, lang).preloadFunds(fundIds));
+  }
+
+  private CompletableFuture<Void> validate(OrderCreation creation) {
+    return creation.helper.validateOrder(creation.order)
+      .handle((isValid, t) -> {
+        if (t != null) {
+          creation.fail(t);
+        } else if (!Boolean.TRUE.equals(isValid)) {
+          creation.fail(new HttpException(422, GENERIC_ERROR_CODE));
+        }
+        return null;
+      });
+  }
+
+  /**
+   * Assigns the PO numbers taken at once to the orders without PO number in order of the request. All the numbers, entered in
+   * the orders or taken from the sequence, are checked not to be used by other orders, the same number may not be used twice
+   * in the batch either.
+   */
+  private CompletableFuture<Void> assignPoNumbers(List<OrderCreation> creations) {
+    if (creations.isEmpty()) {
+      return completedFuture(null);
+    }
+
+    List<OrderCreation> withoutPoNumber = StreamEx.of(creations).filter(creation -> creation.order.getPoNumber() == null).toList();
+    return poNumberHelper.generatePoNumbers(withoutPoNumber.size())
+      .thenCompose(numbers -> {
+        for (int i = 0; i < numbers.size(); i++) {
+          withoutPoNumber.get(i).order.setPoNumber(numbers.get(i));
+        }
+        List<String> checked = StreamEx.of(creations).map(creation -> creation.order.getPoNumber()).toList();
+        return poNumberHelper.getPoNumbersInUse(checked);
+      })
+      .thenAccept(numbersInUse -> {
+        Set<String> assigned = new HashSet<>();
+        creations.forEach(creation -> {
+          String poNumber = creation.order.getPoNumber();
+          if (numbersInUse.contains(poNumber) || !assigned.add(poNumber)) {
+            logger.error("PO Number '{}' of the order at index {} is already in use", poNumber, creation.index);
+            creation.fail(new HttpException(400, PO_NUMBER_ALREADY_EXISTS));
+          }
+        });
+      })
+      .exceptionally(t -> {
+        logger.error("Failed to assign PO Numbers to {} order(s)", t, creations.size());
+        creations.forEach(creation -> creation.fail(t));
+        return null;
+      });
+  }
+
+  private CompletableFuture<Void> create(OrderCreation creation) {
+    return creation.helper.createPurchaseOrderWithCheckedPoNumber(creation.order)
+      .handle((created, t) -> {
+        if (t != null) {
+          creation.fail(t);
+        } else {
+          creation.created = created;
+        }
+        return null;
+      });
+  }
+
+  /**
+   * State of one order of the batch. Every order has its own {@link PurchaseOrderHelper} since the helper collects processing
+   * errors and caches the lines of the order.
+   */
+  private class OrderCreation {
+    private final int index;
+    private final CompositePurchaseOrder order;
+    private final PurchaseOrderHelper helper;
+    private CompositePurchaseOrder created;
+    private boolean failed;
+
+    OrderCreation(int index, CompositePurchaseOrder order) {
+      this.index = index;
+      this.order = order;
+      this.helper = new PurchaseOrderHelper(httpClient, okapiHeaders, ctx, lang);
+    }
+
+    boolean isFailed() {
+      return failed;
+    }
+
+    void fail(Throwable t) {
+      if (!failed) {
+        failed = true;
+        helper.handleProcessingError(t instanceof CompletionException ? t : new CompletionException(t));
+      }
+    }
+
+    CompositePurchaseOrderResult toResult() {
+      CompositePurchaseOrderResult result = new CompositePurchaseOrderResult().withIndex(index);
+      return failed ? result.withErrors(helper.getProcessingErrors()) : result.withCompositePurchaseOrder(created);
+    }
+  }
+}
@@ -14,6 +14,7 @@ import java.util.Map;
 import javax.ws.rs.core.Response;
 
 import io.vertx.core.Vertx;
+import org.folio.orders.utils.RequestMetrics;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Prefix;
 import org.folio.rest.jaxrs.model.ReasonForClosure;
@@ -47,7 +48,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationReasonsForClosure(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationReasonsForClosure(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/reasons-for-closure", okapiHeaders, resultHandler);
     reasonForClosureService.getReasonsForClosure(query, offset, limit, vertxContext, okapiHeaders)
       .thenAccept(reasonForClosureCollection -> asyncResultHandler.handle(succeededFuture(buildOkResponse(reasonForClosureCollection))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -55,7 +57,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void putOrdersConfigurationReasonsForClosureById(String id, String lang, ReasonForClosure entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void putOrdersConfigurationReasonsForClosureById(String id, String lang, ReasonForClosure entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/configuration/reasons-for-closure/{id}", okapiHeaders, resultHandler);
 
     reasonForClosureService.updateReasonForClosure(id, entity, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
@@ -64,7 +67,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void postOrdersConfigurationReasonsForClosure(String lang, ReasonForClosure entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postOrdersConfigurationReasonsForClosure(String lang, ReasonForClosure entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/configuration/reasons-for-closure", okapiHeaders, resultHandler);
     reasonForClosureService.createReasonForClosure(entity, vertxContext, okapiHeaders)
       .thenAccept(obj -> asyncResultHandler.handle(succeededFuture(buildResponseWithLocation(okapiHeaders.get(OKAPI_URL), resourceByIdPath(REASONS_FOR_CLOSURE, obj.getId()), obj))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -72,7 +76,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationReasonsForClosureById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationReasonsForClosureById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/reasons-for-closure/{id}", okapiHeaders, resultHandler);
     reasonForClosureService.getReasonForClosureById(id, vertxContext, okapiHeaders)
     .thenAccept(reasonForClosure -> asyncResultHandler.handle(succeededFuture(buildOkResponse(reasonForClosure))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -80,7 +85,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void deleteOrdersConfigurationReasonsForClosureById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void deleteOrdersConfigurationReasonsForClosureById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/configuration/reasons-for-closure/{id}", okapiHeaders, resultHandler);
     reasonForClosureService.deleteReasonForClosure(id, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -88,7 +94,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationSuffixes(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationSuffixes(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/suffixes", okapiHeaders, resultHandler);
     suffixService.getSuffixes(query, offset, limit, vertxContext, okapiHeaders)
     .thenAccept(suffixCollection -> asyncResultHandler.handle(succeededFuture(buildOkResponse(suffixCollection))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -96,7 +103,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void putOrdersConfigurationSuffixesById(String id, String lang, Suffix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void putOrdersConfigurationSuffixesById(String id, String lang, Suffix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/configuration/suffixes/{id}", okapiHeaders, resultHandler);
     suffixService.updateSuffix(id, entity, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -104,7 +112,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void postOrdersConfigurationSuffixes(String lang, Suffix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postOrdersConfigurationSuffixes(String lang, Suffix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/configuration/suffixes", okapiHeaders, resultHandler);
     suffixService.createSuffix(entity, vertxContext, okapiHeaders)
       .thenAccept(suffix -> asyncResultHandler.handle(succeededFuture(buildResponseWithLocation(okapiHeaders.get(OKAPI_URL), resourceByIdPath(SUFFIXES, suffix.getId()), suffix))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -112,7 +121,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationSuffixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationSuffixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/suffixes/{id}", okapiHeaders, resultHandler);
     suffixService.getSuffixById(id, vertxContext, okapiHeaders)
       .thenAccept(suffix -> asyncResultHandler.handle(succeededFuture(buildOkResponse(suffix))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -120,7 +130,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void deleteOrdersConfigurationSuffixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void deleteOrdersConfigurationSuffixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/configuration/suffixes/{id}", okapiHeaders, resultHandler);
     suffixService.deleteSuffix(id, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -128,7 +139,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationPrefixes(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationPrefixes(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/prefixes", okapiHeaders, resultHandler);
     prefixService.getPrefixes(query, offset, limit, vertxContext, okapiHeaders)
       .thenAccept(prefixCollection -> asyncResultHandler.handle(succeededFuture(buildOkResponse(prefixCollection))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -136,7 +148,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void putOrdersConfigurationPrefixesById(String id, String lang, Prefix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void putOrdersConfigurationPrefixesById(String id, String lang, Prefix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/configuration/prefixes/{id}", okapiHeaders, resultHandler);
     prefixService.updatePrefix(id, entity, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -144,7 +157,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void postOrdersConfigurationPrefixes(String lang, Prefix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postOrdersConfigurationPrefixes(String lang, Prefix entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/configuration/prefixes", okapiHeaders, resultHandler);
     prefixService.createPrefix(entity, vertxContext, okapiHeaders)
       .thenAccept(prefix -> asyncResultHandler.handle(succeededFuture(buildResponseWithLocation(okapiHeaders.get(OKAPI_URL), resourceByIdPath(PREFIXES, prefix.getId()), prefix))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -152,7 +166,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void getOrdersConfigurationPrefixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersConfigurationPrefixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/configuration/prefixes/{id}", okapiHeaders, resultHandler);
     prefixService.getPrefixById(id, vertxContext, okapiHeaders)
       .thenAccept(prefix -> asyncResultHandler.handle(succeededFuture(buildOkResponse(prefix))))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
@@ -160,7 +175,8 @@ public class ConfigurationApi extends BaseApi implements OrdersConfiguration {
 
   @Override
   @Validate
-  public void deleteOrdersConfigurationPrefixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void deleteOrdersConfigurationPrefixesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/configuration/prefixes/{id}", okapiHeaders, resultHandler);
     prefixService.deletePrefix(id, vertxContext, okapiHeaders)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .exceptionally(fail -> handleErrorResponse(asyncResultHandler, fail));
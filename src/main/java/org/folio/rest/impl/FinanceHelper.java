@@ -26,13 +26,16 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -45,7 +48,7 @@ import org.folio.models.EncumbranceRelationsHolder;
 import org.folio.models.LineFundId;
 import org.folio.models.PoLineFundHolder;
 import org.folio.orders.rest.exceptions.HttpException;
-import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.ExpiringCache;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.BudgetCollection;
 import org.folio.rest.acq.model.finance.Encumbrance;
@@ -79,6 +82,17 @@ public class FinanceHelper extends AbstractHelper {
   private static final String QUERY_EQUALS = "&query=";
   private static final String ENCUMBRANCE_CRITERIA = "transactionType==Encumbrance";
   private static final String AND = " and ";
+  private static final String CURRENT_FISCAL_YEAR = "current-fiscal-year";
+  static final String CACHE_TTL_PROPERTY = "orders.cache.finance.ttlMs";
+  static final String CACHE_SIZE_PROPERTY = "orders.cache.finance.maxSize";
+
+  /**
+   * Funds, ledgers and current fiscal years of the ledgers rarely change, so they are reused by all the order and line updates
+   * for {@code orders.cache.finance.ttlMs}. Budgets are always retrieved since they carry the balances.
+   */
+  private static final ExpiringCache<Fund> fundsCache = createCache("funds");
+  private static final ExpiringCache<Ledger> ledgersCache = createCache("ledgers");
+  private static final ExpiringCache<FiscalYear> currentFiscalYearsCache = createCache("current-fiscal-years");
 
   private final TransactionService transactionService;
 
@@ -111,6 +125,35 @@ public class FinanceHelper extends AbstractHelper {
     return CompletableFuture.completedFuture(Collections.emptyList());
   }
 
+  /**
+   * Loads the funds, their ledgers and the current fiscal years of the ledgers into the caches, so that the orders opened
+   * together do not retrieve them order by order. A failure is not reported, the records are retrieved again when the
+   * encumbrances are built.
+   *
+   * @param fundIds ids of the funds of fund distributions
+   * @return future completed when the records are loaded
+   */
+  public CompletableFuture<Void> preloadFunds(Collection<String> fundIds) {
+    return collectResultsOnSuccess(StreamEx.ofSubLists(StreamEx.of(fundIds).distinct().toList(), MAX_IDS_FOR_GET_RQ)
+      .map(ids -> getCachedByIds(fundsCache, FUNDS, ids, this::searchFundsByIds, Fund::getId))
+      .toList())
+      .thenCompose(funds -> {
+        List<String> ledgerIds = StreamEx.of(funds).flatMap(Collection::stream).map(Fund::getLedgerId).nonNull().distinct().toList();
+        return collectResultsOnSuccess(StreamEx.ofSubLists(ledgerIds, MAX_IDS_FOR_GET_RQ)
+          .map(ids -> getCachedByIds(ledgersCache, LEDGERS, ids, this::searchLedgersByIds, Ledger::getId))
+          .toList())
+          .thenCompose(ledgers -> VertxCompletableFuture.allOf(ctx, ledgerIds.stream()
+            .map(ledgerId -> getCurrentFiscalYear(ledgerId).exceptionally(t -> null))
+            .toArray(CompletableFuture[]::new)));
+      })
+      .handle((v, t) -> {
+        if (t != null) {
+          logger.warn("Failed to preload {} fund(s): {}", fundIds.size(), t.getMessage());
+        }
+        return null;
+      });
+  }
+
   public CompletableFuture<List<Transaction>> getOrderEncumbrances(String orderId) {
     return transactionService.getTransactions(Integer.MAX_VALUE, 0, buildEncumbranceOrderQuery(orderId))
               .thenApply(TransactionCollection::getTransactions);
@@ -279,19 +322,23 @@ public class FinanceHelper extends AbstractHelper {
   }
 
   private CompletableFuture<List<Fund>> getFundsByIds(List<String> ids) {
+    return getCachedByIds(fundsCache, FUNDS, ids, this::searchFundsByIds, Fund::getId)
+      .thenApply(funds -> {
+        if (ids.size() == funds.size()) {
+          return funds;
+        }
+        String missingIds = String.join(", ", CollectionUtils.subtract(ids, funds.stream().map(Fund::getId).collect(toList())));
+        throw new HttpException(400, FUNDS_NOT_FOUND.toError().withParameters(Collections.singletonList(new Parameter().withKey("funds").withValue(missingIds))));
+      });
+  }
+
+  private CompletableFuture<List<Fund>> searchFundsByIds(List<String> ids) {
     String query = convertIdsToCqlQuery(ids);
     String queryParam = QUERY_EQUALS + encodeQuery(query, logger);
     String endpoint = String.format(GET_FUNDS_WITH_SEARCH_PARAMS, MAX_IDS_FOR_GET_RQ, 0, queryParam, lang);
 
-    return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenApply(entries -> entries.mapTo(FundCollection.class))
-      .thenApply(fundCollection -> {
-        if (ids.size() == fundCollection.getFunds().size()) {
-          return fundCollection.getFunds();
-        }
-        String missingIds = String.join(", ", CollectionUtils.subtract(ids, fundCollection.getFunds().stream().map(Fund::getId).collect(toList())));
-        throw new HttpException(400, FUNDS_NOT_FOUND.toError().withParameters(Collections.singletonList(new Parameter().withKey("funds").withValue(missingIds))));
-      });
+    return handleGetRequest(endpoint, FundCollection.class, httpClient, ctx, okapiHeaders, logger)
+      .thenApply(FundCollection::getFunds);
   }
 
   private CompletableFuture<List<Budget>> getActiveBudgetsByFundIds(List<String> ids) {
@@ -299,8 +346,7 @@ public class FinanceHelper extends AbstractHelper {
     String queryParam = QUERY_EQUALS + encodeQuery(query, logger);
     String endpoint = String.format(GET_BUDGETS_WITH_SEARCH_PARAMS, MAX_IDS_FOR_GET_RQ, 0, queryParam, lang);
 
-    return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(entries -> VertxCompletableFuture.supplyBlockingAsync(ctx, () -> entries.mapTo(BudgetCollection.class)))
+    return handleGetRequest(endpoint, BudgetCollection.class, httpClient, ctx, okapiHeaders, logger)
       .thenApply(budgetCollection -> {
         if (ids.size() == budgetCollection.getBudgets().size()) {
           return budgetCollection.getBudgets();
@@ -311,19 +357,48 @@ public class FinanceHelper extends AbstractHelper {
   }
 
   private CompletableFuture<List<Ledger>> getLedgersByIds(List<String> ledgerIds) {
+    return getCachedByIds(ledgersCache, LEDGERS, ledgerIds, this::searchLedgersByIds, Ledger::getId)
+      .thenApply(ledgers -> {
+        if (ledgerIds.size() == ledgers.size()) {
+          return ledgers;
+        }
+        String missingIds = String.join(", ", CollectionUtils.subtract(ledgerIds, ledgers.stream().map(Ledger::getId).collect(toList())));
+        throw new HttpException(400, LEDGER_NOT_FOUND_FOR_TRANSACTION.toError().withParameters(Collections.singletonList(new Parameter().withKey("ledgers").withValue(missingIds))));
+      });
+  }
+
+  private CompletableFuture<List<Ledger>> searchLedgersByIds(List<String> ledgerIds) {
     String query = convertIdsToCqlQuery(ledgerIds, ID);
     String queryParam = QUERY_EQUALS + encodeQuery(query, logger);
     String endpoint = String.format(GET_LEDGERS_WITH_SEARCH_PARAMS, MAX_IDS_FOR_GET_RQ, 0, queryParam, lang);
 
-    return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(entries -> VertxCompletableFuture.supplyBlockingAsync(ctx, () -> entries.mapTo(LedgerCollection.class)))
-      .thenApply(ledgerCollection -> {
-        if (ledgerIds.size() == ledgerCollection.getLedgers().size()) {
-          return ledgerCollection.getLedgers();
-        }
-        String missingIds = String.join(", ", CollectionUtils.subtract(ledgerIds, ledgerCollection.getLedgers().stream().map(Ledger::getId).collect(toList())));
-        throw new HttpException(400, LEDGER_NOT_FOUND_FOR_TRANSACTION.toError().withParameters(Collections.singletonList(new Parameter().withKey("ledgers").withValue(missingIds))));
-      });
+    return handleGetRequest(endpoint, LedgerCollection.class, httpClient, ctx, okapiHeaders, logger)
+      .thenApply(LedgerCollection::getLedgers);
+  }
+
+  /**
+   * Returns cached records and searches for the ones which are not cached.
+   *
+   * @param cache    cache of the records
+   * @param type     type of the records used in the cache keys
+   * @param ids      ids of the records
+   * @param search   function searching for the records by ids
+   * @param idGetter function returning id of the record
+   * @return future with the found records in order of the ids
+   */
+  private <T> CompletableFuture<List<T>> getCachedByIds(ExpiringCache<T> cache, String type, List<String> ids,
+      Function<List<String>, CompletableFuture<List<T>>> search, Function<T, String> idGetter) {
+    Map<String, String> idsByKey = new LinkedHashMap<>();
+    ids.forEach(id -> idsByKey.put(ExpiringCache.key(okapiHeaders, type, id), id));
+
+    return cache.getAll(new ArrayList<>(idsByKey.keySet()), ctx, keys -> search.apply(keys.stream().map(idsByKey::get).collect(toList()))
+      .thenApply(records -> StreamEx.of(records)
+        .toMap(record -> ExpiringCache.key(okapiHeaders, type, idGetter.apply(record)), Function.identity(), (record, duplicate) -> record)))
+      .thenApply(recordsByKey -> idsByKey.keySet()
+        .stream()
+        .map(recordsByKey::get)
+        .filter(Objects::nonNull)
+        .collect(toList()));
   }
 
   private List<EncumbranceRelationsHolder> buildEncumbrances(List<PoLineFundHolder> holders, CompositePurchaseOrder compPO) {
@@ -347,8 +422,13 @@ public class FinanceHelper extends AbstractHelper {
 
 
   private CompletableFuture<FiscalYear> getCurrentFiscalYear(String ledgerId) {
+    return currentFiscalYearsCache.get(ExpiringCache.key(okapiHeaders, CURRENT_FISCAL_YEAR, ledgerId), ctx,
+        () -> loadCurrentFiscalYear(ledgerId));
+  }
+
+  private CompletableFuture<FiscalYear> loadCurrentFiscalYear(String ledgerId) {
     String endpoint = String.format(GET_CURRENT_FISCAL_YEAR_BY_ID, ledgerId, lang);
-    return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger).thenApply(entry -> entry.mapTo(FiscalYear.class))
+    return handleGetRequest(endpoint, FiscalYear.class, httpClient, ctx, okapiHeaders, logger)
       .exceptionally(t -> {
         if (isFiscalYearNotFound(t)) {
           List<Parameter> parameters = Collections.singletonList(new Parameter().withValue(ledgerId)
@@ -541,6 +621,10 @@ public class FinanceHelper extends AbstractHelper {
     return transactionService.releaseEncumbrances(encumbrances);
   }
 
+  public CompletableFuture<Map<String, Throwable>> createEncumbrances(List<Transaction> encumbrances) {
+    return transactionService.createEncumbrances(encumbrances);
+  }
+
   public CompletableFuture<String> createOrderTransactionSummary(String orderId, int number) {
     return transactionService.createOrderTransactionSummary(orderId, number);
   }
@@ -564,4 +648,30 @@ public class FinanceHelper extends AbstractHelper {
       return CompletableFuture.completedFuture(null);
     });
   }
+
+  /**
+   * Changes the time to live of the funds, ledgers and current fiscal years caches and drops the cached entries.
+   *
+   * @param ttl time to live in milliseconds
+   */
+  static void setCacheTtl(long ttl) {
+    fundsCache.setTtl(ttl);
+    ledgersCache.setTtl(ttl);
+    currentFiscalYearsCache.setTtl(ttl);
+  }
+
+  /**
+   * Restores the time to live of the caches from {@code orders.cache.finance.ttlMs} and drops the cached entries.
+   */
+  static void resetCaches() {
+    setCacheTtl(getConfiguredCacheTtl());
+  }
+
+  private static long getConfiguredCacheTtl() {
+    return Long.getLong(CACHE_TTL_PROPERTY, 300000);
+  }
+
+  private static <T> ExpiringCache<T> createCache(String name) {
+    return new ExpiringCache<>(name, Integer.getInteger(CACHE_SIZE_PROPERTY, 10000), getConfiguredCacheTtl());
+  }
 }
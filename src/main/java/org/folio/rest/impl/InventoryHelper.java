@@ -6,7 +6,7 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static me.escoffier.vertx.completablefuture.VertxCompletableFuture.allOf;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
-import static org.folio.orders.utils.ErrorCodes.ISBN_NOT_VALID;
+import static org.folio.orders.utils.ConcurrencyLimiter.INVENTORY;
 import static org.folio.orders.utils.ErrorCodes.ITEM_CREATION_FAILED;
 import static org.folio.orders.utils.ErrorCodes.MISSING_CONTRIBUTOR_NAME_TYPE;
 import static org.folio.orders.utils.ErrorCodes.MISSING_INSTANCE_STATUS;
@@ -29,15 +29,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.rest.exceptions.InventoryException;
+import org.folio.orders.utils.BatchApiSupport;
+import org.folio.orders.utils.ConcurrencyLimiter;
 import org.folio.orders.utils.ErrorCodes;
+import org.folio.orders.utils.ExpiringCache;
 import org.folio.orders.utils.HelperUtils;
 import org.folio.rest.acq.model.Piece;
 import org.folio.rest.jaxrs.model.CheckInPiece;
@@ -49,11 +54,11 @@ import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.jaxrs.model.ProductId;
 import org.folio.rest.jaxrs.model.ReceivedItem;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
-import org.folio.rest.tools.utils.TenantTool;
 
 import com.google.common.collect.ImmutableList;
 
 import io.vertx.core.Context;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
@@ -106,11 +111,12 @@ public class InventoryHelper extends AbstractHelper {
   private static final String HOLDINGS_RECORDS = "holdingsRecords";
   private static final String INSTANCES = "instances";
 
-  private static final String TENANT_SPECIFIC_KEY_FORMAT = "%s.%s.%s";
   private static final String CREATE_INSTANCE_ENDPOINT = "/inventory/instances?lang=%s";
   private static final String LOOKUP_ITEM_STOR_QUERY = "purchaseOrderLineIdentifier==%s and holdingsRecordId==%s";
   private static final String LOOKUP_ITEM_STOR_ENDPOINT = "/item-storage/items?query=%s&limit=%d&lang=%s";
   private static final String CREATE_ITEM_STOR_ENDPOINT = "/item-storage/items?lang=%s";
+  private static final String ITEMS_BATCH_ENDPOINT = "/item-storage/batch/synchronous";
+  private static final String CREATE_ITEMS_BATCH_ENDPOINT = ITEMS_BATCH_ENDPOINT + "?lang=%s";
   private static final String UPDATE_ITEM_ENDPOINT = "/inventory/items/%s?lang=%s";
   private static final String HOLDINGS_LOOKUP_QUERY = "instanceId==%s and permanentLocationId==%s";
   private static final String HOLDINGS_CREATE_ENDPOINT = "/holdings-storage/holdings?lang=%s";
@@ -119,6 +125,17 @@ public class InventoryHelper extends AbstractHelper {
 
   private static final Map<String, String> INVENTORY_LOOKUP_ENDPOINTS;
 
+  /** Ids of loan types, instance types and statuses, identifier types and contributor name types */
+  private static final ExpiringCache<String> referenceDataCache = new ExpiringCache<>("inventory-reference-data",
+      Integer.getInteger("orders.cache.referenceData.maxSize", 1000), Long.getLong("orders.cache.referenceData.ttlMs", 600000));
+
+  /** Ids of holdings records by instance and location shared by order opening, piece creation and check-in/receiving */
+  private static final ExpiringCache<String> holdingsCache = new ExpiringCache<>("holdings",
+      Integer.getInteger("orders.cache.holdings.maxSize", 10000), getConfiguredHoldingsCacheTtl());
+
+  /** Number of items sent in one request to the batch API, {@code 0} or {@code 1} switches the batch API off */
+  private static final int ITEMS_BATCH_SIZE = Integer.getInteger("orders.inventory.itemsBatchSize", 100);
+
   static {
     Map<String, String> apis = new HashMap<>();
     apis.put(CONTRIBUTOR_NAME_TYPES, "/contributor-name-types?limit=%s&query=%s&lang=%s");
@@ -281,8 +298,20 @@ public class InventoryHelper extends AbstractHelper {
     return CheckInPiece.ItemStatus.ON_ORDER == checkinPiece.getItemStatus();
   }
 
+  /**
+   * Returns id of the holdings record of the instance at the location, the record is created if it does not exist yet.
+   * Concurrent calls for the same instance and location wait for a single lookup, so the record is not created twice.
+   *
+   * @param instanceId instance uuid
+   * @param locationId permanent location uuid
+   * @return future with the holdings record id
+   */
   public CompletableFuture<String> getOrCreateHoldingsRecord(String instanceId, String locationId) {
+    return holdingsCache.get(ExpiringCache.key(okapiHeaders, HOLDINGS_RECORDS, instanceId, locationId), ctx,
+        () -> lookupOrCreateHoldingsRecord(instanceId, locationId));
+  }
 
+  private CompletableFuture<String> lookupOrCreateHoldingsRecord(String instanceId, String locationId) {
     String query = encodeQuery(String.format(HOLDINGS_LOOKUP_QUERY, instanceId, locationId), logger);
     String endpoint = buildLookupEndpoint(HOLDINGS_RECORDS, query, lang);
     return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
@@ -443,13 +472,8 @@ public class InventoryHelper extends AbstractHelper {
       .distinct()
       .collect(toList());
 
-    return getContributorNameTypes(ids)
-      .thenAccept(contributorNameTypes -> {
-
-        List<String> retrievedIds = contributorNameTypes.stream()
-          .map(o -> o.getString(ID).toLowerCase())
-          .collect(toList());
-
+    return getContributorNameTypeIds(ids)
+      .thenAccept(retrievedIds -> {
         if (retrievedIds.size() != ids.size()) {
           ids.removeAll(retrievedIds);
           throw new HttpException(500, buildErrorWithParameter(String.join(", ", ids), MISSING_CONTRIBUTOR_NAME_TYPE));
@@ -457,12 +481,26 @@ public class InventoryHelper extends AbstractHelper {
       });
   }
 
-  private CompletableFuture<List<JsonObject>> getContributorNameTypes(List<String> ids) {
-    return collectResultsOnSuccess(StreamEx
-      .ofSubLists(ids, MAX_IDS_FOR_GET_RQ)
+  /**
+   * Returns ids of existing contributor name types. Only the ids which are not cached yet are retrieved from inventory.
+   *
+   * @param ids ids of contributor name types in lower case
+   * @return future with the ids which exist
+   */
+  private CompletableFuture<List<String>> getContributorNameTypeIds(List<String> ids) {
+    Map<String, String> idsByKey = StreamEx.of(ids)
+      .toMap(id -> ExpiringCache.key(okapiHeaders, CONTRIBUTOR_NAME_TYPES, id), Function.identity());
+
+    return referenceDataCache.getAll(new ArrayList<>(idsByKey.keySet()), ctx, keys -> collectResultsOnSuccess(StreamEx
+      .ofSubLists(StreamEx.of(keys).map(idsByKey::get).toList(), MAX_IDS_FOR_GET_RQ)
       .map(this::getContributorNameTypeByIds)
       .toList())
-      .thenApply(lists -> StreamEx.of(lists).toFlatList(contributorNameTypes -> contributorNameTypes));
+      .thenApply(lists -> StreamEx.of(lists)
+        .flatMap(List::stream)
+        .map(contributorNameType -> contributorNameType.getString(ID).toLowerCase())
+        .distinct()
+        .toMap(id -> ExpiringCache.key(okapiHeaders, CONTRIBUTOR_NAME_TYPES, id), Function.identity())))
+      .thenApply(found -> new ArrayList<>(found.values()));
   }
 
   private CompletableFuture<List<JsonObject>> getContributorNameTypeByIds(List<String> ids) {
@@ -623,15 +661,70 @@ public class InventoryHelper extends AbstractHelper {
   }
 
   /**
-   * Wait for item creation requests completion and filter failed items if any
+   * Creates the items with pre-assigned ids by chunks of {@code orders.inventory.itemsBatchSize} through the synchronous batch
+   * API of the inventory storage. If the batch API is not available, the items are posted one by one.
+   *
    * @param itemRecord item record to be created
    * @param expectedCount count of the items to be created
-   * @return completable future with list of item id's
+   * @return completable future with list of item id's, {@code null} for each item failed to be created
    */
   private CompletableFuture<List<String>> createItemRecords(JsonObject itemRecord, int expectedCount) {
-    List<CompletableFuture<String>> futures = new ArrayList<>(expectedCount);
-    for (int i = 0; i < expectedCount; i++) {
-      futures.add(createItemInInventory(itemRecord));
+    List<String> ids = StreamEx.generate(() -> UUID.randomUUID().toString()).limit(expectedCount).toList();
+    if (ITEMS_BATCH_SIZE < 2 || expectedCount < 2 || !BatchApiSupport.isAvailable(okapiHeaders, ITEMS_BATCH_ENDPOINT)) {
+      return createItemsOneByOne(itemRecord, ids);
+    }
+
+    return collectResultsOnSuccess(StreamEx.ofSubLists(ids, ITEMS_BATCH_SIZE)
+      .map(chunk -> createItemsBatch(itemRecord, chunk))
+      .toList())
+      .thenApply(results -> StreamEx.of(results).flatMap(List::stream).toList());
+  }
+
+  /**
+   * Posts the items to the synchronous batch API. The API saves all the items of the batch in one transaction and responds with
+   * 201 and no body, so either all the items with the pre-assigned ids are created or none of them. Any other than 2xx status
+   * fails the request, then the batch is recovered by {@link #recoverItemsBatch(JsonObject, List, Throwable)}.
+   */
+  private CompletableFuture<List<String>> createItemsBatch(JsonObject itemRecord, List<String> ids) {
+    JsonArray items = new JsonArray();
+    ids.forEach(id -> items.add(itemRecord.copy().put(ID, id)));
+    String endpoint = String.format(CREATE_ITEMS_BATCH_ENDPOINT, lang);
+    logger.debug("Posting batch of {} item(s)", ids.size());
+
+    return ConcurrencyLimiter.forDownstream(INVENTORY, okapiHeaders)
+      .execute(() -> HelperUtils.operateOnObject(HttpMethod.POST, endpoint, new JsonObject().put(ITEMS, items), httpClient, ctx,
+          okapiHeaders, logger))
+      .handle((v, t) -> t == null ? completedFuture(ids) : recoverItemsBatch(itemRecord, ids, t))
+      .thenCompose(Function.identity());
+  }
+
+  /**
+   * The batch is saved in one transaction, but the response might be lost after the items are created. The items which are not
+   * found by the pre-assigned ids are posted one by one.
+   */
+  private CompletableFuture<List<String>> recoverItemsBatch(JsonObject itemRecord, List<String> ids, Throwable t) {
+    if (BatchApiSupport.markIfUnavailable(okapiHeaders, ITEMS_BATCH_ENDPOINT, t)) {
+      logger.warn("Items batch API is not available, items are created one by one: {}", t.getMessage());
+      return createItemsOneByOne(itemRecord, ids);
+    }
+
+    logger.warn("Batch of {} item(s) failed to be created, checking which of them exist", ids.size());
+    return collectResultsOnSuccess(StreamEx.ofSubLists(ids, MAX_IDS_FOR_GET_RQ).map(this::getItemRecordsByIds).toList())
+      .thenApply(results -> StreamEx.of(results).flatMap(List::stream).map(item -> item.getString(ID)).toSet())
+      // Items with the same ids cannot be created twice, so all of them are posted again if the lookup fails
+      .exceptionally(e -> Collections.<String>emptySet())
+      .thenCompose(createdIds -> {
+        List<String> missingIds = StreamEx.of(ids).remove(createdIds::contains).toList();
+        return createItemsOneByOne(itemRecord, missingIds)
+          .thenApply(created -> ListUtils.union(new ArrayList<>(createdIds), created));
+      });
+  }
+
+  private CompletableFuture<List<String>> createItemsOneByOne(JsonObject itemRecord, List<String> ids) {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(INVENTORY, okapiHeaders);
+    List<CompletableFuture<String>> futures = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      futures.add(limiter.execute(() -> createItemInInventory(itemRecord.copy().put(ID, id))));
     }
 
     return collectResultsOnSuccess(futures);
@@ -724,35 +817,21 @@ public class InventoryHelper extends AbstractHelper {
   }
 
   /**
-   * Caches id's in Vert.X Context and returns it by tenantId.entryType.key.
+   * Returns id of the entry configured for the tenant from the reference data cache shared by all the requests of the tenant
+   * or retrieves it from inventory.
    *
    * @param entryType name of object whose id we want to get from cache
    *
-   * @return value from cache
+   * @return json with the id of the entry by entry type
    */
   public CompletableFuture<JsonObject> getAndCache(String entryType) {
     return getEntryTypeValue(entryType)
-      .thenCompose(key -> {
-        String tenantSpecificKey = buildTenantSpecificKey(key, entryType);
-        JsonObject response = ctx.get(tenantSpecificKey);
-        if(response == null) {
-          String endpoint = buildLookupEndpoint(entryType, encodeQuery(key, logger), lang);
-          return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-            .thenApply(entries -> {
-              JsonObject result = new JsonObject();
-              result.put(entryType, getFirstObjectFromResponse(entries, entryType).getString(ID));
-              ctx.put(tenantSpecificKey, result);
-              return result;
-            });
-        } else {
-          return completedFuture(response);
-        }
-      });
-  }
-
-  private String buildTenantSpecificKey(String key, String entryType) {
-    String tenantId = TenantTool.tenantId(okapiHeaders);
-    return String.format(TENANT_SPECIFIC_KEY_FORMAT, tenantId, entryType, key);
+      .thenCompose(key -> referenceDataCache.get(ExpiringCache.key(okapiHeaders, entryType, key), ctx, () -> {
+        String endpoint = buildLookupEndpoint(entryType, encodeQuery(key, logger), lang);
+        return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
+          .thenApply(entries -> getFirstObjectFromResponse(entries, entryType).getString(ID));
+      }))
+      .thenApply(id -> new JsonObject().put(entryType, id));
   }
 
   /**
@@ -777,19 +856,11 @@ public class InventoryHelper extends AbstractHelper {
   }
 
   public CompletableFuture<String> getProductTypeUUID(String identifierType) {
-    String endpoint = String.format("/identifier-types?limit=1&query=name==%s&lang=%s", identifierType, lang);
-    return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(identifierTypes -> completedFuture(extractId(getFirstObjectFromResponse(identifierTypes, IDENTIFIER_TYPES))));
-  }
-
-  public CompletableFuture<String> convertToISBN13(String isbn) {
-    String convertEndpoint = String.format("/isbn/convertTo13?isbn=%s&lang=%s", isbn, lang);
-    return handleGetRequest(convertEndpoint, httpClient, ctx, okapiHeaders, logger).thenApply(json -> json.getString("isbn"))
-      .exceptionally(throwable -> {
-        logger.error("Can't convert {} to isbn13", isbn);
-        List<Parameter> parameters = Collections.singletonList(new Parameter().withKey("isbn").withValue(isbn));
-        throw new HttpException(400, ISBN_NOT_VALID.toError().withParameters(parameters));
-      });
+    return referenceDataCache.get(ExpiringCache.key(okapiHeaders, IDENTIFIER_TYPES, identifierType), ctx, () -> {
+      String endpoint = String.format("/identifier-types?limit=1&query=name==%s&lang=%s", identifierType, lang);
+      return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
+        .thenApply(identifierTypes -> extractId(getFirstObjectFromResponse(identifierTypes, IDENTIFIER_TYPES)));
+    });
   }
 
   public CompletableFuture<Void> updateItemWithPoLineId(String itemId, String poLineId) {
@@ -804,4 +875,24 @@ public class InventoryHelper extends AbstractHelper {
         }
       });
   }
+
+  /**
+   * Changes the time to live of the holdings cache and drops the cached entries.
+   *
+   * @param ttl time to live in milliseconds
+   */
+  static void setHoldingsCacheTtl(long ttl) {
+    holdingsCache.setTtl(ttl);
+  }
+
+  /**
+   * Restores the time to live of the holdings cache from {@code orders.cache.holdings.ttlMs} and drops the cached entries.
+   */
+  static void resetHoldingsCache() {
+    setHoldingsCacheTtl(getConfiguredHoldingsCacheTtl());
+  }
+
+  private static long getConfiguredHoldingsCacheTtl() {
+    return Long.getLong("orders.cache.holdings.ttlMs", 60000);
+  }
 }
@@ -0,0 +1,23 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.orders.utils.RequestMetrics;
+import org.folio.rest.jaxrs.resource.OrdersAdminMetrics;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+public class MetricsApi implements OrdersAdminMetrics {
+
+  @Override
+  public void getOrdersAdminMetrics(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext) {
+    asyncResultHandler.handle(succeededFuture(GetOrdersAdminMetricsResponse.respond200WithTextPlain(RequestMetrics.render())));
+  }
+}
@@ -44,8 +44,7 @@ public class OrderTemplatesHelper extends AbstractHelper {
     CompletableFuture<OrderTemplateCollection> future = new VertxCompletableFuture<>(ctx);
     try {
       String endpoint = String.format(GET_ORDER_TEMPLATES_BY_QUERY, limit, offset, buildQuery(query, logger), lang);
-      handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-        .thenCompose(json -> VertxCompletableFuture.supplyBlockingAsync(ctx, () -> json.mapTo(OrderTemplateCollection.class)))
+      handleGetRequest(endpoint, OrderTemplateCollection.class, httpClient, ctx, okapiHeaders, logger)
         .thenAccept(future::complete)
         .exceptionally(t -> {
           future.completeExceptionally(t.getCause());
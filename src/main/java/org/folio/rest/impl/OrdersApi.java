@@ -16,10 +16,13 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.ErrorCodes;
+import org.folio.orders.utils.PayloadLogger;
+import org.folio.orders.utils.RequestMetrics;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.CheckinCollection;
 import org.folio.rest.jaxrs.model.CompositePoLine;
 import org.folio.rest.jaxrs.model.CompositePurchaseOrder;
+import org.folio.rest.jaxrs.model.CompositePurchaseOrderBatch;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.OrderTemplate;
@@ -31,7 +34,6 @@ import org.folio.rest.jaxrs.resource.Orders;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -47,7 +49,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void deleteOrdersCompositeOrdersById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/composite-orders/{id}", okapiHeaders, resultHandler);
 
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
     helper
@@ -59,7 +62,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void getOrdersOrderLines(int offset, int limit, String query, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/order-lines", okapiHeaders, resultHandler);
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
     helper
       .getOrderLines(limit, offset, query)
@@ -70,7 +74,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void getOrdersCompositeOrdersById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/composite-orders/{id}", okapiHeaders, resultHandler);
 
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
     helper
@@ -82,7 +87,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersCompositeOrders(String lang, CompositePurchaseOrder compPO, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/composite-orders", okapiHeaders, resultHandler);
 
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
 
@@ -94,7 +100,7 @@ public class OrdersApi implements Orders {
           logger.info("Creating PO and POLines...");
           return helper.createPurchaseOrder(compPO)
             .thenAccept(withIds -> {
-              logger.info("Successfully Placed Order: " + JsonObject.mapFrom(withIds).encodePrettily());
+              PayloadLogger.logBody(logger, "Successfully Placed Order: {}", withIds);
               asyncResultHandler.handle(succeededFuture(helper
                 .buildResponseWithLocation(String.format(ORDERS_LOCATION_PREFIX, withIds.getId()), withIds)));
             });
@@ -105,11 +111,29 @@ public class OrdersApi implements Orders {
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
   }
 
+  @Override
+  @Validate
+  public void postOrdersCompositeOrdersBatch(String lang, CompositePurchaseOrderBatch batch, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/composite-orders/batch", okapiHeaders, resultHandler);
+
+    CompositeOrdersBatchHelper helper = new CompositeOrdersBatchHelper(okapiHeaders, vertxContext, lang);
+    logger.info("Creating {} PO(s) and their POLines...", batch.getCompositePurchaseOrders().size());
+    helper
+      .createPurchaseOrders(batch.getCompositePurchaseOrders())
+      .thenAccept(results -> {
+        logger.info("{} of {} PO(s) failed to be created", results.getFailedRecords(), results.getTotalRecords());
+        asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(results)));
+      })
+      .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
+  }
+
   @Override
   @Validate
   public void putOrdersCompositeOrdersById(String orderId, String lang, CompositePurchaseOrder compPO,
       Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/composite-orders/{id}", okapiHeaders, resultHandler);
     // Set order id from path if not specified in body
     populateOrderId(orderId, compPO);
 
@@ -122,9 +146,7 @@ public class OrdersApi implements Orders {
           helper
             .updateOrder(compPO)
             .thenAccept(v -> {
-              if (logger.isInfoEnabled()) {
-                logger.info("Successfully Updated Order: " + JsonObject.mapFrom(compPO).encodePrettily());
-              }
+              PayloadLogger.logBody(logger, "Successfully Updated Order: {}", compPO);
               asyncResultHandler.handle(succeededFuture(helper.buildNoContentResponse()));
             })
             .exceptionally(t -> {
@@ -154,7 +176,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersOrderLines(String lang, CompositePoLine poLine, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/order-lines", okapiHeaders, resultHandler);
 
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
 
@@ -166,9 +189,7 @@ public class OrdersApi implements Orders {
       .createPoLine(poLine)
       .thenAccept(pol -> {
         if (helper.getErrors().isEmpty()) {
-          if (logger.isInfoEnabled()) {
-            logger.info("Successfully added PO Line: " + JsonObject.mapFrom(pol).encodePrettily());
-          }
+          PayloadLogger.logBody(logger, "Successfully added PO Line: {}", pol);
           asyncResultHandler.handle(succeededFuture(helper
             .buildResponseWithLocation(String.format(ORDER_LINE_LOCATION_PREFIX, pol.getId()), pol)));
         } else {
@@ -181,16 +202,15 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void getOrdersOrderLinesById(String lineId, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/order-lines/{id}", okapiHeaders, resultHandler);
     logger.info("Started Invocation of POLine Request with id = {}", lineId);
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
 
     helper
       .getCompositePoLine(lineId)
       .thenAccept(poLine -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Received PO Line Response: {}", JsonObject.mapFrom(poLine).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Received PO Line Response: {}", poLine);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(poLine)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -199,7 +219,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void deleteOrdersOrderLinesById(String lineId, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/order-lines/{id}", okapiHeaders, resultHandler);
 
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
     helper
@@ -211,7 +232,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void getOrdersPoNumber(String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/po-number", okapiHeaders, resultHandler);
     logger.info("Receiving generated poNumber ...");
 
     new PoNumberHelper(okapiHeaders, vertxContext, lang)
@@ -223,7 +245,8 @@ public class OrdersApi implements Orders {
   @Validate
   public void putOrdersOrderLinesById(String lineId, String lang, CompositePoLine poLine,
       Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/order-lines/{id}", okapiHeaders, resultHandler);
     logger.info("Handling PUT Order Line operation...");
 
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
@@ -259,7 +282,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersPoNumberValidate(String lang, PoNumber poNumber, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/po-number/validate", okapiHeaders, resultHandler);
     PoNumberHelper helper = new PoNumberHelper(okapiHeaders, vertxContext, lang);
     logger.info("Validating a PO Number");
 
@@ -272,7 +296,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersReceive(String lang, ReceivingCollection entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/receive", okapiHeaders, resultHandler);
     logger.info("Receiving {} items", entity.getTotalRecords());
     ReceivingHelper helper = new ReceivingHelper(entity, okapiHeaders, vertxContext, lang);
     helper
@@ -284,7 +309,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersCheckIn(String lang, CheckinCollection entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/check-in", okapiHeaders, resultHandler);
     logger.info("Checkin {} items", entity.getTotalRecords());
     CheckinHelper helper = new CheckinHelper(entity, okapiHeaders, vertxContext, lang);
     helper
@@ -296,14 +322,13 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void getOrdersCompositeOrders(int offset, int limit, String query, String lang,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/composite-orders", okapiHeaders, resultHandler);
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
     helper
       .getPurchaseOrders(limit, offset, query)
       .thenAccept(orders -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved orders: " + JsonObject.mapFrom(orders).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved orders: {}", orders);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(orders)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -313,17 +338,15 @@ public class OrdersApi implements Orders {
   @Validate
   public void getOrdersReceivingHistory(int offset, int limit, String query, String lang,
       Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/receiving-history", okapiHeaders, resultHandler);
 
     ReceivingHelper helper = new ReceivingHelper(okapiHeaders, vertxContext, lang);
 
     helper
       .getReceivingHistory(limit, offset, query)
       .thenAccept(receivingHistory -> {
-        if (logger.isInfoEnabled()) {
-          logger
-            .info("Successfully retrieved receiving history: " + JsonObject.mapFrom(receivingHistory).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved receiving history: {}", receivingHistory);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(receivingHistory)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -332,14 +355,13 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void postOrdersPieces(String lang, Piece entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/pieces", okapiHeaders, resultHandler);
     PiecesHelper helper = new PiecesHelper(okapiHeaders, vertxContext, lang);
     helper
       .createPiece(entity)
       .thenAccept(piece -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created piece: " + JsonObject.mapFrom(piece).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created piece: {}", piece);
         asyncResultHandler.handle(succeededFuture(helper.buildCreatedResponse(piece)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -348,7 +370,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void putOrdersPiecesById(String pieceId, String lang, Piece piece, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/pieces/{id}", okapiHeaders, resultHandler);
     PiecesHelper putPieceHelper = new PiecesHelper(okapiHeaders, vertxContext, lang);
 
     if (StringUtils.isEmpty(piece.getId())) {
@@ -363,7 +386,8 @@ public class OrdersApi implements Orders {
   @Override
   @Validate
   public void deleteOrdersPiecesById(String pieceId, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/pieces/{id}", okapiHeaders, resultHandler);
     PiecesHelper deletePieceHelper = new PiecesHelper(okapiHeaders, vertxContext, lang);
     deletePieceHelper.deletePiece(pieceId)
       .thenAccept(ok -> asyncResultHandler.handle(succeededFuture(deletePieceHelper.buildNoContentResponse())))
@@ -372,13 +396,12 @@ public class OrdersApi implements Orders {
 
   @Override
   @Validate
-  public void postOrdersOrderTemplates(String lang, OrderTemplate entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void postOrdersOrderTemplates(String lang, OrderTemplate entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/order-templates", okapiHeaders, resultHandler);
     OrderTemplatesHelper helper = new OrderTemplatesHelper(okapiHeaders, vertxContext, lang);
     helper.createOrderTemplate(entity)
       .thenAccept(template -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully created new order template: " + JsonObject.mapFrom(template).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully created new order template: {}", template);
         asyncResultHandler.handle(succeededFuture(helper.buildResponseWithLocation(String.format(ORDER_TEMPLATE_LOCATION_PREFIX, template.getId()), template)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -386,13 +409,12 @@ public class OrdersApi implements Orders {
 
   @Override
   @Validate
-  public void getOrdersOrderTemplates(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersOrderTemplates(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/order-templates", okapiHeaders, resultHandler);
     OrderTemplatesHelper helper = new OrderTemplatesHelper(okapiHeaders, vertxContext, lang);
     helper.getOrderTemplates(query, offset, limit)
       .thenAccept(templates -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved order templates collection: " + JsonObject.mapFrom(templates).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved order templates collection: {}", templates);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(templates)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -400,7 +422,8 @@ public class OrdersApi implements Orders {
 
   @Override
   @Validate
-  public void putOrdersOrderTemplatesById(String id, String lang, OrderTemplate entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void putOrdersOrderTemplatesById(String id, String lang, OrderTemplate entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/order-templates/{id}", okapiHeaders, resultHandler);
     OrderTemplatesHelper helper = new OrderTemplatesHelper(okapiHeaders, vertxContext, lang);
 
     // Set template id if this is available only in path
@@ -423,13 +446,12 @@ public class OrdersApi implements Orders {
 
   @Override
   @Validate
-  public void getOrdersOrderTemplatesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersOrderTemplatesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/order-templates/{id}", okapiHeaders, resultHandler);
     OrderTemplatesHelper helper = new OrderTemplatesHelper(okapiHeaders, vertxContext, lang);
     helper.getOrderTemplateById(id)
       .thenAccept(template -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved order template: " + JsonObject.mapFrom(template).encodePrettily());
-        }
+        PayloadLogger.logBody(logger, "Successfully retrieved order template: {}", template);
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(template)));
       })
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
@@ -437,7 +459,8 @@ public class OrdersApi implements Orders {
 
   @Override
   @Validate
-  public void deleteOrdersOrderTemplatesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void deleteOrdersOrderTemplatesById(String id, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/order-templates/{id}", okapiHeaders, resultHandler);
     OrderTemplatesHelper helper = new OrderTemplatesHelper(okapiHeaders, vertxContext, lang);
     helper.deleteOrderTemplate(id)
       .thenAccept(ok -> {
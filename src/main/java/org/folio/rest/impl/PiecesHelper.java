@@ -64,7 +64,6 @@ import org.folio.rest.jaxrs.model.ProductId;
 import org.folio.rest.jaxrs.model.Title;
 
 import io.vertx.core.Context;
-import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
@@ -211,7 +210,7 @@ public class PiecesHelper extends AbstractHelper {
 
   public CompletableFuture<CompositePurchaseOrder> getCompositeOrderByPoLineId(String poLineId) {
     return getPoLineById(poLineId, lang, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(poLineJson -> HelperUtils.operateOnPoLine(HttpMethod.GET, poLineJson, httpClient, ctx, okapiHeaders, logger))
+      .thenCompose(poLineJson -> HelperUtils.getCompositePoLine(poLineJson, lang, httpClient, ctx, okapiHeaders, logger))
       .thenCompose(poLine ->
         getCompositePurchaseOrder(poLine.getPurchaseOrderId())
         .thenApply(purchaseOrder -> purchaseOrder.withCompositePoLines(Collections.singletonList(poLine)))
@@ -406,7 +405,6 @@ public class PiecesHelper extends AbstractHelper {
 
   public CompletableFuture<PieceCollection> getPieces(int limit, int offset, String query) {
     String endpoint = String.format(GET_PIECES_BY_QUERY, limit, offset, buildQuery(query, logger), lang);
-    return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(json -> VertxCompletableFuture.supplyBlockingAsync(ctx, () -> json.mapTo(PieceCollection.class)));
+    return HelperUtils.handleGetRequest(endpoint, PieceCollection.class, httpClient, ctx, okapiHeaders, logger);
   }
 }
@@ -1,25 +1,43 @@
 package org.folio.rest.impl;
 
+import static org.folio.orders.utils.ConcurrencyLimiter.ORDERS_STORAGE;
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.orders.utils.HelperUtils.encodeQuery;
 import static org.folio.orders.utils.HelperUtils.getPurchaseOrderByPONumber;
 import static org.folio.orders.utils.ResourcePathResolver.PO_NUMBER;
+import static org.folio.orders.utils.ResourcePathResolver.PURCHASE_ORDER;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import javax.ws.rs.core.Response;
 
 import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.ConcurrencyLimiter;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.HttpClientRegistry;
+import org.folio.orders.utils.PoNumberLease;
 import org.folio.rest.acq.model.SequenceNumber;
 import org.folio.rest.jaxrs.model.PoNumber;
+import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.jaxrs.model.PurchaseOrderCollection;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 
 import io.vertx.core.Context;
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
 
 public class PoNumberHelper extends AbstractHelper {
 
+  private static final String PO_NUMBER_FIELD = "poNumber";
+  private static final String SEARCH_ORDERS_BY_PO_NUMBERS = resourcesPath(PURCHASE_ORDER) + "?query=%s&limit=%d&lang=%s";
+
   public PoNumberHelper(HttpClientInterface httpClient, Map<String, String> okapiHeaders, Context ctx, String lang) {
     super(httpClient, okapiHeaders, ctx, lang);
   }
@@ -56,8 +74,55 @@ public class PoNumberHelper extends AbstractHelper {
       });
   }
 
+  /**
+   * Takes the next number from the storage sequence or from the block leased by the module instance, see {@link PoNumberLease}.
+   */
   CompletableFuture<String> generatePoNumber() {
-    return HelperUtils.handleGetRequest(resourcesPath(PO_NUMBER), httpClient, ctx, okapiHeaders, logger)
+    if (!PoNumberLease.isEnabled()) {
+      return loadPoNumber(httpClient);
+    }
+    // Numbers may be leased after this request is completed, so they are not loaded with the helper's client. A whole block is
+    // leased at once, so the requests to the sequence are limited as any other requests to the storage
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(ORDERS_STORAGE, okapiHeaders);
+    return PoNumberLease.next(okapiHeaders, ctx, () -> limiter.execute(() -> {
+      HttpClientInterface client = HttpClientRegistry.getHttpClient(okapiHeaders);
+      return loadPoNumber(client).whenComplete((number, t) -> HttpClientRegistry.release(client));
+    }));
+  }
+
+  /**
+   * Takes the given quantity of PO numbers at once, each of them as {@link #generatePoNumber()} does.
+   *
+   * @param quantity number of PO numbers to take
+   * @return future with the PO numbers in ascending order
+   */
+  CompletableFuture<List<String>> generatePoNumbers(int quantity) {
+    return collectResultsOnSuccess(IntStreamEx.range(quantity).mapToObj(i -> generatePoNumber()).toList())
+      .thenApply(numbers -> StreamEx.of(numbers).sorted(PoNumberLease.SEQUENCE_ORDER).toList());
+  }
+
+  /**
+   * Searches for the orders with any of the PO numbers, a few numbers per request.
+   *
+   * @param poNumbers PO numbers to check
+   * @return future with the PO numbers which are already used by orders
+   */
+  CompletableFuture<Set<String>> getPoNumbersInUse(Collection<String> poNumbers) {
+    return collectResultsOnSuccess(StreamEx.ofSubLists(StreamEx.of(poNumbers).distinct().toList(), MAX_IDS_FOR_GET_RQ)
+      .map(chunk -> {
+        String query = encodeQuery(convertIdsToCqlQuery(chunk, PO_NUMBER_FIELD), logger);
+        String endpoint = String.format(SEARCH_ORDERS_BY_PO_NUMBERS, query, chunk.size(), lang);
+        return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
+          .thenApply(json -> StreamEx.of(json.mapTo(PurchaseOrderCollection.class).getPurchaseOrders())
+            .map(PurchaseOrder::getPoNumber)
+            .toSet());
+      })
+      .toList())
+      .thenApply(results -> StreamEx.of(results).flatMap(Set::stream).toSet());
+  }
+
+  private CompletableFuture<String> loadPoNumber(HttpClientInterface client) {
+    return HelperUtils.handleGetRequest(resourcesPath(PO_NUMBER), client, ctx, okapiHeaders, logger)
       .thenApply(seqNumber -> seqNumber.mapTo(SequenceNumber.class).getSequenceNumber());
   }
 
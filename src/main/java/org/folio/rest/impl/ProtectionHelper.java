@@ -2,10 +2,7 @@ package org.folio.rest.impl;
 
 import static org.folio.orders.utils.ErrorCodes.ORDER_UNITS_NOT_FOUND;
 import static org.folio.orders.utils.ErrorCodes.USER_HAS_NO_PERMISSIONS;
-import static org.folio.orders.utils.HelperUtils.combineCqlExpressions;
-import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.impl.AcquisitionsUnitsHelper.ACQUISITIONS_UNIT_IDS;
-import static org.folio.rest.impl.AcquisitionsUnitsHelper.ALL_UNITS_CQL;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -118,10 +115,9 @@ public class ProtectionHelper extends AbstractHelper {
    * @return list of unit ids associated with user.
    */
   private CompletableFuture<Void> verifyUserIsMemberOfOrdersUnits(List<String> unitIdsAssignedToOrder) {
-    String query = String.format("userId==%s AND %s", getCurrentUserId(), convertIdsToCqlQuery(unitIdsAssignedToOrder, ACQUISITIONS_UNIT_ID, true));
-    return acquisitionsUnitsHelper.getAcquisitionsUnitsMemberships(query, 0, 0)
-      .thenAccept(unit -> {
-        if (unit.getTotalRecords() == 0) {
+    return acquisitionsUnitsHelper.isUserMemberOfAnyUnit(getCurrentUserId(), unitIdsAssignedToOrder)
+      .thenAccept(isMember -> {
+        if (!isMember) {
           throw new HttpException(HttpStatus.HTTP_FORBIDDEN.toInt(), USER_HAS_NO_PERMISSIONS);
         }
       });
@@ -144,10 +140,8 @@ public class ProtectionHelper extends AbstractHelper {
       return CompletableFuture.completedFuture(units);
     }
 
-    String query = combineCqlExpressions("and", ALL_UNITS_CQL, convertIdsToCqlQuery(unitIds));
-    return acquisitionsUnitsHelper.getAcquisitionsUnits(query, 0, Integer.MAX_VALUE)
-      .thenApply(acquisitionsUnitCollection -> {
-        List<AcquisitionsUnit> acquisitionsUnits = acquisitionsUnitCollection.getAcquisitionsUnits();
+    return acquisitionsUnitsHelper.getAcquisitionsUnitsByIds(unitIds)
+      .thenApply(acquisitionsUnits -> {
         fetchedUnits.addAll(acquisitionsUnits);
         return acquisitionsUnits;
       });
@@ -6,6 +6,7 @@ import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.folio.orders.utils.AcqDesiredPermissions.ASSIGN;
 import static org.folio.orders.utils.AcqDesiredPermissions.MANAGE;
+import static org.folio.orders.utils.ConcurrencyLimiter.INVENTORY;
 import static org.folio.orders.utils.ErrorCodes.APPROVAL_REQUIRED_TO_OPEN;
 import static org.folio.orders.utils.ErrorCodes.MISSING_ONGOING;
 import static org.folio.orders.utils.ErrorCodes.ONGOING_NOT_ALLOWED;
@@ -43,7 +44,6 @@ import static org.folio.orders.utils.POProtectedFields.getFieldNamesForOpenOrder
 import static org.folio.orders.utils.ProtectedOperationType.CREATE;
 import static org.folio.orders.utils.ProtectedOperationType.DELETE;
 import static org.folio.orders.utils.ProtectedOperationType.UPDATE;
-import static org.folio.orders.utils.ResourcePathResolver.ENCUMBRANCES;
 import static org.folio.orders.utils.ResourcePathResolver.PO_LINE_NUMBER;
 import static org.folio.orders.utils.ResourcePathResolver.PURCHASE_ORDER;
 import static org.folio.orders.utils.ResourcePathResolver.SEARCH_ORDERS;
@@ -66,6 +66,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -75,9 +76,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.HttpStatus;
 import org.folio.models.EncumbranceRelationsHolder;
 import org.folio.models.EncumbrancesProcessingHolder;
-import org.folio.models.PoLineFundHolder;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.AcqDesiredPermissions;
+import org.folio.orders.utils.ConcurrencyLimiter;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
 import org.folio.orders.utils.POLineProtectedFields;
@@ -102,7 +103,6 @@ import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
 import one.util.streamex.StreamEx;
 
 public class PurchaseOrderHelper extends AbstractHelper {
-  static final String ENCUMBRANCE_POST_ENDPOINT = resourcesPath(ENCUMBRANCES) + "?lang=%s";
   private static final String PERMISSION_ORDER_APPROVE = "orders.item.approve";
   private static final String PERMISSION_ORDER_UNOPEN = "orders.item.unopen";
   private static final String SEARCH_ORDERS_BY_LINES_DATA = resourcesPath(SEARCH_ORDERS) + SEARCH_PARAMS;
@@ -190,11 +190,23 @@ public class PurchaseOrderHelper extends AbstractHelper {
    * @return completable future with {@link CompositePurchaseOrder} object with populated uuid on success or an exception if processing fails
    */
   public CompletableFuture<CompositePurchaseOrder> createPurchaseOrder(CompositePurchaseOrder compPO) {
+    return createPurchaseOrder(compPO, this::setUniquePoNumber);
+  }
+
+  /**
+   * Same as {@link #createPurchaseOrder(CompositePurchaseOrder)} for the order which PO number is already assigned and checked
+   * to be unique, see {@link CompositeOrdersBatchHelper}.
+   */
+  CompletableFuture<CompositePurchaseOrder> createPurchaseOrderWithCheckedPoNumber(CompositePurchaseOrder compPO) {
+    return createPurchaseOrder(compPO, po -> completedFuture(null));
+  }
+
+  private CompletableFuture<CompositePurchaseOrder> createPurchaseOrder(CompositePurchaseOrder compPO,
+      Function<CompositePurchaseOrder, CompletableFuture<Void>> poNumberSetter) {
 
     return validateAcqUnitsOnCreate(compPO.getAcqUnitIds())
         .thenCompose(ok -> checkOrderApprovalPermissions(compPO))
-        .thenCompose(ok -> setPoNumberIfMissing(compPO)
-        .thenCompose(v -> poNumberHelper.checkPONumberUnique(compPO.getPoNumber()))
+        .thenCompose(ok -> poNumberSetter.apply(compPO)
         .thenCompose(v -> createPOandPOLines(compPO))
         .thenApply(this::populateOrderSummary));
   }
@@ -521,8 +533,9 @@ public class PurchaseOrderHelper extends AbstractHelper {
 
   private CompletableFuture<Void> updateItemsInInventory(List<JsonObject> items) {
     InventoryHelper inventoryHelper = new InventoryHelper(httpClient, okapiHeaders, ctx, lang);
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(INVENTORY, okapiHeaders);
     return VertxCompletableFuture.allOf(ctx, items.stream()
-      .map(inventoryHelper::updateItem)
+      .map(item -> limiter.execute(() -> inventoryHelper.updateItem(item)))
       .toArray(CompletableFuture[]::new));
   }
 
@@ -571,12 +584,7 @@ public class PurchaseOrderHelper extends AbstractHelper {
   }
 
   private CompletableFuture<Void> validateIsbnValues(CompositePurchaseOrder compPO) {
-    CompletableFuture[] futures = compPO.getCompositePoLines()
-      .stream()
-      .map(orderLineHelper::validateAndNormalizeISBN)
-      .toArray(CompletableFuture[]::new);
-
-    return VertxCompletableFuture.allOf(ctx, futures);
+    return orderLineHelper.validateAndNormalizeISBN(compPO.getCompositePoLines());
   }
 
   private CompletableFuture<Void> setCreateInventoryDefaultValues(CompositePurchaseOrder compPO) {
@@ -648,6 +656,15 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return super.getProcessingErrors();
   }
 
+  /**
+   * Generates PO number if it is missing, then checks that the number is not used yet. Generated numbers are checked too, the
+   * sequence may reach a number entered manually before.
+   */
+  private CompletableFuture<Void> setUniquePoNumber(CompositePurchaseOrder compPO) {
+    return setPoNumberIfMissing(compPO)
+      .thenCompose(v -> poNumberHelper.checkPONumberUnique(compPO.getPoNumber()));
+  }
+
   private CompletableFuture<Void> setPoNumberIfMissing(CompositePurchaseOrder compPO) {
     if (null == compPO.getPoNumber()) {
       return poNumberHelper.generatePoNumber()
@@ -659,13 +676,16 @@ public class PurchaseOrderHelper extends AbstractHelper {
   private CompletableFuture<Void> validateVendor(CompositePurchaseOrder compPO) {
     if (compPO.getWorkflowStatus() == WorkflowStatus.OPEN) {
       VendorHelper vendorHelper = new VendorHelper(httpClient, okapiHeaders, ctx, lang);
-      return vendorHelper.validateVendor(compPO)
-        .thenCompose(errors -> {
-          addProcessingErrors(errors.getErrors());
-          return fetchCompositePolLines(compPO)
-            .thenCompose(vendorHelper::validateAccessProviders);
-        })
-        .thenAccept(errors -> addProcessingErrors(errors.getErrors()));
+      // The vendor is validated even if the lines cannot be retrieved, so that its errors are not lost
+      return fetchCompositePolLines(compPO)
+        .handle((poLines, t) -> vendorHelper.validateVendorAndAccessProviders(compPO, t == null ? poLines : Collections.emptyList())
+          .thenAccept(errors -> {
+            addProcessingErrors(errors.getErrors());
+            if (t != null) {
+              throw t instanceof CompletionException ? (CompletionException) t : new CompletionException(t);
+            }
+          }))
+        .thenCompose(Function.identity());
     }
     return completedFuture(null);
   }
@@ -1091,20 +1111,7 @@ public class PurchaseOrderHelper extends AbstractHelper {
   }
 
   public CompletableFuture<Void> createEncumbrancesAndUpdatePoLines(List<EncumbranceRelationsHolder> relationsHolders) {
-    return VertxCompletableFuture.allOf(ctx, relationsHolders.stream()
-        .map(holder -> createRecordInStorage(JsonObject.mapFrom(holder.getTransaction()), String.format(ENCUMBRANCE_POST_ENDPOINT, lang))
-                              .thenCompose(id -> {
-                                PoLineFundHolder poLineFundHolder = holder.getPoLineFundHolder();
-                                poLineFundHolder.getFundDistribution().setEncumbrance(id);
-                                return orderLineHelper.updatePoLinesSummary(Collections.singletonList(poLineFundHolder.getPoLine()));
-                              })
-                              .exceptionally(fail -> {
-                                checkCustomTransactionError(fail);
-                                throw new CompletionException(fail);
-                              })
-        )
-      .toArray(CompletableFuture[]::new)
-    );
+    return orderLineHelper.createEncumbrancesAndUpdatePoLines(relationsHolders);
   }
 
 }
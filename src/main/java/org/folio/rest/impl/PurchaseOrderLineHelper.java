@@ -10,7 +10,9 @@ import static java.util.stream.Collectors.toSet;
 import static me.escoffier.vertx.completablefuture.VertxCompletableFuture.supplyBlockingAsync;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.folio.orders.utils.ConcurrencyLimiter.ORDERS_STORAGE;
 import static org.folio.orders.utils.ErrorCodes.INCORRECT_FUND_DISTRIBUTION_TOTAL;
+import static org.folio.orders.utils.ErrorCodes.ISBN_NOT_VALID;
 import static org.folio.orders.utils.ErrorCodes.PIECES_TO_BE_CREATED;
 import static org.folio.orders.utils.ErrorCodes.PIECES_TO_BE_DELETED;
 import static org.folio.orders.utils.HelperUtils.URL_WITH_LANG_PARAM;
@@ -44,7 +46,6 @@ import static org.folio.orders.utils.ResourcePathResolver.REPORTING_CODES;
 import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.orders.utils.validators.CompositePoLineValidationUtil.validatePoLine;
-import static org.folio.rest.impl.PurchaseOrderHelper.ENCUMBRANCE_POST_ENDPOINT;
 import static org.folio.rest.jaxrs.model.CompositePurchaseOrder.WorkflowStatus.OPEN;
 import static org.folio.rest.jaxrs.model.CompositePurchaseOrder.WorkflowStatus.PENDING;
 
@@ -77,9 +78,12 @@ import org.folio.models.PoLineFundHolder;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.rest.exceptions.InventoryException;
+import org.folio.orders.utils.ConcurrencyLimiter;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.IsbnNormalizer;
 import org.folio.orders.utils.POLineProtectedFields;
+import org.folio.orders.utils.PayloadLogger;
 import org.folio.orders.utils.ProtectedOperationType;
 import org.folio.rest.acq.model.Piece;
 import org.folio.rest.acq.model.PieceCollection;
@@ -151,12 +155,10 @@ class PurchaseOrderLineHelper extends AbstractHelper {
     try {
       String queryParam = isEmpty(query) ? EMPTY : "&query=" + encodeQuery(query, logger);
       String endpoint = String.format(path, limit, offset, queryParam, lang);
-      handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-        .thenAccept(jsonOrderLines -> {
-          if (logger.isInfoEnabled()) {
-            logger.info("Successfully retrieved order lines: {}", jsonOrderLines.encodePrettily());
-          }
-          future.complete(jsonOrderLines.mapTo(PoLineCollection.class));
+      handleGetRequest(endpoint, PoLineCollection.class, httpClient, ctx, okapiHeaders, logger)
+        .thenAccept(poLines -> {
+          logger.info("Successfully retrieved {} order lines", poLines.getTotalRecords());
+          future.complete(poLines);
         })
         .exceptionally(t -> {
           future.completeExceptionally(t);
@@ -473,21 +475,29 @@ class PurchaseOrderLineHelper extends AbstractHelper {
     return financeHelper.updateTransactions(encumbrances);
   }
 
+  /**
+   * Creates the encumbrances and links the created ones to the fund distributions. Every PO line with a created
+   * encumbrance is updated once, then the first failed encumbrance, if any, fails the returned future.
+   */
   public CompletableFuture<Void> createEncumbrancesAndUpdatePoLines(List<EncumbranceRelationsHolder> relationsHolders) {
-    return VertxCompletableFuture.allOf(ctx, relationsHolders.stream()
-      .map(holder -> createRecordInStorage(JsonObject.mapFrom(holder.getTransaction()), String.format(ENCUMBRANCE_POST_ENDPOINT, lang))
-        .thenCompose(id -> {
-          PoLineFundHolder poLineFundHolder = holder.getPoLineFundHolder();
-          poLineFundHolder.getFundDistribution().setEncumbrance(id);
-          return updatePoLinesSummary(Collections.singletonList(poLineFundHolder.getPoLine()));
-        })
-        .exceptionally(fail -> {
-          checkCustomTransactionError(fail);
-          throw new CompletionException(fail);
-        })
-      )
-      .toArray(CompletableFuture[]::new)
-    );
+    List<Transaction> encumbrances = relationsHolders.stream()
+      .map(EncumbranceRelationsHolder::getTransaction)
+      .collect(toList());
+    return financeHelper.createEncumbrances(encumbrances)
+      .thenCompose(failures -> {
+        List<CompositePoLine> poLines = StreamEx.of(relationsHolders)
+          .remove(holder -> failures.containsKey(holder.getTransaction().getId()))
+          .map(holder -> {
+            PoLineFundHolder poLineFundHolder = holder.getPoLineFundHolder();
+            poLineFundHolder.getFundDistribution().setEncumbrance(holder.getTransaction().getId());
+            return poLineFundHolder.getPoLine();
+          })
+          .distinct(CompositePoLine::getId)
+          .toList();
+        return updatePoLinesSummary(poLines)
+          .thenAccept(v -> failures.values().stream().findFirst()
+            .ifPresent(t -> checkCustomTransactionError(new CompletionException(t))));
+      });
   }
 
 
@@ -599,9 +609,10 @@ class PurchaseOrderLineHelper extends AbstractHelper {
   }
 
   public CompletableFuture<Void> updatePoLinesSummary(List<CompositePoLine> compositePoLines) {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(ORDERS_STORAGE, okapiHeaders);
     return VertxCompletableFuture.allOf(ctx, compositePoLines.stream()
       .map(HelperUtils::convertToPoLine)
-      .map(line -> updateOrderLineSummary(line.getId(), JsonObject.mapFrom(line)))
+      .map(line -> limiter.execute(() -> updateOrderLineSummary(line.getId(), JsonObject.mapFrom(line))))
       .toArray(CompletableFuture[]::new));
   }
 
@@ -711,7 +722,7 @@ class PurchaseOrderLineHelper extends AbstractHelper {
 
 
   private CompletionStage<CompositePoLine> populateCompositeLine(JsonObject poline) {
-    return HelperUtils.operateOnPoLine(HttpMethod.GET, poline, httpClient, ctx, okapiHeaders, logger)
+    return HelperUtils.getCompositePoLine(poline, lang, httpClient, ctx, okapiHeaders, logger)
       .thenCompose(this::getLineWithInstanceId);
   }
 
@@ -781,7 +792,10 @@ class PurchaseOrderLineHelper extends AbstractHelper {
         piecesToCreate.addAll(createPiecesWithoutLocationId(compPOL, existingPieces));
         piecesToCreate.forEach(piece -> piece.setTitleId(titleId));
 
-        return allOf(piecesToCreate.stream().map(this::createPiece).toArray(CompletableFuture[]::new));
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(ORDERS_STORAGE, okapiHeaders);
+        return allOf(piecesToCreate.stream()
+          .map(piece -> limiter.execute(() -> createPiece(piece)))
+          .toArray(CompletableFuture[]::new));
       })
       .thenAccept(v -> validateItemsCreation(compPOL, createdItemsQuantity));
   }
@@ -832,9 +846,8 @@ class PurchaseOrderLineHelper extends AbstractHelper {
    */
   private CompletableFuture<List<Piece>> searchForExistingPieces(CompositePoLine compPOL) {
     String endpoint = String.format(LOOKUP_PIECES_ENDPOINT, compPOL.getId(), calculateTotalQuantity(compPOL), lang);
-    return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenApply(body -> {
-        PieceCollection existedPieces = body.mapTo(PieceCollection.class);
+    return handleGetRequest(endpoint, PieceCollection.class, httpClient, ctx, okapiHeaders, logger)
+      .thenApply(existedPieces -> {
         logger.debug("{} existing pieces found out for PO Line with '{}' id", existedPieces.getTotalRecords(), compPOL.getId());
         return existedPieces.getPieces();
       });
@@ -894,7 +907,7 @@ class PurchaseOrderLineHelper extends AbstractHelper {
     createRecordInStorage(pieceObj, resourcesPath(PIECES))
       .thenAccept(id -> future.complete(null))
       .exceptionally(t -> {
-        logger.error("The piece record failed to be created. The request body: {}", pieceObj.encodePrettily());
+        logger.error("The piece record failed to be created. The request body: {}", PayloadLogger.payload(pieceObj));
         future.completeExceptionally(t);
         return null;
       });
@@ -1095,24 +1108,47 @@ class PurchaseOrderLineHelper extends AbstractHelper {
   }
 
   public CompletableFuture<Void> validateAndNormalizeISBN(CompositePoLine compPOL) {
-    if (HelperUtils.isProductIdsExist(compPOL)) {
-      return inventoryHelper.getProductTypeUUID(ISBN)
-        .thenCompose(id -> validateIsbnValues(compPOL, id)
-          .thenAccept(aVoid -> removeISBNDuplicates(compPOL, id)));
+    return validateAndNormalizeISBN(Collections.singletonList(compPOL));
+  }
+
+  /**
+   * Validates ISBN product ids of all the lines, converts them to ISBN-13 and removes duplicates. The values are converted in
+   * process, only ISBN identifier type id is retrieved from inventory.
+   *
+   * @param compositePoLines PO lines to process
+   * @return future completed exceptionally with 400 {@link HttpException} if any ISBN is not valid
+   */
+  public CompletableFuture<Void> validateAndNormalizeISBN(List<CompositePoLine> compositePoLines) {
+    List<CompositePoLine> linesWithProductIds = compositePoLines.stream()
+      .filter(HelperUtils::isProductIdsExist)
+      .collect(toList());
+    if (linesWithProductIds.isEmpty()) {
+      return completedFuture(null);
     }
-    return completedFuture(null);
+
+    return inventoryHelper.getProductTypeUUID(ISBN)
+      .thenAccept(isbnTypeId -> linesWithProductIds.forEach(compPOL -> {
+        validateIsbnValues(compPOL, isbnTypeId);
+        removeISBNDuplicates(compPOL, isbnTypeId);
+      }));
   }
 
-  CompletableFuture<Void> validateIsbnValues(CompositePoLine compPOL, String isbnTypeId) {
-    CompletableFuture[] futures = compPOL.getDetails()
+  void validateIsbnValues(CompositePoLine compPOL, String isbnTypeId) {
+    compPOL.getDetails()
       .getProductIds()
       .stream()
       .filter(productId -> isISBN(isbnTypeId, productId))
-      .map(productID -> inventoryHelper.convertToISBN13(productID.getProductId())
-        .thenAccept(productID::setProductId))
-      .toArray(CompletableFuture[]::new);
+      .forEach(productId -> productId.setProductId(convertToISBN13(productId.getProductId())));
+  }
 
-    return VertxCompletableFuture.allOf(ctx, futures);
+  private String convertToISBN13(String isbn) {
+    String isbn13 = IsbnNormalizer.convertTo13(isbn);
+    if (isbn13 == null) {
+      logger.error("Can't convert {} to isbn13", isbn);
+      List<Parameter> parameters = Collections.singletonList(new Parameter().withKey("isbn").withValue(isbn));
+      throw new HttpException(400, ISBN_NOT_VALID.toError().withParameters(parameters));
+    }
+    return isbn13;
   }
 
   private void removeISBNDuplicates(CompositePoLine compPOL, String isbnTypeId) {
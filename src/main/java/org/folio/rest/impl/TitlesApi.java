@@ -10,6 +10,7 @@ import java.util.Map;
 
 import javax.ws.rs.core.Response;
 
+import org.folio.orders.utils.RequestMetrics;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Title;
 import org.folio.rest.jaxrs.resource.OrdersTitles;
@@ -25,7 +26,8 @@ public class TitlesApi implements OrdersTitles {
   @Override
   @Validate
   public void getOrdersTitles(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/titles", okapiHeaders, resultHandler);
 
     TitlesHelper titlesHelper = new TitlesHelper(okapiHeaders, vertxContext, lang);
     titlesHelper.getTitles(limit, offset, query)
@@ -36,7 +38,8 @@ public class TitlesApi implements OrdersTitles {
   @Override
   @Validate
   public void postOrdersTitles(String lang, Title entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("POST /orders/titles", okapiHeaders, resultHandler);
     TitlesHelper titlesHelper = new TitlesHelper(okapiHeaders, vertxContext, lang);
     titlesHelper.createTitle(entity)
       .thenAccept(title -> asyncResultHandler.handle(
@@ -47,7 +50,8 @@ public class TitlesApi implements OrdersTitles {
   @Override
   @Validate
   public void getOrdersTitlesById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("GET /orders/titles/{id}", okapiHeaders, resultHandler);
     TitlesHelper titlesHelper = new TitlesHelper(okapiHeaders, vertxContext, lang);
     titlesHelper.getTitle(id)
       .thenAccept(title -> asyncResultHandler.handle(succeededFuture(titlesHelper.buildOkResponse(title))))
@@ -57,7 +61,8 @@ public class TitlesApi implements OrdersTitles {
   @Override
   @Validate
   public void deleteOrdersTitlesById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("DELETE /orders/titles/{id}", okapiHeaders, resultHandler);
     TitlesHelper titlesHelper = new TitlesHelper(okapiHeaders, vertxContext, lang);
     titlesHelper.deleteTitle(id)
       .thenAccept(v -> asyncResultHandler.handle(succeededFuture(titlesHelper.buildNoContentResponse())))
@@ -67,7 +72,8 @@ public class TitlesApi implements OrdersTitles {
   @Override
   @Validate
   public void putOrdersTitlesById(String id, String lang, Title entity, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> resultHandler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = RequestMetrics.operation("PUT /orders/titles/{id}", okapiHeaders, resultHandler);
     TitlesHelper titlesHelper = new TitlesHelper(okapiHeaders, vertxContext, lang);
     // Set id if this is available only in path
     if (isEmpty(entity.getId())) {
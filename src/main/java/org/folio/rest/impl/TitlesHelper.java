@@ -91,8 +91,7 @@ public class TitlesHelper extends AbstractHelper {
 
   public CompletableFuture<TitleCollection> getTitles(int limit, int offset, String query) {
     String endpoint = String.format(GET_TITLES_BY_QUERY, limit, offset, buildQuery(query, logger), lang);
-    return HelperUtils.handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenCompose(json -> VertxCompletableFuture.supplyBlockingAsync(ctx, () -> json.mapTo(TitleCollection.class)));
+    return HelperUtils.handleGetRequest(endpoint, TitleCollection.class, httpClient, ctx, okapiHeaders, logger);
   }
 
   public CompletableFuture<Title> getTitle(String id) {
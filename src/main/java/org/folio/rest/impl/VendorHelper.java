@@ -7,20 +7,25 @@ import static org.folio.orders.utils.ErrorCodes.ORGANIZATION_NOT_A_VENDOR;
 import static org.folio.orders.utils.ErrorCodes.POL_ACCESS_PROVIDER_IS_INACTIVE;
 import static org.folio.orders.utils.ErrorCodes.POL_ACCESS_PROVIDER_NOT_FOUND;
 import static org.folio.orders.utils.ErrorCodes.VENDOR_ISSUE;
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.encodeQuery;
 import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import org.folio.HttpStatus;
-import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.ErrorCodes;
+import org.folio.orders.utils.ExpiringCache;
 import org.folio.rest.acq.model.Organization;
 import org.folio.rest.jaxrs.model.CompositePoLine;
 import org.folio.rest.jaxrs.model.CompositePurchaseOrder;
@@ -32,64 +37,42 @@ import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 import io.vertx.core.Context;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+import one.util.streamex.StreamEx;
 
 
 public class VendorHelper extends AbstractHelper {
 
 
   static final String ORGANIZATIONS = "organizations";
-  private static final String ORGANIZATIONS_STORAGE_VENDORS = "/organizations-storage/organizations/";
   private static final String ORGANIZATIONS_WITH_QUERY_ENDPOINT = "/organizations-storage/organizations?limit=%d&lang=%s&query=%s";
   private static final String PO_LINE_NUMBER = "poLineNumber";
 
+  static final String CACHE_TTL_PROPERTY = "orders.cache.organizations.ttlMs";
+  static final String NOT_FOUND_CACHE_TTL_PROPERTY = "orders.cache.organizations.notFoundTtlMs";
+  static final String CACHE_SIZE_PROPERTY = "orders.cache.organizations.maxSize";
+
+  private static final ExpiringCache<JsonObject> organizationsCache = createCache("organizations", getConfiguredCacheTtl());
+  private static final ExpiringCache<Boolean> notFoundOrganizationsCache = createCache("organizations-not-found",
+      getConfiguredNotFoundCacheTtl());
+
 
   public VendorHelper(HttpClientInterface httpClient, Map<String, String> okapiHeaders, Context ctx, String lang) {
     super(httpClient, okapiHeaders, ctx, lang);
   }
 
   /**
-   * Checks if vendor in {@link CompositePurchaseOrder} exists in Organizations
-   * and has status "Active" with isVendor flag enabled. If not, adds
-   * corresponding error to {@link Errors} object.
+   * Checks if vendor of {@link CompositePurchaseOrder} and access providers of its lines exist in Organizations. The vendor must
+   * have status "Active" and isVendor flag enabled, the access providers must be "Active". If not, adds corresponding error to
+   * {@link Errors} object. All the organizations are retrieved at once.
    *
    * @param compPO
    *          composite purchase order
+   * @param poLines
+   *          list of composite purchase order lines
    * @return CompletableFuture with {@link Errors} object
    */
-  public CompletableFuture<Errors> validateVendor(CompositePurchaseOrder compPO) {
-    CompletableFuture<Errors> future = new VertxCompletableFuture<>(ctx);
-    String id = compPO.getVendor();
-
-    logger.debug("Validating vendor with id={}", id);
-
-    List<Error> errors = new ArrayList<>();
-    if (id != null) {
-      getVendorById(id)
-        .thenApply(organization -> {
-          if(!organization.getStatus().equals(Organization.Status.ACTIVE)) {
-            errors.add(createErrorWithId(ORDER_VENDOR_IS_INACTIVE, id));
-          }
-          if (null == organization.getIsVendor() || !organization.getIsVendor()) {
-            errors.add(createErrorWithId(ORGANIZATION_NOT_A_VENDOR, id));
-          }
-          return handleAndReturnErrors(errors);
-        })
-        .thenAccept(future::complete)
-        .exceptionally(t -> {
-          Throwable cause = t.getCause();
-          if (cause instanceof HttpException && HttpStatus.HTTP_NOT_FOUND.toInt() == (((HttpException) cause).getCode())) {
-            errors.add(createErrorWithId(ORDER_VENDOR_NOT_FOUND, id));
-          } else {
-            logger.error("Failed to validate vendor's status", cause);
-            errors.add(createErrorWithId(VENDOR_ISSUE, id).withAdditionalProperty(ERROR_CAUSE, cause.getMessage()));
-          }
-          future.complete(handleAndReturnErrors(errors));
-          return null;
-        });
-    } else {
-      future.complete(handleAndReturnErrors(errors));
-    }
-    return future;
+  public CompletableFuture<Errors> validateVendorAndAccessProviders(CompositePurchaseOrder compPO, List<CompositePoLine> poLines) {
+    return validateOrganizations(compPO.getVendor(), poLines);
   }
 
   /**
@@ -98,49 +81,111 @@ public class VendorHelper extends AbstractHelper {
    * @return CompletableFuture with {@link Errors} object
    */
   public CompletableFuture<Errors> validateAccessProviders(List<CompositePoLine> poLines) {
+    return validateOrganizations(null, poLines);
+  }
+
+  /**
+   * Loads the organizations into the cache a few at once, so that the orders validated together do not retrieve them one by one.
+   * A failure is not reported, the organizations are retrieved again when they are validated.
+   *
+   * @param organizationIds ids of vendors and access providers
+   * @return future completed when the organizations are loaded
+   */
+  public CompletableFuture<Void> preloadOrganizations(Collection<String> organizationIds) {
+    return collectResultsOnSuccess(StreamEx.ofSubLists(StreamEx.of(organizationIds).distinct().toList(), MAX_IDS_FOR_GET_RQ)
+      .map(ids -> getOrganizationsByIds(new LinkedHashSet<>(ids)))
+      .toList())
+      .handle((organizations, t) -> {
+        if (t != null) {
+          logger.warn("Failed to preload {} organization(s): {}", organizationIds.size(), t.getMessage());
+        }
+        return null;
+      });
+  }
+
+  private CompletableFuture<Errors> validateOrganizations(String vendorId, List<CompositePoLine> poLines) {
     CompletableFuture<Errors> future = new VertxCompletableFuture<>(ctx);
 
     Map<String, List<CompositePoLine>> poLinesMap =
       poLines.stream()
         .filter(p -> (p.getEresource() != null && p.getEresource().getAccessProvider() != null))
-        .collect(Collectors.groupingBy(p -> p.getEresource().getAccessProvider()));
+        .collect(Collectors.groupingBy(p -> p.getEresource().getAccessProvider(), LinkedHashMap::new, toList()));
 
-    Set<String> ids = poLinesMap.keySet();
+    Set<String> ids = new LinkedHashSet<>();
+    if (vendorId != null) {
+      logger.debug("Validating vendor with id={}", vendorId);
+      ids.add(vendorId);
+    }
+    if (!poLinesMap.isEmpty()) {
+      logger.debug("Validating {} access provider(s) for order with id={}", poLinesMap.size(), poLines.get(0).getPurchaseOrderId());
+      ids.addAll(poLinesMap.keySet());
+    } else {
+      logger.debug("Order does not have any access provider to validate");
+    }
 
     List<Error> errors = new ArrayList<>();
     if (!ids.isEmpty()) {
-      logger.debug("Validating {} access provider(s) for order with id={}", ids.size(), poLines.get(0).getPurchaseOrderId());
-
-      getAccessProvidersByIds(ids).thenApply(organizations -> {
-        // Validate access provider status Active
-        organizations.forEach(organization -> {
-          if(!organization.getStatus().equals(Organization.Status.ACTIVE)) {
-            errors.add(createErrorWithId(POL_ACCESS_PROVIDER_IS_INACTIVE, organization.getId(), poLinesMap.get(organization.getId())));
+      getOrganizationsByIds(ids)
+        .thenApply(organizations -> {
+          if (vendorId != null) {
+            validateVendor(vendorId, organizations.get(vendorId), errors);
           }
-        });
-        // Validate access provider existence
-        List<String> vendorsIds = organizations.stream()
-          .map(Organization::getId)
-          .collect(toList());
-        ids.stream()
-          .filter(id -> !vendorsIds.contains(id))
-          .forEach(id -> errors.add(createErrorWithId(POL_ACCESS_PROVIDER_NOT_FOUND, id, poLinesMap.get(id))));
-        return handleAndReturnErrors(errors);
-      }).thenAccept(future::complete)
+          poLinesMap.forEach((id, lines) -> validateAccessProvider(id, organizations.get(id), lines, errors));
+          return handleAndReturnErrors(errors);
+        })
+        .thenAccept(future::complete)
         .exceptionally(t -> {
           Throwable cause = t.getCause();
-          logger.error("Failed to validate access provider's status", cause);
-          errors.add(VENDOR_ISSUE.toError().withAdditionalProperty(ERROR_CAUSE, cause.getMessage()));
+          logger.error("Failed to validate vendor's and access providers' status", cause);
+          // One error for the failed lookup, which includes the vendor if any
+          Error error = vendorId != null ? createErrorWithId(VENDOR_ISSUE, vendorId) : VENDOR_ISSUE.toError();
+          errors.add(error.withAdditionalProperty(ERROR_CAUSE, cause.getMessage()));
           future.complete(handleAndReturnErrors(errors));
           return null;
         });
     } else {
-      logger.debug("Order does not have any access provider to validate");
       future.complete(handleAndReturnErrors(errors));
     }
     return future;
   }
 
+  private void validateVendor(String id, JsonObject json, List<Error> errors) {
+    if (json == null) {
+      errors.add(createErrorWithId(ORDER_VENDOR_NOT_FOUND, id));
+      return;
+    }
+
+    try {
+      Organization organization = json.mapTo(Organization.class);
+      if (!organization.getStatus().equals(Organization.Status.ACTIVE)) {
+        errors.add(createErrorWithId(ORDER_VENDOR_IS_INACTIVE, id));
+      }
+      if (null == organization.getIsVendor() || !organization.getIsVendor()) {
+        errors.add(createErrorWithId(ORGANIZATION_NOT_A_VENDOR, id));
+      }
+    } catch (Exception e) {
+      logger.error("Failed to validate vendor's status", e);
+      errors.add(createErrorWithId(VENDOR_ISSUE, id).withAdditionalProperty(ERROR_CAUSE, e.getMessage()));
+    }
+  }
+
+  private void validateAccessProvider(String id, JsonObject json, List<CompositePoLine> poLines, List<Error> errors) {
+    if (json == null) {
+      errors.add(createErrorWithId(POL_ACCESS_PROVIDER_NOT_FOUND, id, poLines));
+      return;
+    }
+
+    try {
+      Organization organization = json.mapTo(Organization.class);
+      if (!organization.getStatus().equals(Organization.Status.ACTIVE)) {
+        errors.add(createErrorWithId(POL_ACCESS_PROVIDER_IS_INACTIVE, id, poLines));
+      }
+    } catch (Exception e) {
+      logger.error("Failed to validate access provider's status", e);
+      errors.add(VENDOR_ISSUE.toError().withAdditionalProperty(ERROR_CAUSE, e.getMessage()));
+    }
+  }
+
   /**
    * Builds {@link Errors} object based on list of {@link Error}
    *
@@ -185,30 +230,77 @@ public class VendorHelper extends AbstractHelper {
   }
 
   /**
-   * Retrieves vendor by id
+   * Retrieves organizations by ids. The organizations are cached per tenant for {@code orders.cache.organizations.ttlMs}, ids
+   * which are not found for {@code orders.cache.organizations.notFoundTtlMs}. The ones which are not cached are retrieved with
+   * one request.
    *
-   * @param vendorId vendor's id
-   * @return CompletableFuture with {@link Organization} object
+   * @param organizationIds - {@link Set<String>} of organization ids
+   * @return CompletableFuture with organizations by id, the ones which are not found are missing
    */
-  private CompletableFuture<Organization> getVendorById(String vendorId) {
-    return handleGetRequest(ORGANIZATIONS_STORAGE_VENDORS + vendorId, httpClient, ctx, okapiHeaders, logger)
-      .thenApply(json -> json.mapTo(Organization.class));
+  private CompletableFuture<Map<String, JsonObject>> getOrganizationsByIds(Set<String> organizationIds) {
+    Map<String, String> idsByKey = new LinkedHashMap<>();
+    organizationIds.forEach(id -> {
+      String key = ExpiringCache.key(okapiHeaders, ORGANIZATIONS, id);
+      if (!notFoundOrganizationsCache.containsKey(key)) {
+        idsByKey.put(key, id);
+      }
+    });
+
+    if (idsByKey.isEmpty()) {
+      return CompletableFuture.completedFuture(Collections.emptyMap());
+    }
+
+    return organizationsCache.getAll(new ArrayList<>(idsByKey.keySet()), ctx, keys -> {
+      List<String> ids = keys.stream().map(idsByKey::get).collect(toList());
+      String query = convertIdsToCqlQuery(ids);
+      String endpoint = String.format(ORGANIZATIONS_WITH_QUERY_ENDPOINT, ids.size(), lang, encodeQuery(query, logger));
+      return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
+        .thenApply(jsons -> {
+          Map<String, JsonObject> organizations = new HashMap<>();
+          jsons.getJsonArray(ORGANIZATIONS)
+            .stream()
+            .map(JsonObject.class::cast)
+            .forEach(json -> organizations.put(ExpiringCache.key(okapiHeaders, ORGANIZATIONS, json.getString(ID)), json));
+          keys.stream()
+            .filter(key -> !organizations.containsKey(key))
+            .forEach(key -> notFoundOrganizationsCache.put(key, Boolean.TRUE));
+          return organizations;
+        });
+    }).thenApply(organizations -> {
+      Map<String, JsonObject> organizationsById = new HashMap<>();
+      organizations.forEach((key, json) -> organizationsById.put(idsByKey.get(key), json));
+      return organizationsById;
+    });
   }
 
   /**
-   * Retrieves set of access providers
+   * Changes the time to live of the organizations and not found organizations caches and drops the cached entries.
    *
-   * @param accessProviderIds - {@link Set<String>} of access providers id
-   * @return CompletableFuture with {@link List<Organization>} of vendors
+   * @param ttl time to live in milliseconds
    */
-  private CompletableFuture<List<Organization>> getAccessProvidersByIds(Set<String> accessProviderIds) {
-    String query = convertIdsToCqlQuery(new ArrayList<>(accessProviderIds));
-    String endpoint = String.format(ORGANIZATIONS_WITH_QUERY_ENDPOINT, accessProviderIds.size(), lang, encodeQuery(query, logger));
-    return handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
-      .thenApply(jsons -> jsons.getJsonArray(ORGANIZATIONS)
-        .stream()
-        .map(obj -> ((JsonObject) obj).mapTo(Organization.class))
-        .collect(toList())
-      );
+  static void setCacheTtl(long ttl) {
+    organizationsCache.setTtl(ttl);
+    notFoundOrganizationsCache.setTtl(ttl);
+  }
+
+  /**
+   * Restores the time to live of the caches from {@code orders.cache.organizations.ttlMs} and
+   * {@code orders.cache.organizations.notFoundTtlMs} and drops the cached entries.
+   */
+  static void resetCaches() {
+    organizationsCache.setTtl(getConfiguredCacheTtl());
+    notFoundOrganizationsCache.setTtl(getConfiguredNotFoundCacheTtl());
+  }
+
+  private static long getConfiguredCacheTtl() {
+    return Long.getLong(CACHE_TTL_PROPERTY, 60000);
+  }
+
+  private static long getConfiguredNotFoundCacheTtl() {
+    return Long.getLong(NOT_FOUND_CACHE_TTL_PROPERTY, 10000);
+  }
+
+  private static <T> ExpiringCache<T> createCache(String name, long ttl) {
+    return new ExpiringCache<>(name, Integer.getInteger(CACHE_SIZE_PROPERTY, 10000), ttl);
   }
 }
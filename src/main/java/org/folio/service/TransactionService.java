@@ -1,22 +1,34 @@
 package org.folio.service;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.orders.utils.ConcurrencyLimiter.FINANCE;
 import static org.folio.orders.utils.HelperUtils.URL_WITH_LANG_PARAM;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.getEndpointWithQuery;
 import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 import static org.folio.orders.utils.HelperUtils.handlePostWithEmptyBody;
+import static org.folio.orders.utils.ResourcePathResolver.ENCUMBRANCES;
 import static org.folio.orders.utils.ResourcePathResolver.FINANCE_RELEASE_ENCUMBRANCE;
 import static org.folio.orders.utils.ResourcePathResolver.ORDER_TRANSACTION_SUMMARIES;
 import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_ENDPOINT;
+import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_STORAGE_BATCH;
 import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_STORAGE_ENDPOINT;
 import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import org.folio.orders.utils.BatchApiSupport;
+import org.folio.orders.utils.ConcurrencyLimiter;
+import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.PayloadLogger;
 import org.folio.rest.acq.model.finance.OrderTransactionSummary;
 import org.folio.rest.acq.model.finance.Transaction;
 import org.folio.rest.acq.model.finance.TransactionCollection;
@@ -24,12 +36,20 @@ import org.folio.rest.impl.AbstractHelper;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 
 import io.vertx.core.Context;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.completablefuture.VertxCompletableFuture;
+import one.util.streamex.StreamEx;
 
 public class TransactionService extends AbstractHelper {
   private static final String TRANSACTION_ENDPOINT_BY_QUERY = resourcesPath(TRANSACTIONS_ENDPOINT) + SEARCH_PARAMS;
   public static final String TRANSACTION_STORAGE_ENDPOINT_BYID = resourceByIdPath(TRANSACTIONS_STORAGE_ENDPOINT) + URL_WITH_LANG_PARAM;
+  private static final String TRANSACTIONS_TO_UPDATE = "transactionsToUpdate";
+  private static final String BATCH_API = resourcesPath(TRANSACTIONS_STORAGE_BATCH);
+
+  /** Number of transactions sent in one request to the batch API of the finance storage, {@code 0} or {@code 1} switches it off */
+  private static final int BATCH_SIZE = Integer.getInteger("orders.finance.batchSize", 100);
 
   public TransactionService(Map<String, String> okapiHeaders, Context ctx, String lang) {
     super(getHttpClient(okapiHeaders), okapiHeaders, ctx, lang);
@@ -46,8 +66,12 @@ public class TransactionService extends AbstractHelper {
       String endpoint = String.format(TRANSACTION_ENDPOINT_BY_QUERY, limit, offset, queryParam, lang);
       handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger)
         .thenAccept(jsonTransactions -> {
-          logger.info("Successfully retrieved voucher lines: " + jsonTransactions.encodePrettily());
-          future.complete(jsonTransactions.mapTo(TransactionCollection.class));
+          TransactionCollection transactions = jsonTransactions.mapTo(TransactionCollection.class);
+          logger.info("Successfully retrieved {} transactions", transactions.getTotalRecords());
+          if (PayloadLogger.isEnabled(logger, endpoint)) {
+            logger.debug("The retrieved transactions: {}", PayloadLogger.payload(jsonTransactions));
+          }
+          future.complete(transactions);
         })
         .exceptionally(t -> {
           logger.error("Error getting voucher lines", t);
@@ -72,8 +96,9 @@ public class TransactionService extends AbstractHelper {
     try {
       String endpoint = String.format(URL_WITH_LANG_PARAM, resourceByIdPath(ORDER_TRANSACTION_SUMMARIES, orderId), lang);
       handleGetRequest(endpoint, httpClient, ctx, okapiHeaders, logger).thenAccept(jsonObject -> {
-        if (logger.isInfoEnabled()) {
-          logger.info("Successfully retrieved transaction summary: {}", jsonObject.encodePrettily());
+        logger.info("Successfully retrieved transaction summary for order with id={}", orderId);
+        if (PayloadLogger.isEnabled(logger, endpoint)) {
+          logger.debug("The retrieved transaction summary: {}", PayloadLogger.payload(jsonObject));
         }
         future.complete(jsonObject.mapTo(OrderTransactionSummary.class));
       })
@@ -92,29 +117,104 @@ public class TransactionService extends AbstractHelper {
     return handleUpdateRequest(endpoint, transaction);
   }
 
+  /**
+   * Updates the transactions in the finance storage. The transactions are sent by chunks of {@code orders.finance.batchSize} to
+   * the batch API of the finance storage if it is available, which saves each chunk in one transaction, otherwise one by one.
+   */
   public CompletableFuture<Void> updateTransactions(List<Transaction> transactions) {
-    return VertxCompletableFuture.allOf(ctx, transactions.stream()
-      .map(this::updateTransaction)
-      .toArray(CompletableFuture[]::new));
+    return processInBatches(transactions)
+      .thenAccept(TransactionService::throwFirstFailure);
+  }
+
+  /**
+   * Creates the encumbrances one by one through mod-finance. The encumbrances without id get it assigned before they are sent,
+   * so that the failures can be matched with them.
+   *
+   * @param encumbrances encumbrances to create
+   * @return future with the failures of the encumbrances which are not created by encumbrance id
+   */
+  public CompletableFuture<Map<String, Throwable>> createEncumbrances(List<Transaction> encumbrances) {
+    encumbrances.stream()
+      .filter(encumbrance -> encumbrance.getId() == null)
+      .forEach(encumbrance -> encumbrance.setId(UUID.randomUUID().toString()));
+    return sendOneByOne(encumbrances, this::createEncumbrance);
   }
 
+  /**
+   * Releases the encumbrances one by one through mod-finance. The first failure fails the returned future once all the
+   * encumbrances are processed.
+   *
+   * @param encumbrances encumbrances to release
+   * @return future completed when all the encumbrances are released
+   */
   public CompletableFuture<Void> releaseEncumbrances(List<Transaction> encumbrances) {
-    CompletableFuture<Void> resultFuture = new CompletableFuture<>();
-    List<CompletableFuture<Void>> futures = new ArrayList<>();
-    if (!encumbrances.isEmpty()) {
-      encumbrances.forEach(encumbrance -> {
-        CompletableFuture<Void> future = handlePostWithEmptyBody(resourceByIdPath(FINANCE_RELEASE_ENCUMBRANCE, encumbrance.getId())
-          , httpClient, ctx, okapiHeaders, logger);
-        futures.add(future);
+    return sendOneByOne(encumbrances, this::releaseEncumbrance)
+      .thenAccept(failures -> {
+        failures.forEach((id, t) -> logger.error("The encumbrance with id={} failed to be released", t, id));
+        throwFirstFailure(failures);
       });
-      return collectResultsOnSuccess(futures)
-        .thenAccept(list -> resultFuture.complete(null))
+  }
+
+  private CompletableFuture<Map<String, Throwable>> processInBatches(List<Transaction> transactions) {
+    if (BATCH_SIZE < 2 || transactions.size() < 2 || !BatchApiSupport.isAvailable(okapiHeaders, BATCH_API)) {
+      return sendOneByOne(transactions, this::updateTransaction);
+    }
+
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(FINANCE, okapiHeaders);
+    return collectResultsOnSuccess(StreamEx.ofSubLists(transactions, BATCH_SIZE)
+      .map(batch -> limiter.execute(() -> sendBatch(StreamEx.of(batch).map(JsonObject::mapFrom).toList()))
+        .handle((v, t) -> {
+          if (t == null) {
+            return completedFuture(Collections.<String, Throwable>emptyMap());
+          }
+          if (BatchApiSupport.markIfUnavailable(okapiHeaders, BATCH_API, t)) {
+            logger.warn("Transactions batch API is not available, transactions are sent one by one: {}", t.getMessage());
+          } else {
+            // Nothing of the batch is saved, the transactions are sent one by one to get the error of each
+            logger.warn("Batch of {} transaction(s) failed, the transactions are sent one by one: {}", batch.size(), t.getMessage());
+          }
+          return sendOneByOne(batch, this::updateTransaction);
+        })
+        .thenCompose(Function.identity()))
+      .toList())
+      .thenApply(results -> StreamEx.of(results)
+        .flatMapToEntry(Function.identity())
+        .toMap());
+  }
+
+  private CompletableFuture<JsonObject> sendBatch(List<JsonObject> transactions) {
+    JsonObject batch = new JsonObject().put(TRANSACTIONS_TO_UPDATE, new JsonArray(transactions));
+    return HelperUtils.operateOnObject(HttpMethod.POST, String.format(URL_WITH_LANG_PARAM, BATCH_API, lang), batch,
+        httpClient, ctx, okapiHeaders, logger);
+  }
+
+  private CompletableFuture<Map<String, Throwable>> sendOneByOne(List<Transaction> transactions,
+      Function<Transaction, CompletableFuture<Void>> sendOne) {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(FINANCE, okapiHeaders);
+    Map<String, Throwable> failures = new ConcurrentHashMap<>();
+    return CompletableFuture.allOf(transactions.stream()
+      .map(transaction -> limiter.execute(() -> sendOne.apply(transaction))
         .exceptionally(t -> {
-          resultFuture.completeExceptionally(t.getCause());
+          failures.put(transaction.getId(), t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
           return null;
-        });
-    }
-    return CompletableFuture.completedFuture(null);
+        }))
+      .toArray(CompletableFuture[]::new))
+      .thenApply(v -> failures);
   }
 
+  private CompletableFuture<Void> createEncumbrance(Transaction encumbrance) {
+    return createRecordInStorage(JsonObject.mapFrom(encumbrance), String.format(URL_WITH_LANG_PARAM, resourcesPath(ENCUMBRANCES), lang))
+      .thenAccept(encumbrance::setId);
+  }
+
+  private CompletableFuture<Void> releaseEncumbrance(Transaction encumbrance) {
+    return handlePostWithEmptyBody(resourceByIdPath(FINANCE_RELEASE_ENCUMBRANCE, encumbrance.getId()), httpClient, ctx,
+        okapiHeaders, logger);
+  }
+
+  private static void throwFirstFailure(Map<String, Throwable> failures) {
+    failures.values().stream().findFirst().ifPresent(t -> {
+      throw new CompletionException(t);
+    });
+  }
 }
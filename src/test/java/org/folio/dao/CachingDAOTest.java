@@ -0,0 +1,96 @@
+package org.folio.dao;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.orders.utils.ExpiringCache;
+import org.folio.rest.jaxrs.model.Prefix;
+import org.folio.rest.jaxrs.model.PrefixCollection;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class CachingDAOTest {
+
+  private static Vertx vertx;
+  private static Context ctx;
+
+  private final PrefixDAO storage = mock(PrefixDAO.class);
+  private final PrefixDAO prefixDAO = new CachingPrefixDAO(storage);
+  private final Map<String, String> okapiHeaders = Collections.singletonMap(OKAPI_HEADER_TENANT, "diku");
+
+  @BeforeClass
+  public static void setUpVertx() {
+    vertx = Vertx.vertx();
+    ctx = vertx.getOrCreateContext();
+  }
+
+  @AfterClass
+  public static void tearDownVertx() {
+    vertx.close();
+  }
+
+  @Before
+  public void setUp() {
+    ExpiringCache.invalidateAllCaches();
+  }
+
+  @Test
+  public void testCollectionIsCachedByQueryOffsetAndLimit() throws Exception {
+    PrefixCollection prefixes = new PrefixCollection().withTotalRecords(1);
+    when(storage.get(any(), anyInt(), anyInt(), any(), anyMap())).thenReturn(completedFuture(prefixes));
+
+    assertThat(prefixDAO.get("name==pref", 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS), is(prefixes));
+    prefixDAO.get("name==pref", 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get("name==pref", 10, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get(null, 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get("name==pref", 0, 10, ctx, Collections.singletonMap(OKAPI_HEADER_TENANT, "other")).get(5, TimeUnit.SECONDS);
+
+    verify(storage, times(1)).get("name==pref", 0, 10, ctx, okapiHeaders);
+    verify(storage, times(4)).get(any(), anyInt(), anyInt(), any(), anyMap());
+  }
+
+  @Test
+  public void testCachedRecordsAreDroppedOnChange() throws Exception {
+    Prefix prefix = new Prefix().withId(UUID.randomUUID().toString()).withName("pref");
+    when(storage.getById(anyString(), any(), anyMap())).thenReturn(completedFuture(prefix));
+    when(storage.get(any(), anyInt(), anyInt(), any(), anyMap())).thenReturn(completedFuture(new PrefixCollection()));
+    when(storage.update(anyString(), any(), any(), anyMap())).thenReturn(completedFuture(null));
+    when(storage.delete(anyString(), any(), anyMap())).thenReturn(completedFuture(null));
+
+    prefixDAO.getById(prefix.getId(), ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get(null, 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.getById(prefix.getId(), ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get(null, 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+
+    prefixDAO.update(prefix.getId(), prefix, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.getById(prefix.getId(), ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.get(null, 0, 10, ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+
+    prefixDAO.delete(prefix.getId(), ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+    prefixDAO.getById(prefix.getId(), ctx, okapiHeaders).get(5, TimeUnit.SECONDS);
+
+    verify(storage, times(3)).getById(eq(prefix.getId()), any(), anyMap());
+    verify(storage, times(2)).get(any(), anyInt(), anyInt(), any(), anyMap());
+  }
+}
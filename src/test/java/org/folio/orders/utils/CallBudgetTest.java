@@ -0,0 +1,99 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+public class CallBudgetTest {
+
+  private final boolean headerEnabled = CallBudget.headerEnabled;
+
+  @After
+  public void restoreSettings() {
+    CallBudget.headerEnabled = headerEnabled;
+  }
+
+  @Test
+  public void testRequestsAreCountedPerApiCall() {
+    Map<String, String> okapiHeaders = headers();
+    Map<String, String> otherHeaders = headers();
+    CallBudget budget = CallBudget.start("GET /orders/composite-orders/{id}", okapiHeaders);
+
+    CallBudget.record(okapiHeaders, "/orders-storage/purchase-orders/1", 100);
+    CallBudget.record(okapiHeaders, "/orders-storage/po-lines?query=purchaseOrderId==1", 200);
+    CallBudget.record(okapiHeaders, "/finance/funds?query=id==1", 50);
+    // Same content, but different API call
+    CallBudget.record(otherHeaders, "/finance/funds?query=id==1", 50);
+
+    assertThat(budget.getTotal(), is(3));
+    assertThat(budget.getBytes(), is(350L));
+    assertThat(budget.getCallsByPathPrefix().get("/orders-storage"), is(2));
+    assertThat(budget.getCallsByPathPrefix().get("/finance"), is(1));
+
+    budget.finish(okapiHeaders);
+    CallBudget.record(okapiHeaders, "/orders-storage/purchase-orders/1", 100);
+
+    assertThat(budget.getTotal(), is(3));
+  }
+
+  @Test
+  public void testRequestAndResponseBytesAreCounted() {
+    Map<String, String> okapiHeaders = headers();
+    CallBudget budget = CallBudget.start("PUT /orders/order-lines/{id}", okapiHeaders);
+    JsonObject poLine = new JsonObject().put("id", "1").put("poLineNumber", "10000-1");
+    org.folio.rest.tools.client.Response getResponse = new org.folio.rest.tools.client.Response();
+    getResponse.setCode(200);
+    getResponse.setBody(poLine);
+    Buffer requestBody = poLine.toBuffer();
+    org.folio.rest.tools.client.Response putResponse = new org.folio.rest.tools.client.Response();
+    putResponse.setCode(204);
+
+    RequestMetrics.record(HttpMethod.GET, "/orders-storage/po-lines/1", null, okapiHeaders,
+        () -> CompletableFuture.completedFuture(getResponse), HelperUtils::verifyAndExtractBody).join();
+    RequestMetrics.record(HttpMethod.PUT, "/orders-storage/po-lines/1", requestBody, okapiHeaders,
+        () -> CompletableFuture.completedFuture(putResponse), HelperUtils::verifyEmptyResponse).join();
+
+    assertThat(budget.getTotal(), is(2));
+    assertThat(budget.getBytes(), is(2L * requestBody.length()));
+    budget.finish(okapiHeaders);
+  }
+
+  @Test
+  public void testHeaderIsAddedToResponse() {
+    CallBudget.headerEnabled = true;
+    Map<String, String> okapiHeaders = headers();
+    Response[] handled = new Response[1];
+
+    Handler<AsyncResult<Response>> handler = RequestMetrics
+      .operation("GET /orders/order-lines", okapiHeaders, result -> handled[0] = result.result());
+    RequestMetrics.record(HttpMethod.GET, "/orders-storage/po-lines", null, okapiHeaders,
+        () -> CompletableFuture.completedFuture(Buffer.buffer("{\"poLines\":[]}")), Function.identity());
+    handler.handle(Future.succeededFuture(Response.ok().build()));
+
+    assertThat(handled[0].getStatus(), is(200));
+    assertThat(String.valueOf(handled[0].getHeaders().getFirst(CallBudget.HEADER)), is("1"));
+  }
+
+  private static Map<String, String> headers() {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_HEADER_TENANT, "diku");
+    return okapiHeaders;
+  }
+}
@@ -0,0 +1,183 @@
+package org.folio.orders.utils;
+
+import static org.folio.orders.utils.ErrorCodes.DOWNSTREAM_UNAVAILABLE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+
+  private final int windowSize = CircuitBreaker.windowSize;
+  private final int minCalls = CircuitBreaker.minCalls;
+  private final long openPeriod = CircuitBreaker.openPeriod;
+  private final int probes = CircuitBreaker.probes;
+  private final long probeTimeout = CircuitBreaker.probeTimeout;
+
+  @Before
+  public void setUp() {
+    CircuitBreaker.windowSize = 4;
+    CircuitBreaker.minCalls = 4;
+    CircuitBreaker.openPeriod = 1000;
+    CircuitBreaker.probes = 2;
+    CircuitBreaker.probeTimeout = 500;
+  }
+
+  @After
+  public void restoreSettings() {
+    CircuitBreaker.windowSize = windowSize;
+    CircuitBreaker.minCalls = minCalls;
+    CircuitBreaker.openPeriod = openPeriod;
+    CircuitBreaker.probes = probes;
+    CircuitBreaker.probeTimeout = probeTimeout;
+  }
+
+  @Test
+  public void testBreakerOpensAndFailsFast() {
+    CircuitBreaker breaker = new CircuitBreaker("/finance");
+    AtomicInteger calls = new AtomicInteger();
+
+    for (int i = 0; i < 4; i++) {
+      breaker.call(() -> {
+        calls.incrementAndGet();
+        return failed(new HttpException(500, "Internal error"));
+      });
+    }
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+
+    CompletableFuture<Void> result = breaker.call(() -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture(null);
+    });
+
+    assertThat(calls.get(), is(4));
+    try {
+      result.join();
+      fail("Failure is expected");
+    } catch (CompletionException e) {
+      assertThat(e.getCause(), instanceOf(HttpException.class));
+      HttpException cause = (HttpException) e.getCause();
+      assertThat(cause.getCode(), is(503));
+      assertThat(cause.getError().getCode(), is(DOWNSTREAM_UNAVAILABLE.getCode()));
+      assertThat(cause.getError().getParameters().get(0).getValue(), is("/finance"));
+      assertTrue(CircuitBreaker.isFastFailure(e));
+      assertFalse(RetryPolicy.isRetryable(e));
+    }
+  }
+
+  @Test
+  public void testClientErrorsAndOccasionalFailuresDoNotOpenBreaker() {
+    CircuitBreaker breaker = new CircuitBreaker("/orders-storage");
+
+    for (int i = 0; i < 20; i++) {
+      Throwable t = i % 3 == 0 ? new HttpException(500, "Internal error") : new HttpException(404, "Not found");
+      breaker.call(() -> failed(t));
+    }
+
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  public void testHalfOpenBreakerClosesAfterSuccessfulProbes() {
+    CircuitBreaker breaker = openBreaker("/inventory");
+
+    assertThat(breaker.tryAcquire(500), is(CircuitBreaker.REJECTED));
+    long firstProbe = breaker.tryAcquire(1000);
+    assertThat(firstProbe, not(CircuitBreaker.REJECTED));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+    long secondProbe = breaker.tryAcquire(1000);
+    assertThat(secondProbe, not(CircuitBreaker.REJECTED));
+    assertThat("Only configured number of probes is let through", breaker.tryAcquire(1000), is(CircuitBreaker.REJECTED));
+
+    breaker.onResult(firstProbe, false, 1000);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+    breaker.onResult(secondProbe, false, 1000);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    assertThat(breaker.tryAcquire(1000), not(CircuitBreaker.REJECTED));
+  }
+
+  @Test
+  public void testHalfOpenBreakerReopensAfterFailedProbe() {
+    CircuitBreaker breaker = openBreaker("/inventory");
+
+    breaker.onResult(breaker.tryAcquire(1000), true, 1000);
+
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    assertThat(breaker.tryAcquire(1500), is(CircuitBreaker.REJECTED));
+    assertThat(breaker.tryAcquire(2000), not(CircuitBreaker.REJECTED));
+  }
+
+  @Test
+  public void testHalfOpenBreakerReopensIfProbesGetNoResponse() {
+    CircuitBreaker breaker = openBreaker("/inventory");
+
+    long firstProbe = breaker.tryAcquire(1000);
+    breaker.tryAcquire(1000);
+    assertThat(breaker.tryAcquire(1400), is(CircuitBreaker.REJECTED));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+    assertThat(breaker.tryAcquire(1500), is(CircuitBreaker.REJECTED));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+
+    // The late response of the timed out probe does not close the breaker
+    breaker.onResult(firstProbe, false, 1600);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    assertThat(breaker.tryAcquire(2500), not(CircuitBreaker.REJECTED));
+  }
+
+  @Test
+  public void testResultsOfCallsStartedBeforeStateChangeAreIgnored() {
+    CircuitBreaker breaker = new CircuitBreaker("/finance");
+    long startedWhileClosed = breaker.tryAcquire(0);
+    for (int i = 0; i < 4; i++) {
+      breaker.onResult(breaker.tryAcquire(0), true, 0);
+    }
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+
+    long probe = breaker.tryAcquire(1000);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+    // The call started while closed is not a probe, its result neither reopens nor closes the breaker
+    breaker.onResult(startedWhileClosed, true, 1000);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+    breaker.onResult(probe, false, 1000);
+    breaker.onResult(breaker.tryAcquire(1000), false, 1000);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  public void testPathPrefix() {
+    assertThat(CircuitBreaker.pathPrefixOf("/finance/funds?query=code==X"), is("/finance"));
+    assertThat(CircuitBreaker.pathPrefixOf("/orders-storage/po-lines/1"), is("/orders-storage"));
+    assertThat(CircuitBreaker.pathPrefixOf("/inventory?limit=1"), is("/inventory"));
+    assertThat(CircuitBreaker.pathPrefixOf("/holdings-storage"), is("/holdings-storage"));
+  }
+
+  private CircuitBreaker openBreaker(String pathPrefix) {
+    CircuitBreaker breaker = new CircuitBreaker(pathPrefix);
+    for (int i = 0; i < 4; i++) {
+      breaker.onResult(breaker.tryAcquire(0), true, 0);
+    }
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    return breaker;
+  }
+
+  private static <T> CompletableFuture<T> failed(Throwable t) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(t);
+    return future;
+  }
+}
@@ -0,0 +1,150 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class ConcurrencyLimiterTest {
+
+  @Test
+  public void testRequestsAboveLimitAreQueued() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test.inventory", 2);
+    List<CompletableFuture<String>> responses = new ArrayList<>();
+    List<CompletableFuture<String>> results = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++) {
+      CompletableFuture<String> response = new CompletableFuture<>();
+      responses.add(response);
+      results.add(limiter.execute(() -> response));
+    }
+
+    assertThat(limiter.getActive(), is(2));
+    assertThat(limiter.getQueueDepth(), is(3));
+
+    responses.get(0).complete("0");
+
+    assertThat(results.get(0).join(), is("0"));
+    assertThat(limiter.getActive(), is(2));
+    assertThat(limiter.getQueueDepth(), is(2));
+
+    for (int i = 1; i < responses.size(); i++) {
+      responses.get(i).complete(String.valueOf(i));
+    }
+
+    assertThat(limiter.getActive(), is(0));
+    assertThat(limiter.getQueueDepth(), is(0));
+    assertThat(limiter.getMaxQueueDepth(), is(3));
+    assertThat(limiter.getQueuedTotal(), is(3L));
+    assertThat(results.get(4).join(), is("4"));
+  }
+
+  @Test
+  public void testFailedRequestReleasesPermit() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test.finance", 1);
+
+    CompletableFuture<Void> failed = limiter.execute(() -> {
+      throw new HttpException(500, "Internal error");
+    });
+    CompletableFuture<String> next = limiter.execute(() -> CompletableFuture.completedFuture("next"));
+
+    assertTrue(failed.isCompletedExceptionally());
+    assertThat(next.join(), is("next"));
+    assertThat(limiter.getActive(), is(0));
+  }
+
+  @Test
+  public void testLongQueueOfCompletedRequestsIsDrained() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter("test.orders-storage", 1);
+    CompletableFuture<Integer> first = new CompletableFuture<>();
+    limiter.execute(() -> first);
+
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      int value = i;
+      results.add(limiter.execute(() -> CompletableFuture.completedFuture(value)));
+    }
+    first.complete(-1);
+
+    assertThat(results.get(9999).join(), is(9999));
+    assertThat(limiter.getActive(), is(0));
+  }
+
+  @Test
+  public void testQueuedRequestRunsOnCallerContext() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      ConcurrencyLimiter limiter = new ConcurrencyLimiter("test.context", 1);
+      Context first = vertx.getOrCreateContext();
+      Context second = vertx.getOrCreateContext();
+      CompletableFuture<String> firstResponse = new CompletableFuture<>();
+      CompletableFuture<Context> startedOn = new CompletableFuture<>();
+      CompletableFuture<Context> completedOn = new CompletableFuture<>();
+
+      CompletableFuture<Void> firstQueued = new CompletableFuture<>();
+      first.runOnContext(v -> {
+        limiter.execute(() -> firstResponse);
+        firstQueued.complete(null);
+      });
+      firstQueued.get(5, TimeUnit.SECONDS);
+
+      CompletableFuture<Void> secondQueued = new CompletableFuture<>();
+      second.runOnContext(v -> {
+        limiter.execute(() -> {
+          startedOn.complete(Vertx.currentContext());
+          return CompletableFuture.completedFuture("second");
+        }).thenRun(() -> completedOn.complete(Vertx.currentContext()));
+        secondQueued.complete(null);
+      });
+      secondQueued.get(5, TimeUnit.SECONDS);
+
+      // The permit is released outside of any context
+      firstResponse.complete("first");
+
+      assertThat(startedOn.get(5, TimeUnit.SECONDS), sameInstance(second));
+      assertThat(completedOn.get(5, TimeUnit.SECONDS), sameInstance(second));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testLimitersAreSharedPerTenantAndDownstream() {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.forDownstream(ConcurrencyLimiter.INVENTORY,
+        Collections.singletonMap(OKAPI_HEADER_TENANT, "tenant1"));
+
+    assertThat(ConcurrencyLimiter.forDownstream(ConcurrencyLimiter.INVENTORY,
+        Collections.singletonMap(OKAPI_HEADER_TENANT, "tenant1")), sameInstance(limiter));
+    assertThat(ConcurrencyLimiter.forDownstream(ConcurrencyLimiter.INVENTORY,
+        Collections.singletonMap(OKAPI_HEADER_TENANT, "tenant2")), not(sameInstance(limiter)));
+    assertThat(ConcurrencyLimiter.forDownstream(ConcurrencyLimiter.FINANCE,
+        Collections.singletonMap(OKAPI_HEADER_TENANT, "tenant1")), not(sameInstance(limiter)));
+  }
+
+  @Test
+  public void testTenantSpecificLimitWins() {
+    System.setProperty(ConcurrencyLimiter.PROPERTY_PREFIX + "inventory", "5");
+    System.setProperty(ConcurrencyLimiter.PROPERTY_PREFIX + "tenant3.inventory", "3");
+    try {
+      assertThat(ConcurrencyLimiter.resolveLimit("tenant3", ConcurrencyLimiter.INVENTORY), is(3));
+      assertThat(ConcurrencyLimiter.resolveLimit("tenant4", ConcurrencyLimiter.INVENTORY), is(5));
+    } finally {
+      System.clearProperty(ConcurrencyLimiter.PROPERTY_PREFIX + "inventory");
+      System.clearProperty(ConcurrencyLimiter.PROPERTY_PREFIX + "tenant3.inventory");
+    }
+  }
+}
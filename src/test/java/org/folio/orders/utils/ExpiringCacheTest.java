@@ -0,0 +1,182 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class ExpiringCacheTest {
+
+  private static Vertx vertx;
+  private static Context ctx;
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeClass
+  public static void setUpVertx() {
+    vertx = Vertx.vertx();
+    ctx = vertx.getOrCreateContext();
+  }
+
+  @AfterClass
+  public static void tearDownVertx() {
+    vertx.close();
+  }
+
+  @Test
+  public void testValueIsLoadedOnce() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-load-once", 10, 60000);
+    CompletableFuture<String> load = new CompletableFuture<>();
+
+    CompletableFuture<String> first = cache.get("diku|loantypes", ctx, () -> loaded(load));
+    CompletableFuture<String> second = cache.get("diku|loantypes", ctx, () -> loaded(load));
+    load.complete("id");
+
+    assertThat(first.get(5, TimeUnit.SECONDS), is("id"));
+    assertThat(second.get(5, TimeUnit.SECONDS), is("id"));
+    assertThat(cache.get("diku|loantypes", ctx, () -> loaded("other")).get(5, TimeUnit.SECONDS), is("id"));
+    assertThat(loads.get(), is(1));
+    assertThat(cache.getHits(), is(2L));
+    assertThat(cache.getMisses(), is(1L));
+  }
+
+  @Test
+  public void testFailureIsNotCached() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-failure", 10, 60000);
+    CompletableFuture<String> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new HttpException(500, "Internal error"));
+
+    try {
+      cache.get("diku|loantypes", ctx, () -> loaded(failure)).get(5, TimeUnit.SECONDS);
+      fail("Value must not be loaded");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause() instanceof HttpException, is(true));
+    }
+
+    assertThat(cache.get("diku|loantypes", ctx, () -> loaded("id")).get(5, TimeUnit.SECONDS), is("id"));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testExpiredValueIsLoadedAgain() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-expiration", 10, 1);
+
+    cache.get("diku|loantypes", ctx, () -> loaded("first")).get(5, TimeUnit.SECONDS);
+    Thread.sleep(5);
+
+    assertThat(cache.get("diku|loantypes", ctx, () -> loaded("second")).get(5, TimeUnit.SECONDS), is("second"));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-eviction", 2, 60000);
+
+    cache.get("diku|a", ctx, () -> loaded("a")).get(5, TimeUnit.SECONDS);
+    cache.get("diku|b", ctx, () -> loaded("b")).get(5, TimeUnit.SECONDS);
+    cache.get("diku|a", ctx, () -> loaded("a")).get(5, TimeUnit.SECONDS);
+    cache.get("diku|c", ctx, () -> loaded("c")).get(5, TimeUnit.SECONDS);
+
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictions(), is(1L));
+    cache.get("diku|a", ctx, () -> loaded("a")).get(5, TimeUnit.SECONDS);
+    cache.get("diku|b", ctx, () -> loaded("b")).get(5, TimeUnit.SECONDS);
+    assertThat(loads.get(), is(4));
+  }
+
+  @Test
+  public void testOnlyMissingKeysAreLoaded() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-get-all", 10, 60000);
+    cache.get("diku|1", ctx, () -> loaded("1")).get(5, TimeUnit.SECONDS);
+    List<List<String>> requested = new ArrayList<>();
+
+    Map<String, String> result = cache.getAll(Arrays.asList("diku|1", "diku|2", "diku|3"), ctx, keys -> {
+      requested.add(keys);
+      return CompletableFuture.completedFuture(Collections.singletonMap("diku|2", "2"));
+    }).get(5, TimeUnit.SECONDS);
+
+    assertThat(requested, is(Collections.singletonList(Arrays.asList("diku|2", "diku|3"))));
+    assertThat(result.size(), is(2));
+    assertThat(result.get("diku|1"), is("1"));
+    assertThat(result.get("diku|2"), is("2"));
+
+    // Not found key is looked up again
+    cache.getAll(Arrays.asList("diku|2", "diku|3"), ctx, keys -> {
+      requested.add(keys);
+      return CompletableFuture.completedFuture(Collections.emptyMap());
+    }).get(5, TimeUnit.SECONDS);
+    assertThat(requested.get(1), is(Collections.singletonList("diku|3")));
+  }
+
+  @Test
+  public void testTenantEntriesAreInvalidated() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-invalidation", 10, 60000);
+    String dikuKey = ExpiringCache.key(headers("diku"), "loantypes", "Can circulate");
+    String otherKey = ExpiringCache.key(headers("other"), "loantypes", "Can circulate");
+    cache.get(dikuKey, ctx, () -> loaded("diku")).get(5, TimeUnit.SECONDS);
+    cache.get(otherKey, ctx, () -> loaded("other")).get(5, TimeUnit.SECONDS);
+
+    ExpiringCache.invalidateTenant("diku");
+
+    assertThat(cache.size(), is(1));
+    assertThat(cache.get(otherKey, ctx, () -> loaded("new")).get(5, TimeUnit.SECONDS), is("other"));
+    assertThat(RequestMetrics.render(), containsString("mod_orders_cache_entries{cache=\"test-invalidation\"} 1"));
+  }
+
+  @Test
+  public void testPutValueIsReturned() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-put", 10, 60000);
+    assertThat(cache.containsKey("diku|missing"), is(false));
+
+    cache.put("diku|missing", "not found");
+
+    assertThat(cache.containsKey("diku|missing"), is(true));
+    assertThat(cache.get("diku|missing", ctx, () -> loaded("found")).get(5, TimeUnit.SECONDS), is("not found"));
+    assertThat(loads.get(), is(0));
+  }
+
+  @Test
+  public void testCacheIsBypassedIfDisabled() throws Exception {
+    ExpiringCache<String> cache = new ExpiringCache<>("test-disabled", 10, 0);
+
+    cache.get("diku|loantypes", ctx, () -> loaded("first")).get(5, TimeUnit.SECONDS);
+
+    assertThat(cache.get("diku|loantypes", ctx, () -> loaded("second")).get(5, TimeUnit.SECONDS), is("second"));
+    assertThat(cache.size(), is(0));
+  }
+
+  private CompletableFuture<String> loaded(String value) {
+    return loaded(CompletableFuture.completedFuture(value));
+  }
+
+  private CompletableFuture<String> loaded(CompletableFuture<String> value) {
+    loads.incrementAndGet();
+    return value;
+  }
+
+  private static Map<String, String> headers(String tenant) {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_HEADER_TENANT, tenant);
+    return okapiHeaders;
+  }
+}
@@ -0,0 +1,176 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+public class GetRequestCoalescerTest {
+
+  private static final String ENDPOINT = "/finance/funds/1";
+
+  @Test
+  public void testIdenticalRequestsInFlightShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CompletableFuture<JsonObject> response = new CompletableFuture<>();
+    Map<String, String> headers = headers("diku");
+
+    CompletableFuture<JsonObject> first = GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return response;
+    });
+    CompletableFuture<JsonObject> second = GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return new CompletableFuture<>();
+    });
+
+    response.complete(new JsonObject().put("id", "1"));
+
+    assertThat(calls.get(), is(1));
+    assertThat(first.get(), equalTo(second.get()));
+    assertThat(first.get(), not(sameInstance(second.get())));
+    assertThat(GetRequestCoalescer.getInFlightCount(), is(0));
+  }
+
+  @Test
+  public void testRawResponseIsSharedAndNotMixedWithParsedOne() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CompletableFuture<Buffer> response = new CompletableFuture<>();
+    CompletableFuture<JsonObject> parsedResponse = new CompletableFuture<>();
+    Map<String, String> headers = headers("diku");
+
+    CompletableFuture<Buffer> first = GetRequestCoalescer.executeRaw(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return response;
+    });
+    CompletableFuture<Buffer> second = GetRequestCoalescer.executeRaw(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return new CompletableFuture<>();
+    });
+    GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return parsedResponse;
+    });
+
+    response.complete(Buffer.buffer("{\"id\":\"1\"}"));
+    parsedResponse.complete(new JsonObject());
+
+    assertThat(calls.get(), is(2));
+    assertThat(first.get(), sameInstance(second.get()));
+  }
+
+  @Test
+  public void testConcurrentPoNumberRequestsGetDifferentNumbers() throws Exception {
+    AtomicInteger sequence = new AtomicInteger();
+    List<CompletableFuture<JsonObject>> responses = new ArrayList<>();
+    Map<String, String> headers = headers("diku");
+
+    List<CompletableFuture<JsonObject>> numbers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      numbers.add(GetRequestCoalescer.execute("/orders-storage/po-number", headers, null, () -> {
+        CompletableFuture<JsonObject> response = new CompletableFuture<>();
+        responses.add(response);
+        return response;
+      }));
+    }
+    // Both requests are in flight before any of them is answered
+    responses.forEach(response -> response.complete(new JsonObject().put("sequenceNumber", sequence.incrementAndGet())));
+
+    assertThat(responses, hasSize(2));
+    assertThat(numbers.get(0).get().getInteger("sequenceNumber"), not(equalTo(numbers.get(1).get().getInteger("sequenceNumber"))));
+  }
+
+  @Test
+  public void testOnlyReferenceDataApisAreCoalesced() {
+    assertThat(GetRequestCoalescer.isCoalesced(ENDPOINT), is(true));
+    assertThat(GetRequestCoalescer.isCoalesced("/finance/ledgers/1/current-fiscal-year?lang=en"), is(true));
+    assertThat(GetRequestCoalescer.isCoalesced("/configurations/entries?query=module==ORDERS"), is(true));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/purchase-orders/1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/po-lines?limit=10&query=purchaseOrderId==1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/pieces?query=poLineId==1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/titles/1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/finance/encumbrances?query=id==1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/po-number"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/orders-storage/po-line-number?purchaseOrderId=1"), is(false));
+    assertThat(GetRequestCoalescer.isCoalesced("/unknown/records"), is(false));
+  }
+
+  @Test
+  public void testRequestsOfDifferentTenantsAreNotCoalesced() {
+    AtomicInteger calls = new AtomicInteger();
+    CompletableFuture<JsonObject> response = new CompletableFuture<>();
+
+    GetRequestCoalescer.execute(ENDPOINT, headers("tenant1"), null, () -> {
+      calls.incrementAndGet();
+      return response;
+    });
+    GetRequestCoalescer.execute(ENDPOINT, headers("tenant2"), null, () -> {
+      calls.incrementAndGet();
+      return response;
+    });
+    response.complete(new JsonObject());
+
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test
+  public void testCompletedRequestIsNotReused() {
+    AtomicInteger calls = new AtomicInteger();
+    Map<String, String> headers = headers("diku");
+
+    GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture(new JsonObject());
+    });
+    GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture(new JsonObject());
+    });
+
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test
+  public void testFailureIsPropagatedToAllWaiters() throws InterruptedException {
+    CompletableFuture<JsonObject> response = new CompletableFuture<>();
+    Map<String, String> headers = headers("diku");
+
+    CompletableFuture<JsonObject> first = GetRequestCoalescer.execute(ENDPOINT, headers, null, () -> response);
+    CompletableFuture<JsonObject> second = GetRequestCoalescer.execute(ENDPOINT, headers, null, CompletableFuture::new);
+    response.completeExceptionally(new HttpException(500, "Storage is down"));
+
+    for (CompletableFuture<JsonObject> future : new CompletableFuture[] { first, second }) {
+      assertTrue(future.isCompletedExceptionally());
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(HttpException.class));
+      }
+    }
+  }
+
+  private Map<String, String> headers(String tenant) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(OKAPI_HEADER_TENANT, tenant);
+    return headers;
+  }
+}
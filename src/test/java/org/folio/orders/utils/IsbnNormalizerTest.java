@@ -0,0 +1,28 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+public class IsbnNormalizerTest {
+
+  @Test
+  public void testIsbn10IsConvertedTo13() {
+    assertThat(IsbnNormalizer.convertTo13("0-19-852663-6"), is("9780198526636"));
+    // The second call is served from the memo
+    assertThat(IsbnNormalizer.convertTo13("0-19-852663-6"), is("9780198526636"));
+  }
+
+  @Test
+  public void testIsbn13IsKept() {
+    assertThat(IsbnNormalizer.convertTo13("9780764354113"), is("9780764354113"));
+  }
+
+  @Test
+  public void testInvalidIsbnIsRejected() {
+    assertThat(IsbnNormalizer.convertTo13("1234"), nullValue());
+    assertThat(IsbnNormalizer.convertTo13(null), nullValue());
+  }
+}
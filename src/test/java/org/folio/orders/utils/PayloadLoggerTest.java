@@ -0,0 +1,150 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+
+public class PayloadLoggerTest {
+
+  private static final String PO_LINES_ENDPOINT = "/orders-storage/po-lines?limit=500";
+
+  private final List<String> endpointPrefixes = PayloadLogger.endpointPrefixes;
+  private final int maxLength = PayloadLogger.maxLength;
+  private final double sampleRate = PayloadLogger.sampleRate;
+
+  @After
+  public void restoreSettings() {
+    PayloadLogger.endpointPrefixes = endpointPrefixes;
+    PayloadLogger.maxLength = maxLength;
+    PayloadLogger.sampleRate = sampleRate;
+  }
+
+  @Test
+  public void testPayloadIsNotLoggedIfDebugIsDisabled() {
+    assertThat(PayloadLogger.isEnabled(logger(false), PO_LINES_ENDPOINT), is(false));
+    assertThat(PayloadLogger.isEnabled(logger(true), PO_LINES_ENDPOINT), is(true));
+  }
+
+  @Test
+  public void testPayloadIsLoggedOnlyForEnabledEndpoints() {
+    PayloadLogger.endpointPrefixes = PayloadLogger.parsePrefixes(" /finance/, /orders-storage/pieces");
+
+    assertThat(PayloadLogger.isEnabled(logger(true), "/finance/funds?limit=10"), is(true));
+    assertThat(PayloadLogger.isEnabled(logger(true), "/orders-storage/pieces/1"), is(true));
+    assertThat(PayloadLogger.isEnabled(logger(true), PO_LINES_ENDPOINT), is(false));
+    assertThat(PayloadLogger.isEnabled(logger(true), null), is(false));
+  }
+
+  @Test
+  public void testPayloadIsNotLoggedWithZeroSampleRate() {
+    PayloadLogger.sampleRate = 0;
+
+    assertThat(PayloadLogger.isEnabled(logger(true), PO_LINES_ENDPOINT), is(false));
+  }
+
+  @Test
+  public void testPayloadIsTruncated() {
+    PayloadLogger.maxLength = 20;
+    JsonObject body = buildCompositeOrder(2);
+
+    String rendered = PayloadLogger.payload(body).toString();
+
+    assertThat(rendered.length(), lessThan(body.encode().length()));
+    assertThat(rendered, containsString("(truncated, " + body.encode().length() + " characters in total)"));
+  }
+
+  @Test
+  public void testPayloadIsRenderedAsCompactJson() {
+    assertThat(PayloadLogger.payload(new JsonObject().put("id", "1")).toString(), is("{\"id\":\"1\"}"));
+    assertThat(PayloadLogger.payload(null).toString(), is("null"));
+  }
+
+  @Test
+  public void testResponseBodyIsNotSerializedIfDebugIsDisabled() {
+    CountingBody body = new CountingBody();
+    Logger infoLogger = logger(false);
+
+    PayloadLogger.logBody(infoLogger, "Successfully retrieved order: {}", body);
+
+    verify(infoLogger, never()).debug(anyString(), any(Object.class));
+    assertThat(body.serializations.get(), is(0));
+  }
+
+  @Test
+  public void testResponseBodyIsSerializedWhenMessageIsRendered() {
+    CountingBody body = new CountingBody();
+    Logger debugLogger = logger(true);
+
+    PayloadLogger.logBody(debugLogger, "Successfully retrieved order: {}", body);
+
+    ArgumentCaptor<Object> parameter = ArgumentCaptor.forClass(Object.class);
+    verify(debugLogger).debug(eq("Successfully retrieved order: {}"), parameter.capture());
+    assertThat(body.serializations.get(), is(0));
+    assertThat(parameter.getValue().toString(), is("{\"id\":\"order\"}"));
+    assertThat(body.serializations.get(), is(1));
+  }
+
+  @Test
+  public void testResponseBodyIsNotLoggedIfEndpointsAreFiltered() {
+    PayloadLogger.endpointPrefixes = PayloadLogger.parsePrefixes("/finance/");
+    Logger debugLogger = logger(true);
+
+    PayloadLogger.logBody(debugLogger, "Successfully retrieved order: {}", new CountingBody());
+
+    verify(debugLogger, never()).debug(anyString(), any(Object.class));
+  }
+
+  private Logger logger(boolean debugEnabled) {
+    Logger mockLogger = mock(Logger.class);
+    doReturn(debugEnabled).when(mockLogger).isDebugEnabled();
+    return mockLogger;
+  }
+
+  private JsonObject buildCompositeOrder(int linesQuantity) {
+    JsonArray lines = new JsonArray();
+    for (int i = 0; i < linesQuantity; i++) {
+      lines.add(new JsonObject()
+        .put("id", "line-" + i)
+        .put("poLineNumber", "10000-" + i)
+        .put("titleOrPackage", "Title " + i)
+        .put("cost", new JsonObject().put("listUnitPrice", 10.5).put("quantityPhysical", 2).put("currency", "USD"))
+        .put("fundDistribution", new JsonArray().add(new JsonObject().put("fundId", "fund-" + i).put("value", 100)))
+        .put("locations", new JsonArray().add(new JsonObject().put("locationId", "location-" + i).put("quantityPhysical", 2))));
+    }
+    return new JsonObject()
+      .put("id", "order")
+      .put("poNumber", "10000")
+      .put("compositePoLines", lines);
+  }
+
+  /**
+   * Model object counting how many times it is serialized.
+   */
+  public static class CountingBody {
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    public String getId() {
+      serializations.incrementAndGet();
+      return "order";
+    }
+  }
+}
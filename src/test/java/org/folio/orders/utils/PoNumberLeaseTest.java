@@ -0,0 +1,110 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class PoNumberLeaseTest {
+
+  private static Vertx vertx;
+  private static Context ctx;
+
+  private PoNumberLease lease = new PoNumberLease(4);
+  private final Map<String, String> okapiHeaders = Collections.singletonMap(OKAPI_HEADER_TENANT, "diku");
+  private final AtomicInteger sequence = new AtomicInteger(8);
+
+  @BeforeClass
+  public static void setUpVertx() {
+    vertx = Vertx.vertx();
+    ctx = vertx.getOrCreateContext();
+  }
+
+  @AfterClass
+  public static void tearDownVertx() {
+    vertx.close();
+  }
+
+  @Test
+  public void testNumbersAreLeasedInBlocks() throws Exception {
+    List<String> numbers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      numbers.add(next(this::loadNext));
+    }
+
+    // 9 and 10 are handed out, 11 leaves less than half of the block, so the next one is leased
+    assertThat(numbers, is(Arrays.asList("9", "10", "11")));
+    assertThat(sequence.get(), is(16));
+    assertThat(next(this::loadNext), is("12"));
+  }
+
+  @Test
+  public void testNumbersAreNotLeasedIfDisabled() throws Exception {
+    lease = new PoNumberLease(0);
+
+    assertThat(next(this::loadNext), is("9"));
+    assertThat(next(this::loadNext), is("10"));
+    assertThat(sequence.get(), is(10));
+  }
+
+  @Test
+  public void testFailureIsReturnedIfNothingIsLeased() throws Exception {
+    Supplier<CompletableFuture<String>> failing = () -> {
+      CompletableFuture<String> future = new CompletableFuture<>();
+      future.completeExceptionally(new HttpException(500, "Internal error"));
+      return future;
+    };
+
+    try {
+      next(failing);
+      fail("PO number must not be generated");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause() instanceof HttpException, is(true));
+    }
+
+    assertThat(next(this::loadNext), is("9"));
+  }
+
+  @Test
+  public void testNumbersAreLeasedPerUser() throws Exception {
+    assertThat(next(this::loadNext), is("9"));
+    assertThat(lease.take(userHeaders("other-user"), ctx, this::loadNext).get(5, TimeUnit.SECONDS), is("13"));
+    assertThat(next(this::loadNext), is("10"));
+    assertThat(sequence.get(), is(16));
+  }
+
+  private Map<String, String> userHeaders(String userId) {
+    Map<String, String> headers = new HashMap<>(okapiHeaders);
+    headers.put(OKAPI_USERID_HEADER, userId);
+    return headers;
+  }
+
+  private CompletableFuture<String> loadNext() {
+    return CompletableFuture.completedFuture(String.valueOf(sequence.incrementAndGet()));
+  }
+
+  private String next(Supplier<CompletableFuture<String>> loader) throws Exception {
+    return lease.take(okapiHeaders, ctx, loader).get(5, TimeUnit.SECONDS);
+  }
+}
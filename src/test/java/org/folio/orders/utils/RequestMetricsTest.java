@@ -0,0 +1,108 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.After;
+import org.junit.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+public class RequestMetricsTest {
+
+  private static final String PO_LINE_ID = "c0d08448-347b-418a-8c2f-5fb50248d67e";
+
+  @After
+  public void resetMetrics() {
+    RequestMetrics.reset();
+  }
+
+  @Test
+  public void testIdsAndQueryAreRemovedFromTemplate() {
+    assertThat(RequestMetrics.getTemplate("/orders-storage/po-lines/" + PO_LINE_ID + "?lang=en"),
+        is("/orders-storage/po-lines/{id}"));
+    assertThat(RequestMetrics.getTemplate("/orders-storage/po-line-number?purchaseOrderId=" + PO_LINE_ID),
+        is("/orders-storage/po-line-number"));
+    assertThat(RequestMetrics.getTemplate("/finance/ledgers/" + PO_LINE_ID + "/current-fiscal-year"),
+        is("/finance/ledgers/{id}/current-fiscal-year"));
+    assertThat(RequestMetrics.getTemplate("/isbn/convertTo13?isbn=1234"), is("/isbn/convertTo13"));
+  }
+
+  @Test
+  public void testDownstreamRequestsAreRecorded() {
+    String endpoint = "/orders-storage/po-lines/" + PO_LINE_ID;
+    RequestMetrics.record(HttpMethod.PUT, endpoint, Buffer.buffer("{\"id\":1}"), null, () -> CompletableFuture.completedFuture(null),
+        Function.identity());
+    RequestMetrics.record(HttpMethod.GET, endpoint, null, null, () -> CompletableFuture.completedFuture(Buffer.buffer("{}")),
+        Function.identity());
+    CompletableFuture<Object> failed = RequestMetrics.record(HttpMethod.GET, endpoint, null, null, () -> {
+      throw new CompletionException(new HttpException(500, "Internal error"));
+    }, Function.identity());
+
+    assertTrue(failed.isCompletedExceptionally());
+    String metrics = RequestMetrics.render();
+    String labels = "method=\"GET\",endpoint=\"/orders-storage/po-lines/{id}\"";
+    assertThat(metrics, containsString("mod_orders_downstream_request_duration_seconds_count{" + labels + "} 2"));
+    assertThat(metrics, containsString("mod_orders_downstream_request_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 2"));
+    assertThat(metrics, containsString("mod_orders_downstream_requests_total{" + labels + ",status=\"2xx\"} 1"));
+    assertThat(metrics, containsString("mod_orders_downstream_requests_total{" + labels + ",status=\"500\"} 1"));
+    assertThat(metrics, containsString("mod_orders_downstream_response_bytes_total{" + labels + "} 2"));
+    assertThat(metrics, containsString(
+        "mod_orders_downstream_request_bytes_total{method=\"PUT\",endpoint=\"/orders-storage/po-lines/{id}\"} 8"));
+  }
+
+  @Test
+  public void testResponseBytesAreMeasuredForJsonResponses() {
+    JsonObject body = new JsonObject().put("id", PO_LINE_ID);
+    org.folio.rest.tools.client.Response response = new org.folio.rest.tools.client.Response();
+    response.setCode(200);
+    response.setBody(body);
+    JsonObject error = new JsonObject().put("errorMessage", "Not found");
+    org.folio.rest.tools.client.Response notFound = new org.folio.rest.tools.client.Response();
+    notFound.setCode(404);
+    notFound.setError(error);
+
+    CompletableFuture<JsonObject> result = RequestMetrics.record(HttpMethod.GET, "/orders-storage/po-lines/" + PO_LINE_ID, null,
+        null, () -> CompletableFuture.completedFuture(response), HelperUtils::verifyAndExtractBody);
+    CompletableFuture<JsonObject> failed = RequestMetrics.record(HttpMethod.GET, "/orders-storage/po-lines/" + PO_LINE_ID, null,
+        null, () -> CompletableFuture.completedFuture(notFound), HelperUtils::verifyAndExtractBody);
+
+    assertThat(result.join(), is(body));
+    assertTrue(failed.isCompletedExceptionally());
+    String metrics = RequestMetrics.render();
+    String labels = "method=\"GET\",endpoint=\"/orders-storage/po-lines/{id}\"";
+    assertThat(metrics, containsString("mod_orders_downstream_requests_total{" + labels + ",status=\"404\"} 1"));
+    assertThat(metrics, containsString("mod_orders_downstream_response_bytes_total{" + labels + "} "
+        + (body.toBuffer().length() + error.toBuffer().length())));
+  }
+
+  @Test
+  public void testApiOperationsAreRecorded() {
+    Response[] handled = new Response[1];
+    RequestMetrics.operation("POST /orders/composite-orders", null, result -> handled[0] = result.result())
+      .handle(Future.succeededFuture(Response.status(201).build()));
+    RequestMetrics.operation("POST /orders/composite-orders", null, result -> {})
+      .handle(Future.failedFuture(new IllegalStateException()));
+
+    assertThat(handled[0].getStatus(), is(201));
+    String metrics = RequestMetrics.render();
+    assertThat(metrics, containsString(
+        "mod_orders_api_requests_total{operation=\"POST /orders/composite-orders\",status=\"201\"} 1"));
+    assertThat(metrics, containsString(
+        "mod_orders_api_requests_total{operation=\"POST /orders/composite-orders\",status=\"500\"} 1"));
+    assertThat(metrics, containsString(
+        "mod_orders_api_request_duration_seconds_count{operation=\"POST /orders/composite-orders\"} 2"));
+  }
+}
@@ -0,0 +1,156 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class RetryPolicyTest {
+
+  private static final String ENDPOINT = "/orders-storage/po-lines/1";
+
+  private static Vertx vertx;
+  private static Context ctx;
+
+  private final int maxRetries = RetryPolicy.maxRetries;
+  private final long backoff = RetryPolicy.backoff;
+  private final boolean hedging = RetryPolicy.hedging;
+  private final long hedgeMinDelay = RetryPolicy.hedgeMinDelay;
+
+  @BeforeClass
+  public static void setUpVertx() {
+    vertx = Vertx.vertx();
+    ctx = vertx.getOrCreateContext();
+  }
+
+  @AfterClass
+  public static void tearDownVertx() {
+    vertx.close();
+  }
+
+  @Before
+  public void setUp() {
+    RetryPolicy.maxRetries = 2;
+    RetryPolicy.backoff = 1;
+  }
+
+  @After
+  public void restoreSettings() {
+    RetryPolicy.maxRetries = maxRetries;
+    RetryPolicy.backoff = backoff;
+    RetryPolicy.hedging = hedging;
+    RetryPolicy.hedgeMinDelay = hedgeMinDelay;
+  }
+
+  @Test
+  public void testServerErrorIsRetried() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<String> result = RetryPolicy.get(ctx, ENDPOINT, () -> calls.incrementAndGet() < 3
+      ? failed(new HttpException(500, "Internal error"))
+      : CompletableFuture.completedFuture("ok"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS), is("ok"));
+    assertThat(calls.get(), is(3));
+  }
+
+  @Test
+  public void testClientErrorIsNotRetried() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<Void> result = RetryPolicy.put(ctx, ENDPOINT, () -> {
+      calls.incrementAndGet();
+      return failed(new CompletionException(new HttpException(404, "Not found")));
+    });
+
+    verifyFailure(result, HttpException.class);
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test
+  public void testLastFailureIsReturnedWhenRetriesAreExhausted() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<Void> result = RetryPolicy.get(ctx, ENDPOINT, () -> {
+      calls.incrementAndGet();
+      return failed(new IOException("Connection reset by peer"));
+    });
+
+    verifyFailure(result, IOException.class);
+    assertThat(calls.get(), is(3));
+  }
+
+  @Test
+  public void testHedgedRequestWinsIfFirstOneIsSlow() throws Exception {
+    RetryPolicy.hedging = true;
+    RetryPolicy.hedgeMinDelay = 1;
+    for (int i = 0; i < 64; i++) {
+      RetryPolicy.getLatencies.record(5);
+    }
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<String> result = RetryPolicy.get(ctx, ENDPOINT,
+        () -> calls.incrementAndGet() == 1 ? new CompletableFuture<>() : CompletableFuture.completedFuture("hedged"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS), is("hedged"));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test
+  public void testRequestIsNotRetriedWithoutVertx() {
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<Void> result = RetryPolicy.get(null, ENDPOINT, () -> {
+      calls.incrementAndGet();
+      return failed(new HttpException(500, "Internal error"));
+    });
+
+    assertThat(result.isCompletedExceptionally(), is(true));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test
+  public void testBackoffIsExponentialWithJitter() {
+    RetryPolicy.backoff = 100;
+
+    assertThat(RetryPolicy.calculateBackoff(0), allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L)));
+    assertThat(RetryPolicy.calculateBackoff(2), allOf(greaterThanOrEqualTo(200L), lessThanOrEqualTo(400L)));
+    assertThat(RetryPolicy.calculateBackoff(30), lessThanOrEqualTo(RetryPolicy.maxBackoff));
+  }
+
+  private static <T> CompletableFuture<T> failed(Throwable t) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(t);
+    return future;
+  }
+
+  private void verifyFailure(CompletableFuture<?> result, Class<? extends Throwable> expected) throws Exception {
+    try {
+      result.get(5, TimeUnit.SECONDS);
+      fail("Failure is expected");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+      assertThat(cause, instanceOf(expected));
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package org.folio.orders.utils;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+public class TenantConfigurationCacheTest {
+
+  private static Vertx vertx;
+  private static Context ctx;
+
+  private final long ttl = TenantConfigurationCache.ttl;
+  private final long staleTtl = TenantConfigurationCache.staleTtl;
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeClass
+  public static void setUpVertx() {
+    vertx = Vertx.vertx();
+    ctx = vertx.getOrCreateContext();
+  }
+
+  @AfterClass
+  public static void tearDownVertx() {
+    vertx.close();
+  }
+
+  @Before
+  public void setUp() {
+    TenantConfigurationCache.ttl = 60000;
+    TenantConfigurationCache.staleTtl = 300000;
+    TenantConfigurationCache.invalidateAll();
+  }
+
+  @After
+  public void restoreSettings() {
+    TenantConfigurationCache.ttl = ttl;
+    TenantConfigurationCache.staleTtl = staleTtl;
+    TenantConfigurationCache.invalidateAll();
+  }
+
+  @Test
+  public void testConfigurationIsLoadedOncePerTenant() throws Exception {
+    JsonObject first = get("diku", loader("USD"));
+    first.put("currency", "changed by the caller");
+
+    assertThat(get("diku", loader("EUR")).getString("currency"), is("USD"));
+    assertThat(get("other", loader("EUR")).getString("currency"), is("EUR"));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testStaleConfigurationIsReturnedWhileReloading() throws Exception {
+    TenantConfigurationCache.Entry entry = new TenantConfigurationCache.Entry("diku");
+    entry.get(loader("USD"), System.currentTimeMillis()).get(5, TimeUnit.SECONDS);
+    CompletableFuture<JsonObject> reload = new CompletableFuture<>();
+    long expired = System.currentTimeMillis() + TenantConfigurationCache.ttl + 1;
+
+    assertThat(entry.get(() -> reload, expired).get(5, TimeUnit.SECONDS).getString("currency"), is("USD"));
+    reload.complete(new JsonObject().put("currency", "EUR"));
+
+    assertThat(entry.get(loader("GBP"), System.currentTimeMillis()).get(5, TimeUnit.SECONDS).getString("currency"), is("EUR"));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void testConcurrentLoadsAreCombined() throws Exception {
+    TenantConfigurationCache.Entry entry = new TenantConfigurationCache.Entry("diku");
+    CompletableFuture<JsonObject> load = new CompletableFuture<>();
+    Supplier<CompletableFuture<JsonObject>> loader = () -> {
+      loads.incrementAndGet();
+      return load;
+    };
+
+    CompletableFuture<JsonObject> first = entry.get(loader, System.currentTimeMillis());
+    CompletableFuture<JsonObject> second = entry.get(loader, System.currentTimeMillis());
+    load.complete(new JsonObject().put("currency", "USD"));
+
+    assertThat(first.get(5, TimeUnit.SECONDS).getString("currency"), is("USD"));
+    assertThat(second.get(5, TimeUnit.SECONDS).getString("currency"), is("USD"));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void testLoaderIsCalledOutsideOfLock() throws Exception {
+    TenantConfigurationCache.Entry entry = new TenantConfigurationCache.Entry("diku");
+    AtomicReference<CompletableFuture<JsonObject>> fromOtherThread = new AtomicReference<>();
+    Supplier<CompletableFuture<JsonObject>> loader = () -> {
+      loads.incrementAndGet();
+      // Another request asks for the configuration while the loader is still running
+      Thread other = new Thread(() -> fromOtherThread.set(entry.get(loader("EUR"), System.currentTimeMillis())));
+      other.start();
+      try {
+        other.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return CompletableFuture.completedFuture(new JsonObject().put("currency", "USD"));
+    };
+
+    assertThat(entry.get(loader, System.currentTimeMillis()).get(5, TimeUnit.SECONDS).getString("currency"), is("USD"));
+    assertThat(fromOtherThread.get(), notNullValue());
+    assertThat(fromOtherThread.get().get(5, TimeUnit.SECONDS).getString("currency"), is("USD"));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void testFailureIsNotCached() throws Exception {
+    try {
+      get("diku", () -> {
+        loads.incrementAndGet();
+        CompletableFuture<JsonObject> future = new CompletableFuture<>();
+        future.completeExceptionally(new HttpException(500, "Internal error"));
+        return future;
+      });
+      fail("Configuration must not be loaded");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause() instanceof HttpException, is(true));
+    }
+
+    assertThat(get("diku", loader("USD")).getString("currency"), is("USD"));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testInvalidatedConfigurationIsLoadedAgain() throws Exception {
+    get("diku", loader("USD"));
+    get("other", loader("USD"));
+
+    TenantConfigurationCache.invalidate("diku");
+
+    assertThat(get("diku", loader("EUR")).getString("currency"), is("EUR"));
+    assertThat(get("other", loader("EUR")).getString("currency"), is("USD"));
+    assertThat(loads.get(), is(3));
+  }
+
+  @Test
+  public void testCacheIsBypassedIfDisabled() throws Exception {
+    TenantConfigurationCache.ttl = 0;
+
+    get("diku", loader("USD"));
+
+    assertThat(get("diku", loader("EUR")).getString("currency"), is("EUR"));
+    assertThat(loads.get(), is(2));
+  }
+
+  private Supplier<CompletableFuture<JsonObject>> loader(String currency) {
+    return () -> {
+      loads.incrementAndGet();
+      return CompletableFuture.completedFuture(new JsonObject().put("currency", currency));
+    };
+  }
+
+  private static JsonObject get(String tenant, Supplier<CompletableFuture<JsonObject>> loader) throws Exception {
+    Map<String, String> okapiHeaders = new HashMap<>();
+    okapiHeaders.put(OKAPI_HEADER_TENANT, tenant);
+    return TenantConfigurationCache.get(okapiHeaders, ctx, loader).get(5, TimeUnit.SECONDS);
+  }
+}
@@ -4,12 +4,16 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.folio.orders.utils.ErrorCodes.MISMATCH_BETWEEN_ID_IN_PATH_AND_BODY;
 import static org.folio.orders.utils.ResourcePathResolver.ACQUISITIONS_UNITS;
+import static org.folio.orders.utils.ResourcePathResolver.PURCHASE_ORDER;
 import static org.folio.rest.impl.AcquisitionsUnitsHelper.ACTIVE_UNITS_CQL;
 import static org.folio.rest.impl.AcquisitionsUnitsHelper.ALL_UNITS_CQL;
 import static org.folio.rest.impl.MockServer.ACQUISITIONS_UNITS_COLLECTION;
+import static org.folio.rest.impl.MockServer.getAcqMembershipsSearches;
+import static org.folio.rest.impl.MockServer.getAcqUnitsSearches;
 import static org.folio.rest.impl.MockServer.getAcqUnitsRetrievals;
 import static org.folio.rest.impl.MockServer.getQueryParams;
 import static org.folio.rest.impl.MockServer.getRqRsEntries;
+import static org.folio.rest.impl.PurchaseOrdersApiTest.COMPOSITE_ORDERS_PATH;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
@@ -30,6 +34,7 @@ import javax.ws.rs.core.HttpHeaders;
 import org.folio.rest.jaxrs.model.AcquisitionsUnit;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitCollection;
 import org.folio.rest.jaxrs.model.Errors;
+import org.junit.After;
 import org.junit.Test;
 
 import io.restassured.http.Header;
@@ -44,6 +49,12 @@ public class AcquisitionsUnitsTests extends ApiTestBase {
   private static final Logger logger = LoggerFactory.getLogger(AcquisitionsUnitsTests.class);
 
   private static final String ACQ_UNITS_UNITS_ENDPOINT = "/acquisitions-units/units";
+  private static final String ACQ_UNITS_MEMBERSHIPS_ENDPOINT = "/acquisitions-units/memberships";
+
+  @After
+  public void restoreCaches() {
+    AcquisitionsUnitsHelper.resetCaches();
+  }
 
   @Test
   public void testGetAcqUnitsNoQuery() throws IOException {
@@ -177,4 +188,47 @@ public class AcquisitionsUnitsTests extends ApiTestBase {
     Headers headers = prepareHeaders(EXIST_CONFIG_X_OKAPI_TENANT_LIMIT_10, new Header(X_ECHO_STATUS, String.valueOf(500)));
     verifyPostResponse(ACQ_UNITS_UNITS_ENDPOINT, body, headers, APPLICATION_JSON, 500);
   }
+
+  @Test
+  public void testUnitsAndMembershipsAreCachedUntilUnitIsChanged() {
+    logger.info("=== Test acquisitions units and memberships are loaded once and reloaded after unit change ===");
+    AcquisitionsUnitsHelper.setCacheTtl(60000);
+
+    Headers headers = prepareHeaders(X_OKAPI_URL, NON_EXIST_CONFIG_X_OKAPI_TENANT, X_OKAPI_USER_ID_WITH_ACQ_UNITS);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+
+    assertThat(getAcqUnitsSearches(), hasSize(1));
+    assertThat(getQueryParams(ACQUISITIONS_UNITS).get(0), containsString(ALL_UNITS_CQL));
+    assertThat(getAcqMembershipsSearches(), hasSize(1));
+
+    String body = JsonObject.mapFrom(new AcquisitionsUnit().withName("Some name")).encode();
+    verifyPostResponse(ACQ_UNITS_UNITS_ENDPOINT, body, prepareHeaders(NON_EXIST_CONFIG_X_OKAPI_TENANT), APPLICATION_JSON, 201);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+
+    assertThat(getAcqUnitsSearches(), hasSize(2));
+    assertThat(getAcqMembershipsSearches(), hasSize(2));
+  }
+
+  @Test
+  public void testSearchFilterIsBuiltOnceUntilMembershipIsChanged() {
+    logger.info("=== Test acquisitions units filter is reused until membership change ===");
+    AcquisitionsUnitsHelper.setCacheTtl(60000);
+
+    Headers headers = prepareHeaders(X_OKAPI_URL, NON_EXIST_CONFIG_X_OKAPI_TENANT, X_OKAPI_USER_ID_WITH_ACQ_UNITS);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+
+    assertThat(getAcqUnitsSearches(), hasSize(1));
+    assertThat(getAcqMembershipsSearches(), hasSize(1));
+    List<String> ordersQueries = getQueryParams(PURCHASE_ORDER);
+    assertThat(ordersQueries, hasSize(2));
+    assertThat(ordersQueries.get(1), equalTo(ordersQueries.get(0)));
+
+    verifyDeleteResponse(ACQ_UNITS_MEMBERSHIPS_ENDPOINT + "/" + UUID.randomUUID().toString(), "", 204);
+    verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+
+    assertThat(getAcqUnitsSearches(), hasSize(2));
+    assertThat(getAcqMembershipsSearches(), hasSize(2));
+  }
 }
@@ -4,10 +4,22 @@ import io.restassured.RestAssured;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import org.folio.dao.CachingDAOTest;
 import org.folio.orders.events.handlers.CheckInOrderStatusChangeChangeHandlerTest;
 import org.folio.orders.events.handlers.ReceiveOrderStatusChangeHandlerTest;
 import org.folio.orders.events.handlers.ReceiptStatusConsistencyTest;
+import org.folio.orders.utils.CallBudgetTest;
+import org.folio.orders.utils.CircuitBreakerTest;
+import org.folio.orders.utils.ExpiringCacheTest;
+import org.folio.orders.utils.ConcurrencyLimiterTest;
+import org.folio.orders.utils.GetRequestCoalescerTest;
 import org.folio.orders.utils.HelperUtilsTest;
+import org.folio.orders.utils.IsbnNormalizerTest;
+import org.folio.orders.utils.PayloadLoggerTest;
+import org.folio.orders.utils.PoNumberLeaseTest;
+import org.folio.orders.utils.RequestMetricsTest;
+import org.folio.orders.utils.RetryPolicyTest;
+import org.folio.orders.utils.TenantConfigurationCacheTest;
 import org.folio.rest.RestVerticle;
 import org.folio.rest.impl.crud.ConfigurationCrudTest;
 import org.folio.rest.impl.protection.LinesProtectionTest;
@@ -62,7 +74,19 @@ import static org.hamcrest.Matchers.is;
   FinanceHelperTest.class,
   PurchaseOrderLineHelperTest.class,
   HelperUtilsTest.class,
-  TransactionServiceTest.class
+  GetRequestCoalescerTest.class,
+  PayloadLoggerTest.class,
+  ConcurrencyLimiterTest.class,
+  RetryPolicyTest.class,
+  CircuitBreakerTest.class,
+  RequestMetricsTest.class,
+  CallBudgetTest.class,
+  TenantConfigurationCacheTest.class,
+  ExpiringCacheTest.class,
+  IsbnNormalizerTest.class,
+  TransactionServiceTest.class,
+  CachingDAOTest.class,
+  PoNumberLeaseTest.class
 })
 public class ApiTestSuite {
 
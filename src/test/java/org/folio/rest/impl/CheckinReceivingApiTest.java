@@ -76,6 +76,7 @@ import org.folio.rest.jaxrs.model.ReceivingItemResult;
 import org.folio.rest.jaxrs.model.ReceivingResult;
 import org.folio.rest.jaxrs.model.ReceivingResults;
 import org.folio.rest.jaxrs.model.ToBeCheckedIn;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -90,6 +91,11 @@ public class CheckinReceivingApiTest extends ApiTestBase {
   private static final String RECEIVING_RQ_MOCK_DATA_PATH = BASE_MOCK_DATA_PATH + "receiving/";
   private static final String CHECKIN_RQ_MOCK_DATA_PATH = BASE_MOCK_DATA_PATH + "checkIn/";
 
+  @After
+  public void restoreHoldingsCache() {
+    InventoryHelper.resetHoldingsCache();
+  }
+
   @Test
   public void testPostCheckInElectronicWithNoItems() {
     logger.info("=== Test POST Checkin - CheckIn Electronic resource");
@@ -431,6 +437,46 @@ public class CheckinReceivingApiTest extends ApiTestBase {
 
   }
 
+  @Test
+  public void testPostCheckinHoldingIsReusedUntilExpired() {
+    logger.info("=== Test POST check-in - Holding created for the new location is reused by the next check-in ===");
+
+    InventoryHelper.setHoldingsCacheTtl(60000);
+
+    CompositePurchaseOrder order = getMinimalContentCompositePurchaseOrder();
+    CompositePoLine poLine = getMinimalContentCompositePoLine(order.getId());
+    poLine.setOrderFormat(CompositePoLine.OrderFormat.PHYSICAL_RESOURCE);
+    poLine.setPhysical(new Physical().withCreateInventory(Physical.CreateInventory.INSTANCE_HOLDING));
+
+    String location = UUID.randomUUID().toString();
+    Piece piece = getMinimalContentPiece(poLine.getId()).withReceivingStatus(Piece.ReceivingStatus.EXPECTED)
+      .withFormat(org.folio.rest.jaxrs.model.Piece.Format.PHYSICAL)
+      .withLocationId(location)
+      .withId(UUID.randomUUID().toString())
+      .withItemId(UUID.randomUUID().toString());
+
+    addMockEntry(PURCHASE_ORDER, order.withWorkflowStatus(CompositePurchaseOrder.WorkflowStatus.OPEN));
+    addMockEntry(PO_LINES, poLine);
+    addMockEntry(PIECES, piece);
+    MockServer.addMockTitles(Collections.singletonList(poLine));
+
+    CheckinCollection request = new CheckinCollection()
+      .withToBeCheckedIn(Collections.singletonList(new ToBeCheckedIn()
+        .withCheckedIn(1)
+        .withPoLineId(poLine.getId())
+        .withCheckInPieces(Collections.singletonList(new CheckInPiece()
+          .withId(piece.getId())
+          .withLocationId(location)
+          .withItemStatus(CheckInPiece.ItemStatus.ON_ORDER)))))
+      .withTotalRecords(1);
+
+    checkResultWithErrors(request, 0);
+    checkResultWithErrors(request, 0);
+
+    assertThat(getHoldingsSearches(), hasSize(1));
+    assertThat(getCreatedHoldings(), hasSize(1));
+  }
+
   @Test
   public void testPostReceivingElectronicPartially() {
     logger.info("=== Test POST Receiving - Receive partially electronic resources");
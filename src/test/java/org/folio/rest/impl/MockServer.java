@@ -40,6 +40,7 @@ import static org.folio.orders.utils.ResourcePathResolver.SEARCH_ORDERS;
 import static org.folio.orders.utils.ResourcePathResolver.SUFFIXES;
 import static org.folio.orders.utils.ResourcePathResolver.TITLES;
 import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_ENDPOINT;
+import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_STORAGE_BATCH;
 import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_STORAGE_ENDPOINT;
 import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
@@ -123,13 +124,15 @@ import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.HttpStatus;
-import org.folio.isbn.IsbnUtil;
 import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.ExpiringCache;
+import org.folio.orders.utils.TenantConfigurationCache;
 import org.folio.rest.acq.model.Piece;
 import org.folio.rest.acq.model.PieceCollection;
 import org.folio.rest.acq.model.SequenceNumber;
@@ -144,6 +147,7 @@ import org.folio.rest.acq.model.finance.Ledger;
 import org.folio.rest.acq.model.finance.LedgerCollection;
 import org.folio.rest.acq.model.finance.OrderTransactionSummary;
 import org.folio.rest.acq.model.finance.Transaction;
+import org.folio.rest.acq.model.finance.TransactionCollection;
 import org.folio.rest.jaxrs.model.AcquisitionsUnit;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitCollection;
 import org.folio.rest.jaxrs.model.AcquisitionsUnitMembership;
@@ -234,13 +238,15 @@ public class MockServer {
   private static final String TOTAL_RECORDS = "totalRecords";
   private static final String QUERY = "query";
   public static final String ITEM_RECORDS = "itemRecords";
+  static final String ITEMS_BATCHES = "itemsBatches";
+  static final String MATERIAL_TYPE_ID_WITHOUT_ITEMS_BATCH = "be1a5a5b-4d3c-4d2f-9d2c-3b1e0a0c5b6d";
+  static final String MATERIAL_TYPE_ID_FOR_ITEMS_BATCH_ERROR = "5ee1c1ad-7f1b-4d55-8e4f-2c3b9d0a6e71";
   private static final String INSTANCE_RECORD = "instanceRecord";
   private static final String HOLDINGS_RECORD = "holdingRecord";
   private static final String CONTRIBUTOR_NAME_TYPES = "contributorNameTypes";
   private static final String INSTANCE_TYPES = "instanceTypes";
   private static final String INSTANCE_STATUSES = "instanceStatuses";
   private static final String IDENTIFIER_TYPES = "identifierTypes";
-  private static final String ISBN_CONVERT13 = "ISBN13";
   private static final String CURRENT_FISCAL_YEAR = "currentFiscalYear";
 
   static Table<String, HttpMethod, List<JsonObject>> serverRqRs = HashBasedTable.create();
@@ -378,6 +384,10 @@ public class MockServer {
     return serverRqRs.get(CONTRIBUTOR_NAME_TYPES, HttpMethod.GET);
   }
 
+  static List<JsonObject> getOrganizationsSearches() {
+    return getRqRsEntries(HttpMethod.GET, VendorHelper.ORGANIZATIONS);
+  }
+
   static List<JsonObject> getInstanceTypesSearches() {
     return serverRqRs.get(INSTANCE_TYPES, HttpMethod.GET);
   }
@@ -424,6 +434,8 @@ public class MockServer {
   public static void release() {
     serverRqRs.clear();
     serverRqQueries.clear();
+    TenantConfigurationCache.invalidateAll();
+    ExpiringCache.invalidateAllCaches();
   }
 
   public static List<String> getQueryParams(String resourceType) {
@@ -463,6 +475,7 @@ public class MockServer {
     router.post(resourcesPath(PURCHASE_ORDER)).handler(this::handlePostPurchaseOrder);
     router.post("/inventory/instances").handler(this::handlePostInstanceRecord);
     router.post("/item-storage/items").handler(this::handlePostItemStorRecord);
+    router.post("/item-storage/batch/synchronous").handler(this::handlePostItemsBatch);
     router.post("/holdings-storage/holdings").handler(this::handlePostHoldingRecord);
     router.post(resourcesPath(PO_LINES)).handler(this::handlePostPOLine);
     router.post(resourcesPath(ALERTS)).handler(ctx -> handlePostGenericSubObj(ctx, ALERTS));
@@ -473,6 +486,7 @@ public class MockServer {
     router.post(resourcesPath(TITLES)).handler(ctx -> handlePostGenericSubObj(ctx, TITLES));
     router.post(resourcesPath(ORDER_TRANSACTION_SUMMARIES)).handler(ctx -> handlePostGenericSubObj(ctx, ORDER_TRANSACTION_SUMMARIES));
     router.post("/finance/release-encumbrance/:id").handler(ctx -> handlePostGenericSubObj(ctx, FINANCE_RELEASE_ENCUMBRANCE));
+    router.post(resourcesPath(TRANSACTIONS_STORAGE_BATCH)).handler(this::handleTransactionsBatch);
 
     router.post(resourcesPath(ACQUISITIONS_UNITS)).handler(ctx -> handlePostGenericSubObj(ctx, ACQUISITIONS_UNITS));
     router.post(resourcesPath(ACQUISITIONS_MEMBERSHIPS)).handler(ctx -> handlePostGenericSubObj(ctx, ACQUISITIONS_MEMBERSHIPS));
@@ -510,7 +524,6 @@ public class MockServer {
     router.get(resourcePath(ACQUISITIONS_UNITS)).handler(this::handleGetAcquisitionsUnit);
     router.get(resourcesPath(ACQUISITIONS_MEMBERSHIPS)).handler(this::handleGetAcquisitionsMemberships);
     router.get(resourcePath(ACQUISITIONS_MEMBERSHIPS)).handler(this::handleGetAcquisitionsMembership);
-    router.get("/isbn/convertTo13").handler(this::handleGetIsbnConverter);
     router.get(resourcePath(ORDER_TEMPLATES)).handler(ctx -> handleGetGenericSubObj(ctx, ORDER_TEMPLATES));
     router.get(resourcesPath(ORDER_TEMPLATES)).handler(this::handleGetOrderTemplates);
     router.get("/finance/ledgers/:id/current-fiscal-year").handler(this::handleGetCurrentFiscalYearByLedgerId);
@@ -522,6 +535,8 @@ public class MockServer {
     router.get(resourcesPath(REASONS_FOR_CLOSURE)).handler(ctx -> handleGetGenericSubObjs(ctx, REASONS_FOR_CLOSURE));
     router.get(resourcesPath(PREFIXES)).handler(ctx -> handleGetGenericSubObjs(ctx, PREFIXES));
     router.get(resourcesPath(SUFFIXES)).handler(ctx -> handleGetGenericSubObjs(ctx, SUFFIXES));
+    router.get(resourcesPath(ALERTS)).handler(ctx -> handleGetGenericSubObjs(ctx, ALERTS));
+    router.get(resourcesPath(REPORTING_CODES)).handler(ctx -> handleGetGenericSubObjs(ctx, REPORTING_CODES));
     router.get(resourcePath(REASONS_FOR_CLOSURE)).handler(ctx -> handleGetGenericSubObj(ctx, REASONS_FOR_CLOSURE));
     router.get(resourcePath(PREFIXES)).handler(ctx -> handleGetGenericSubObj(ctx, PREFIXES));
     router.get(resourcePath(SUFFIXES)).handler(ctx -> handleGetGenericSubObj(ctx, SUFFIXES));
@@ -803,7 +818,9 @@ public class MockServer {
       serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
     } else {
       JsonObject bodyAsJson = ctx.getBodyAsJson();
-      bodyAsJson.put(ID, UUID.randomUUID().toString());
+      if (!bodyAsJson.containsKey(ID)) {
+        bodyAsJson.put(ID, UUID.randomUUID().toString());
+      }
       addServerRqRsData(HttpMethod.POST, ITEM_RECORDS, bodyAsJson);
       ctx.response()
         .setStatusCode(201)
@@ -813,6 +830,27 @@ public class MockServer {
     }
   }
 
+  /**
+   * Stands in for the synchronous batch API of the inventory storage: all the items are created in one transaction, so none of
+   * them is created if one fails.
+   */
+  private void handlePostItemsBatch(RoutingContext ctx) {
+    String bodyAsString = ctx.getBodyAsString();
+    logger.info("handlePostItemsBatch got: " + bodyAsString);
+    addServerRqRsData(HttpMethod.POST, ITEMS_BATCHES, ctx.getBodyAsJson());
+
+    if (bodyAsString.contains(MATERIAL_TYPE_ID_WITHOUT_ITEMS_BATCH)) {
+      serverResponse(ctx, 404, TEXT_PLAIN, "No suitable module found for path /item-storage/batch/synchronous");
+    } else if (bodyAsString.contains(ID_FOR_INTERNAL_SERVER_ERROR) || bodyAsString.contains(MATERIAL_TYPE_ID_FOR_ITEMS_BATCH_ERROR)) {
+      serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+    } else {
+      ctx.getBodyAsJson().getJsonArray(ITEMS).forEach(item -> addServerRqRsData(HttpMethod.POST, ITEM_RECORDS, (JsonObject) item));
+      ctx.response()
+        .setStatusCode(201)
+        .end();
+    }
+  }
+
   private void handleGetInstanceRecord(RoutingContext ctx) {
     logger.info("handleGetInstanceRecord got: " + ctx.request().path());
 
@@ -979,6 +1017,11 @@ public class MockServer {
     String query = ctx.request().getParam("query");
     JsonObject body = null;
 
+    if (query.contains(MOD_VENDOR_INTERNAL_ERROR_ID)) {
+      serverResponse(ctx, HttpStatus.HTTP_INTERNAL_SERVER_ERROR.toInt(), APPLICATION_JSON, "internal server error, contact administrator");
+      return;
+    }
+
     try {
       if (getQuery(ACTIVE_ACCESS_PROVIDER_A, NON_EXIST_ACCESS_PROVIDER_A).equals(query)) {
         body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "one_access_provider_not_found.json"));
@@ -998,8 +1041,8 @@ public class MockServer {
       } else if (getQuery(ACTIVE_ACCESS_PROVIDER_B).equals(query)) {
         body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "one_access_providers_active.json"));
       } else if (getQuery(ORGANIZATION_NOT_VENDOR).equals(query)) {
-        body = new JsonObject(
-            ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "not_vendor.json"));
+        body = new JsonObject().put(VendorHelper.ORGANIZATIONS, new JsonArray()
+          .add(new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "not_vendor.json"))));
       }
       else {
         JsonArray organizations = new JsonArray();
@@ -1021,11 +1064,11 @@ public class MockServer {
         .end();
     }
 
-    if (body != null) {
-      serverResponse(ctx, HttpStatus.HTTP_OK.toInt(), APPLICATION_JSON, body.encodePrettily());
-    } else {
-      serverResponse(ctx, HttpStatus.HTTP_OK.toInt(), APPLICATION_JSON, buildEmptyCollection(VendorHelper.ORGANIZATIONS));
+    if (body == null) {
+      body = new JsonObject(buildEmptyCollection(VendorHelper.ORGANIZATIONS));
     }
+    addServerRqRsData(HttpMethod.GET, VendorHelper.ORGANIZATIONS, body);
+    serverResponse(ctx, HttpStatus.HTTP_OK.toInt(), APPLICATION_JSON, body.encodePrettily());
   }
 
   private void getOrganizationById(RoutingContext ctx) {
@@ -1060,10 +1103,22 @@ public class MockServer {
         case PENDING_VENDOR_ID:
           body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "pending_vendor.json"));
           break;
+        case ACTIVE_ACCESS_PROVIDER_A:
+          body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "one_access_provider_not_found.json"))
+            .getJsonArray(VendorHelper.ORGANIZATIONS).getJsonObject(0);
+          break;
         case ACTIVE_ACCESS_PROVIDER_B:
           body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "one_access_providers_active.json"))
             .getJsonArray(VendorHelper.ORGANIZATIONS).getJsonObject(0);
           break;
+        case INACTIVE_ACCESS_PROVIDER_A:
+          body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "all_inactive_access_providers.json"))
+            .getJsonArray(VendorHelper.ORGANIZATIONS).getJsonObject(0);
+          break;
+        case INACTIVE_ACCESS_PROVIDER_B:
+          body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "all_inactive_access_providers.json"))
+            .getJsonArray(VendorHelper.ORGANIZATIONS).getJsonObject(1);
+          break;
         case ORGANIZATION_NOT_VENDOR:
           body = new JsonObject(ApiTestBase.getMockData(ORGANIZATIONS_MOCK_DATA_PATH + "not_vendor.json"));
           break;
@@ -1449,6 +1504,13 @@ public class MockServer {
           SuffixCollection suffixCollection = new SuffixCollection();
           List<Suffix> suffixes = Lists.newArrayList(SUFFIX.getTestSample().mapTo(Suffix.class));
           collection = JsonObject.mapFrom(suffixCollection.withSuffixes(suffixes).withTotalRecords(suffixes.size()));
+        } else if (ALERTS.equals(subObj) || REPORTING_CODES.equals(subObj)) {
+          // Every requested sub-object exists except the one with not existing id
+          JsonArray subObjs = new JsonArray();
+          extractIdsFromQuery(query).stream()
+            .filter(id -> !ID_DOES_NOT_EXIST.equals(id))
+            .forEach(id -> subObjs.add(new JsonObject().put(ID, id)));
+          collection = new JsonObject().put(subObj, subObjs).put("totalRecords", subObjs.size());
         } else {
           collection = new JsonObject();
         }
@@ -1705,6 +1767,14 @@ public class MockServer {
         serverResponse(ctx, 400, APPLICATION_JSON, Response.Status.BAD_REQUEST.getReasonPhrase());
       } else if (query.contains(ID_FOR_INTERNAL_SERVER_ERROR)) {
         serverResponse(ctx, 500, APPLICATION_JSON, Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase());
+      } else if (query.startsWith("poNumber==(")) {
+        // Search by a number of PO numbers at once, only the existing one is found
+        List<PurchaseOrder> orders = Stream.of(StringUtils.substringBetween(query, "(", ")").split(" or "))
+          .filter(EXISTING_PO_NUMBER::equals)
+          .map(poNumber -> new PurchaseOrder().withId(UUID.randomUUID().toString()).withPoNumber(poNumber))
+          .collect(Collectors.toList());
+        po = JsonObject.mapFrom(orderCollection.withPurchaseOrders(orders).withTotalRecords(orders.size()));
+        addServerRqRsData(HttpMethod.GET, orderType, po);
       } else {
         addServerRqRsData(HttpMethod.GET, orderType, po);
         Matcher matcher = Pattern.compile(".*poNumber==(\\S[^)]+).*").matcher(query);
@@ -1883,6 +1953,34 @@ public class MockServer {
     }
   }
 
+  /**
+   * Stands in for the batch API of the finance storage: all the transactions are saved in one transaction, so none of them is
+   * saved if one fails. The updated transactions are kept as if they were sent one by one.
+   */
+  private void handleTransactionsBatch(RoutingContext ctx) {
+    logger.info("handleTransactionsBatch got: POST {}", ctx.request().path());
+    JsonObject batch = ctx.getBodyAsJson();
+    addServerRqRsData(HttpMethod.POST, TRANSACTIONS_STORAGE_BATCH, batch);
+
+    String body = ctx.getBodyAsString();
+    String tenant = ctx.request().getHeader(OKAPI_HEADER_TENANT);
+    String echoStatus = ctx.request().getHeader(X_ECHO_STATUS);
+    if ((echoStatus != null && !echoStatus.equals("201"))
+        || Stream.of(INTERNAL_SERVER_ERROR.getReasonPhrase(), FUND_CANNOT_BE_PAID_TENANT, BUDGET_IS_INACTIVE_TENANT,
+            LEDGER_NOT_FOUND_FOR_TRANSACTION_TENANT, BUDGET_NOT_FOUND_FOR_TRANSACTION_TENANT).anyMatch(t -> t.equals(tenant))
+        || Stream.of(FUND_ENCUMBRANCE_ERROR, ID_DOES_NOT_EXIST, ID_FOR_INTERNAL_SERVER_ERROR, "500500500500").anyMatch(body::contains)) {
+      // The transactions are sent one by one to get the error of each
+      serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+      return;
+    }
+
+    Optional.ofNullable(batch.getJsonArray("transactionsToUpdate"))
+      .ifPresent(transactions -> transactions.forEach(tr -> addServerRqRsData(HttpMethod.PUT, TRANSACTIONS_STORAGE_ENDPOINT, (JsonObject) tr)));
+    ctx.response()
+      .setStatusCode(204)
+      .end();
+  }
+
   private void handleTransactionGetEntry(RoutingContext ctx) {
     Transaction transaction = null;
     try {
@@ -1891,6 +1989,10 @@ public class MockServer {
           String body = getMockData(ENCUMBRANCE_PATH);
           serverResponse(ctx, HttpStatus.HTTP_OK.toInt(), APPLICATION_JSON, body);
           addServerRqRsData(HttpMethod.GET, TRANSACTIONS_ENDPOINT, new JsonObject(body));
+      } else {
+        JsonObject body = JsonObject.mapFrom(new TransactionCollection().withTotalRecords(0));
+        serverResponse(ctx, HttpStatus.HTTP_OK.toInt(), APPLICATION_JSON, body.encodePrettily());
+        addServerRqRsData(HttpMethod.GET, TRANSACTIONS_ENDPOINT, body);
       }
     } catch(IOException e) {
       return;
@@ -2139,25 +2241,6 @@ public class MockServer {
     }
   }
 
-  private void handleGetIsbnConverter(RoutingContext ctx) {
-    logger.info("handleGetIsbnConverter got: " + ctx.request()
-      .path());
-    String isbn = ctx.request()
-      .getParam("isbn");
-    JsonObject data = new JsonObject();
-    if (IsbnUtil.isValid13DigitNumber(isbn)) {
-      data.put("isbn", isbn);
-      addServerRqRsData(HttpMethod.GET, ISBN_CONVERT13, data);
-      serverResponse(ctx, 200, APPLICATION_JSON, data.encodePrettily());
-    } else if (IsbnUtil.isValid10DigitNumber(isbn)) {
-      data.put("isbn", IsbnUtil.convertTo13DigitNumber(isbn));
-      addServerRqRsData(HttpMethod.GET, ISBN_CONVERT13, data);
-      serverResponse(ctx, 200, APPLICATION_JSON, data.encodePrettily());
-    } else {
-      serverResponse(ctx, 400, TEXT_PLAIN, String.format("ISBN value %s is invalid", isbn));
-    }
-  }
-
   private void handleGetOrderTemplates(RoutingContext ctx) {
     logger.info("handleGetOrderTemplates got: " + ctx.request().path());
 
@@ -299,7 +299,7 @@ public class PurchaseOrderLinesApiTest extends ApiTestBase {
 
     Errors errors = verifyPostResponse(LINES_PATH, JsonObject.mapFrom(poLine).encode(),
       prepareHeaders(EXIST_CONFIG_X_OKAPI_TENANT_LIMIT_10), APPLICATION_JSON, 422).as(Errors.class);
-    validatePoLineCreationErrorForNonPendingOrder(errorCode, errors, 4);
+    validatePoLineCreationErrorForNonPendingOrder(errorCode, errors, 3);
   }
 
   @Test
@@ -508,9 +508,9 @@ public class PurchaseOrderLinesApiTest extends ApiTestBase {
     verifyPut(url, JsonObject.mapFrom(body), "", 204);
 
     // 2 calls each to fetch Order Line and Purchase Order
-    // inaddition 2 calls for ISBN validation
+    // in addition 1 call to get ISBN identifier type
     Map<String, List<JsonObject>> column = MockServer.serverRqRs.column(HttpMethod.GET);
-    assertEquals(4, column.size());
+    assertEquals(3, column.size());
     assertThat(column, hasKey(PO_LINES));
 
     column = MockServer.serverRqRs.column(HttpMethod.PUT);
@@ -64,6 +64,8 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
@@ -83,6 +85,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -97,6 +100,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.HttpStatus;
 import org.folio.orders.utils.AcqDesiredPermissions;
+import org.folio.orders.utils.CallBudget;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
 import org.folio.orders.utils.POLineProtectedFields;
@@ -118,6 +122,7 @@ import org.folio.rest.jaxrs.model.Title;
 import org.hamcrest.beans.HasPropertyWithValue;
 import org.hamcrest.core.Every;
 import org.hamcrest.core.Is;
+import org.junit.After;
 import org.junit.Test;
 
 import io.restassured.http.Header;
@@ -442,8 +447,8 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
                                               COST_UNIT_PRICE_ELECTRONIC_INVALID.getCode(),
                                               COST_UNIT_PRICE_INVALID.getCode()));
 
-    // Check that no other calls are made by the business logic to other services, except for ISBN validation
-    assertEquals(2, MockServer.serverRqRs.size());
+    // Check that no other calls are made by the business logic to other services, except for ISBN identifier type lookup
+    assertEquals(1, MockServer.serverRqRs.size());
   }
 
   @Test
@@ -569,8 +574,8 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
                                               PHYSICAL_COST_LOC_QTY_MISMATCH.getCode(),
                                               ZERO_LOCATION_QTY.getCode()));
 
-    // Check that no any calls made by the business logic to other services
-    assertEquals(2, MockServer.serverRqRs.size());
+    // Check that no other calls are made by the business logic to other services, except for ISBN identifier type lookup
+    assertEquals(1, MockServer.serverRqRs.size());
   }
 
   @Test
@@ -920,6 +925,37 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     assertThat(getCreatedEncumbrances(), hasSize(0));
   }
 
+  @Test
+  public void testFundsAndLedgersAreCachedBetweenOrderUpdates() {
+    logger.info("=== Test Put Order By Id - funds and ledgers are retrieved once ===");
+    FinanceHelper.setCacheTtl(60000);
+
+    CompositePurchaseOrder reqData = getMockAsJson(PE_MIX_PATH).mapTo(CompositePurchaseOrder.class);
+    MockServer.addMockTitles(reqData.getCompositePoLines());
+    reqData.setId(ID_FOR_PRINT_MONOGRAPH_ORDER);
+    Fund fund = new Fund().withCode("test").withName("name").withId(VALID_FUND_ID).withLedgerId(ID_DOES_NOT_EXIST);
+    addMockEntry(FUNDS, fund);
+    removeAllEncumbranceLinks(reqData);
+    reqData.getCompositePoLines().get(0).getFundDistribution().forEach(fundDistribution -> fundDistribution.setFundId(fund.getId()));
+    reqData.getCompositePoLines().get(0).setId(UUID.randomUUID().toString());
+    reqData.setWorkflowStatus(CompositePurchaseOrder.WorkflowStatus.OPEN);
+    preparePiecesForCompositePo(reqData);
+
+    verifyPut(String.format(COMPOSITE_ORDERS_BY_ID_PATH, reqData.getId()), JsonObject.mapFrom(reqData), APPLICATION_JSON, 400);
+    verifyPut(String.format(COMPOSITE_ORDERS_BY_ID_PATH, reqData.getId()), JsonObject.mapFrom(reqData), APPLICATION_JSON, 400);
+
+    assertThat(getQueryParams(FUNDS), hasSize(1));
+    assertThat(getQueryParams(LEDGERS), hasSize(1));
+    // Not found fiscal year is not cached, budgets are never cached
+    assertThat(getQueryParams(BUDGETS), hasSize(2));
+  }
+
+  @After
+  public void restoreCaches() {
+    FinanceHelper.resetCaches();
+    VendorHelper.resetCaches();
+  }
+
   @Test
   public void testPutOrdersByIdCurrentFiscalYearServerError() {
     logger.info("=== Test Put Order By Id, get Current fiscal year Internal Server Error ===");
@@ -1066,6 +1102,46 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     assertNotNull(poNumber);
   }
 
+  @Test
+  public void testPostOrdersBatch() {
+    logger.info("=== Test Placement of orders in a batch ===");
+
+    List<JsonObject> orders = new ArrayList<>();
+    orders.add(new JsonObject());
+    orders.add(new JsonObject().put("poNumber", EXISTING_PO_NUMBER));
+    orders.add(new JsonObject().put("poNumber", PoNumberApiTest.NONEXISTING_PO_NUMBER));
+    orders.add(new JsonObject().put("poNumber", PoNumberApiTest.NONEXISTING_PO_NUMBER));
+    orders.forEach(order -> order.put("vendor", EXISTING_REQUIRED_VENDOR_UUID)
+      .put("orderType", CompositePurchaseOrder.OrderType.ONE_TIME.value()));
+    JsonObject batch = new JsonObject().put("compositePurchaseOrders", new JsonArray(orders)).put("totalRecords", orders.size());
+
+    CompositePurchaseOrderBatchResults results = verifyPostResponse(COMPOSITE_ORDERS_PATH + "/batch", batch.encode(),
+      prepareHeaders(NON_EXIST_CONFIG_X_OKAPI_TENANT, X_OKAPI_USER_ID), APPLICATION_JSON, 200).as(CompositePurchaseOrderBatchResults.class);
+
+    assertThat(results.getTotalRecords(), is(4));
+    assertThat(results.getFailedRecords(), is(2));
+    List<CompositePurchaseOrderResult> orderResults = results.getCompositePurchaseOrderResults();
+    assertThat(orderResults, hasSize(4));
+    for (int i = 0; i < orderResults.size(); i++) {
+      assertThat(orderResults.get(i).getIndex(), is(i));
+    }
+
+    assertThat(orderResults.get(0).getCompositePurchaseOrder().getId(), notNullValue());
+    assertThat(orderResults.get(0).getCompositePurchaseOrder().getPoNumber(), is(PO_NUMBER_VALUE));
+    assertThat(orderResults.get(2).getCompositePurchaseOrder().getId(), notNullValue());
+    assertThat(orderResults.get(2).getCompositePurchaseOrder().getPoNumber(), is(PoNumberApiTest.NONEXISTING_PO_NUMBER));
+    // The existing PO number and the one used twice in the batch
+    for (int i : new int[] {1, 3}) {
+      assertThat(orderResults.get(i).getCompositePurchaseOrder(), nullValue());
+      assertThat(orderResults.get(i).getErrors().getErrors(), hasSize(1));
+      assertThat(orderResults.get(i).getErrors().getErrors().get(0).getCode(), is(ErrorCodes.PO_NUMBER_ALREADY_EXISTS.getCode()));
+    }
+
+    // All the PO numbers are checked with one search
+    assertThat(getRqRsEntries(HttpMethod.POST, PURCHASE_ORDER), hasSize(2));
+    assertThat(getQueryParams(PURCHASE_ORDER), hasSize(1));
+  }
+
   @Test
   public void testPoCreationFailure() throws Exception {
     logger.info("=== Test PO creation failure ===");
@@ -1150,6 +1226,20 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     verifyCalculatedData(resp);
   }
 
+  @Test
+  public void testMetricsAreCollectedForGetOrderById() {
+    logger.info("=== Test metrics are collected for Get Order By Id ===");
+
+    JsonObject ordersList = new JsonObject(getMockData(ORDERS_MOCK_DATA_PATH));
+    String id = ordersList.getJsonArray("compositePurchaseOrders").getJsonObject(0).getString(ID);
+    verifySuccessGet(String.format(COMPOSITE_ORDERS_BY_ID_PATH, id), CompositePurchaseOrder.class);
+
+    String metrics = verifyGet("/orders/admin/metrics", TEXT_PLAIN, 200).asString();
+
+    assertThat(metrics, containsString("mod_orders_api_requests_total{operation=\"GET /orders/composite-orders/{id}\",status=\"200\"}"));
+    assertThat(metrics, containsString("mod_orders_downstream_request_duration_seconds_count{method=\"GET\",endpoint=\"/orders-storage/purchase-orders/{id}\"}"));
+  }
+
   @Test
   public void testGetOrderByIdWithPoLinesSorting() {
     logger.info("=== Test Get Order By Id - PoLines sorting ===");
@@ -1165,6 +1255,43 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     assertArrayEquals(expectedPoLineNumbers, resp.getCompositePoLines().stream().map(CompositePoLine::getPoLineNumber).toArray());
   }
 
+  @Test
+  public void testGetOrderByIdRetrievesSubObjectsOfAllPoLinesAtOnce() {
+    logger.info("=== Test Get Order By Id - alerts and reporting codes of all PO Lines are retrieved at once ===");
+
+    JsonObject order = getMockAsJson(COMP_ORDER_MOCK_DATA_PATH, ORDER_WIT_PO_LINES_FOR_SORTING);
+    List<CompositePoLine> poLines = ((JsonArray) order.remove(COMPOSITE_PO_LINES)).stream()
+      .map(line -> ((JsonObject) line).mapTo(CompositePoLine.class))
+      .collect(toList());
+    addMockEntry(PURCHASE_ORDER, order);
+    MockServer.addMockTitles(poLines);
+
+    // 5 alerts per line exceed one chunk of ids, the reporting code is shared by all the lines
+    String reportingCodeId = UUID.randomUUID().toString();
+    poLines.forEach(line -> {
+      JsonObject storageLine = JsonObject.mapFrom(line);
+      JsonArray alertIds = new JsonArray();
+      for (int i = 0; i < 5; i++) {
+        alertIds.add(UUID.randomUUID().toString());
+      }
+      storageLine.put(ALERTS, alertIds);
+      storageLine.put(REPORTING_CODES, new JsonArray().add(reportingCodeId).add(ID_DOES_NOT_EXIST));
+      addMockEntry(PO_LINES, storageLine);
+    });
+
+    CompositePurchaseOrder resp = verifySuccessGet(String.format(COMPOSITE_ORDERS_BY_ID_PATH, ORDER_WIT_PO_LINES_FOR_SORTING),
+      CompositePurchaseOrder.class);
+
+    assertThat(MockServer.getQueryParams(ALERTS), hasSize(2));
+    assertThat(MockServer.getQueryParams(REPORTING_CODES), hasSize(1));
+    assertThat(resp.getCompositePoLines(), hasSize(poLines.size()));
+    resp.getCompositePoLines().forEach(line -> {
+      assertThat(line.getAlerts(), hasSize(5));
+      assertThat(line.getReportingCodes(), hasSize(1));
+      assertEquals(reportingCodeId, line.getReportingCodes().get(0).getId());
+    });
+  }
+
   private void verifyCalculatedData(CompositePurchaseOrder resp) {
     Integer expectedQuantity = resp
       .getCompositePoLines()
@@ -1536,6 +1663,68 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     verifyPaymentStatusChangedTo(CompositePoLine.PaymentStatus.PAYMENT_NOT_REQUIRED.value(), reqData.getCompositePoLines().size());
   }
 
+  @Test
+  public void testPutOrdersByIdToChangeStatusToOpenCreatesItemsInBatches() throws Exception {
+    logger.info("=== Test Put Order By Id to change status of Order to Open - items are created in batches ===");
+
+    CompositePurchaseOrder reqData = openOrderWithPhysicalItems(null);
+
+    // Location with one item gets it posted alone, the others are sent in batches
+    List<JsonObject> batches = MockServer.getRqRsEntries(HttpMethod.POST, ITEMS_BATCHES);
+    assertThat(batches, not(empty()));
+    batches.forEach(batch -> assertThat(batch.getJsonArray(ITEMS).size(), greaterThan(1)));
+    verifyInventoryInteraction(reqData, 1);
+  }
+
+  @Test
+  public void testPutOrdersByIdToChangeStatusToOpenCreatesItemsOneByOneWithoutBatchApi() throws Exception {
+    logger.info("=== Test Put Order By Id to change status of Order to Open - items are posted one by one if batch API is not available ===");
+
+    CompositePurchaseOrder reqData = openOrderWithPhysicalItems(MATERIAL_TYPE_ID_WITHOUT_ITEMS_BATCH);
+
+    assertThat(MockServer.getRqRsEntries(HttpMethod.POST, ITEMS_BATCHES), not(empty()));
+    verifyInventoryInteraction(reqData, 1);
+  }
+
+  @Test
+  public void testPutOrdersByIdToChangeStatusToOpenRecoversFailedItemsBatch() throws Exception {
+    logger.info("=== Test Put Order By Id to change status of Order to Open - items of failed batch which are not found are posted one by one ===");
+
+    CompositePurchaseOrder reqData = openOrderWithPhysicalItems(MATERIAL_TYPE_ID_FOR_ITEMS_BATCH_ERROR);
+
+    List<JsonObject> batches = MockServer.getRqRsEntries(HttpMethod.POST, ITEMS_BATCHES);
+    assertThat(batches, not(empty()));
+    // The ids of the failed batches are looked up before the items are posted again
+    List<String> batchIds = batches.stream()
+      .flatMap(batch -> batch.getJsonArray(ITEMS).stream().map(JsonObject.class::cast))
+      .map(item -> item.getString(ID))
+      .collect(toList());
+    List<String> queries = getQueryParams(ITEM_RECORDS);
+    batchIds.forEach(id -> assertThat(queries, hasItem(containsString(id))));
+    List<String> postedIds = getCreatedItems().stream().map(item -> item.getString(ID)).collect(toList());
+    assertThat(postedIds, hasItems(batchIds.toArray(new String[0])));
+    verifyInventoryInteraction(reqData, 1);
+  }
+
+  private CompositePurchaseOrder openOrderWithPhysicalItems(String materialTypeId) throws Exception {
+    CompositePurchaseOrder reqData = getMockDraftOrder().mapTo(CompositePurchaseOrder.class);
+    reqData.setId(ID_FOR_PRINT_MONOGRAPH_ORDER);
+    reqData.setWorkflowStatus(CompositePurchaseOrder.WorkflowStatus.OPEN);
+    // Only one PO Line with several physical items per location
+    reqData.getCompositePoLines().remove(1);
+    CompositePoLine line = reqData.getCompositePoLines().get(0);
+    if (materialTypeId != null) {
+      line.getPhysical().setMaterialType(materialTypeId);
+    }
+    line.setReceiptStatus(CompositePoLine.ReceiptStatus.PENDING);
+    line.setPaymentStatus(CompositePoLine.PaymentStatus.PAYMENT_NOT_REQUIRED);
+    createMockTitle(line);
+    preparePiecesForCompositePo(reqData);
+
+    verifyPut(String.format(COMPOSITE_ORDERS_BY_ID_PATH, reqData.getId()), JsonObject.mapFrom(reqData), "", 204);
+    return reqData;
+  }
+
   @Test
   public void testPutOrdersByIdToChangeStatusToOpenRestricted() throws Exception {
     logger.info("=== Test Put Order By Id to change status of Order to Open ===");
@@ -2188,7 +2377,7 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
     reqData.getCompositePoLines().forEach(line -> line.setId(null));
 
     Errors errors = verifyPut(String.format(COMPOSITE_ORDERS_BY_ID_PATH, reqData.getId()), JsonObject.mapFrom(reqData), APPLICATION_JSON, 422).as(Errors.class);
-    validatePoLineCreationErrorForNonPendingOrder(errorCode, errors, 4);
+    validatePoLineCreationErrorForNonPendingOrder(errorCode, errors, 3);
   }
 
   @Test
@@ -2320,6 +2509,53 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
       .forEach(member -> assertThat(queryToStorage, containsString(member.getAcquisitionsUnitId())));
   }
 
+  @Test
+  public void testDownstreamCallsBudgetForGetOrders() {
+    logger.info("=== Test Get Orders by query - number of requests to other modules ===");
+
+    Headers headers = prepareHeaders(X_OKAPI_URL, NON_EXIST_CONFIG_X_OKAPI_TENANT, X_OKAPI_USER_ID_WITH_ACQ_UNITS);
+    Response resp = verifyGet(COMPOSITE_ORDERS_PATH, headers, APPLICATION_JSON, 200);
+
+    // Memberships, acquisitions units and purchase orders
+    assertThat(getDownstreamCalls(resp), is(3));
+    assertThat(getDownstreamCalls(resp), is(getMockServerRequestsCount()));
+  }
+
+  @Test
+  public void testDownstreamCallsBudgetForGetOrderById() {
+    logger.info("=== Test Get Order By Id - number of requests to other modules ===");
+
+    CompositePurchaseOrder order = getMockAsJson(COMP_ORDER_MOCK_DATA_PATH, PO_ID_OPEN_STATUS).mapTo(CompositePurchaseOrder.class);
+    MockServer.addMockTitles(order.getCompositePoLines());
+
+    Response resp = verifyGet(String.format(COMPOSITE_ORDERS_BY_ID_PATH, PO_ID_OPEN_STATUS), APPLICATION_JSON, 200);
+
+    // Purchase order, PO lines and titles of the lines. The order has no acquisitions units, the line has no alerts and
+    // reporting codes
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, PURCHASE_ORDER), hasSize(1));
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, PO_LINES), hasSize(1));
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, TITLES), hasSize(1));
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, ALERTS), empty());
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, REPORTING_CODES), empty());
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, ACQUISITIONS_UNITS), empty());
+    assertThat(MockServer.getRqRsEntries(HttpMethod.GET, ACQUISITIONS_MEMBERSHIPS), empty());
+    assertThat(getDownstreamCalls(resp), is(3));
+    assertThat(getDownstreamCalls(resp), is(getMockServerRequestsCount()));
+  }
+
+  private int getDownstreamCalls(Response resp) {
+    assertThat(resp.getHeader(CallBudget.HEADER), notNullValue());
+    return Integer.parseInt(resp.getHeader(CallBudget.HEADER));
+  }
+
+  private int getMockServerRequestsCount() {
+    return MockServer.serverRqRs.cellSet()
+      .stream()
+      .filter(cell -> cell.getColumnKey() != HttpMethod.OTHER)
+      .mapToInt(cell -> cell.getValue().size())
+      .sum();
+  }
+
   @Test
   public void testGetOrdersBadQuery() {
     logger.info("=== Test Get Orders by query - unprocessable query to emulate 400 from storage ===");
@@ -2396,6 +2632,23 @@ public class PurchaseOrdersApiTest extends ApiTestBase {
 
   }
 
+  @Test
+  public void testVendorAndAccessProvidersAreRetrievedOnce() throws Exception {
+    logger.info("=== Test POST PO - vendor and access providers are retrieved at once and cached ===");
+    VendorHelper.setCacheTtl(60000);
+
+    CompositePurchaseOrder reqData = getPoWithVendorId(NON_EXIST_VENDOR_ID, ACTIVE_ACCESS_PROVIDER_A, ACTIVE_ACCESS_PROVIDER_B);
+
+    Errors errors = verifyPostResponseErrors(1, JsonObject.mapFrom(reqData).toString());
+    checkExpectedError(NON_EXIST_VENDOR_ID, errors, 0, ORDER_VENDOR_NOT_FOUND, reqData, 0);
+    assertThat(getOrganizationsSearches(), hasSize(1));
+
+    // Not found vendor is cached as well
+    errors = verifyPostResponseErrors(1, JsonObject.mapFrom(reqData).toString());
+    checkExpectedError(NON_EXIST_VENDOR_ID, errors, 0, ORDER_VENDOR_NOT_FOUND, reqData, 0);
+    assertThat(getOrganizationsSearches(), hasSize(1));
+  }
+
   @Test
   public void testPutOrdersByIdToChangeStatusToOpenInactiveVendor() throws Exception {
 
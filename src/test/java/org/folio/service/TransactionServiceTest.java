@@ -2,22 +2,33 @@ package org.folio.service;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.orders.utils.HelperUtils.OKAPI_URL;
+import static org.folio.orders.utils.ResourcePathResolver.FINANCE_RELEASE_ENCUMBRANCE;
 import static org.folio.orders.utils.ResourcePathResolver.ORDER_TRANSACTION_SUMMARIES;
+import static org.folio.orders.utils.ResourcePathResolver.TRANSACTIONS_STORAGE_BATCH;
+import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.folio.rest.impl.MockServer.ENCUMBRANCE_PATH;
 import static org.folio.service.TransactionService.TRANSACTION_STORAGE_ENDPOINT_BYID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.rest.acq.model.finance.Transaction;
 import org.folio.rest.impl.ApiTestBase;
 import org.folio.rest.tools.client.Response;
@@ -28,6 +39,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import io.restassured.http.Header;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.impl.EventLoopContext;
 import io.vertx.core.json.JsonObject;
@@ -81,4 +94,31 @@ public class TransactionServiceTest extends ApiTestBase {
     //Then
     verify(httpClient).request(eq(HttpMethod.PUT), any(), eq(endpoint), any());
   }
+
+  @Test
+  public void testShouldFailWhenEncumbrancesAreNotReleased() throws Exception {
+    //given
+    Vertx vertx = Vertx.vertx();
+    TransactionService service = new TransactionService(httpClient, okapiHeaders, vertx.getOrCreateContext(), "en");
+    Transaction encumbrance = getMockAsJson(ENCUMBRANCE_PATH).getJsonArray("transactions").getJsonObject(0).mapTo(Transaction.class);
+    Transaction another = getMockAsJson(ENCUMBRANCE_PATH).getJsonArray("transactions").getJsonObject(0).mapTo(Transaction.class)
+      .withId(UUID.randomUUID().toString());
+    Response response = new Response();
+    response.setCode(500);
+    response.setError(new JsonObject().put("errorMessage", "Internal Server Error"));
+    doReturn(completedFuture(response)).when(httpClient).request(eq(HttpMethod.POST), any(String.class), any());
+    //When
+    try {
+      service.releaseEncumbrances(Arrays.asList(encumbrance, another)).get(10, TimeUnit.SECONDS);
+      fail("The release failure is expected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(HttpException.class));
+    } finally {
+      vertx.close();
+    }
+    //Then
+    verify(httpClient, never()).request(eq(HttpMethod.POST), any(Buffer.class), eq(resourcesPath(TRANSACTIONS_STORAGE_BATCH) + "?lang=en"), any());
+    verify(httpClient).request(eq(HttpMethod.POST), eq(resourceByIdPath(FINANCE_RELEASE_ENCUMBRANCE, encumbrance.getId())), any());
+    verify(httpClient).request(eq(HttpMethod.POST), eq(resourceByIdPath(FINANCE_RELEASE_ENCUMBRANCE, another.getId())), any());
+  }
 }